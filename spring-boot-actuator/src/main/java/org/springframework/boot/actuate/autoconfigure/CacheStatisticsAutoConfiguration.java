@@ -20,6 +20,7 @@ import javax.cache.Caching;
 
 import net.sf.ehcache.Ehcache;
 
+import org.springframework.boot.actuate.cache.BoundedCacheStatisticsProvider;
 import org.springframework.boot.actuate.cache.CacheStatistics;
 import org.springframework.boot.actuate.cache.CacheStatisticsProvider;
 import org.springframework.boot.actuate.cache.ConcurrentMapCacheStatisticsProvider;
@@ -96,6 +97,16 @@ public class CacheStatisticsAutoConfiguration {
 
 	}
 
+	@Configuration
+	static class BoundedCacheStatisticsConfiguration {
+
+		@Bean
+		public BoundedCacheStatisticsProvider boundedCacheStatisticsProvider() {
+			return new BoundedCacheStatisticsProvider();
+		}
+
+	}
+
 	@Configuration
 	@ConditionalOnClass(ConcurrentMapCache.class)
 	static class ConcurrentMapCacheStatisticsConfiguration {
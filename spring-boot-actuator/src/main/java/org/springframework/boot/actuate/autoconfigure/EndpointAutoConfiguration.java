@@ -39,6 +39,7 @@ import org.springframework.boot.actuate.endpoint.MetricsEndpoint;
 import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.boot.actuate.endpoint.RequestMappingEndpoint;
 import org.springframework.boot.actuate.endpoint.ShutdownEndpoint;
+import org.springframework.boot.actuate.endpoint.StartupTimelineEndpoint;
 import org.springframework.boot.actuate.endpoint.TraceEndpoint;
 import org.springframework.boot.actuate.health.HealthAggregator;
 import org.springframework.boot.actuate.health.HealthIndicator;
@@ -53,6 +54,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.condition.SearchStrategy;
 import org.springframework.boot.bind.PropertiesConfigurationFactory;
 import org.springframework.boot.context.properties.ConfigurationBeanFactoryMetaData;
+import org.springframework.boot.context.startup.StartupTimeline;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
@@ -153,6 +155,13 @@ public class EndpointAutoConfiguration {
 		return new AutoConfigurationReportEndpoint();
 	}
 
+	@Bean
+	@ConditionalOnBean(StartupTimeline.class)
+	@ConditionalOnMissingBean
+	public StartupTimelineEndpoint startupTimelineEndpoint(StartupTimeline timeline) {
+		return new StartupTimelineEndpoint(timeline);
+	}
+
 	@Bean
 	@ConditionalOnMissingBean
 	public ShutdownEndpoint shutdownEndpoint() {
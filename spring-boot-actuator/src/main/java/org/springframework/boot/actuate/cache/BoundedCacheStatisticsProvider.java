@@ -0,0 +1,39 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.cache;
+
+import org.springframework.boot.cache.BoundedCache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * {@link CacheStatisticsProvider} implementation for {@link BoundedCache}.
+ *
+ * @author Agent
+ * @since 1.3.0
+ */
+public class BoundedCacheStatisticsProvider implements
+		CacheStatisticsProvider<BoundedCache> {
+
+	@Override
+	public CacheStatistics getCacheStatistics(CacheManager cacheManager,
+			BoundedCache cache) {
+		DefaultCacheStatistics statistics = new DefaultCacheStatistics();
+		statistics.setSize((long) cache.size());
+		return statistics;
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.cache;
+
+import java.util.Collection;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.cache.InstrumentedCache;
+
+/**
+ * {@link CacheStatistics} of an {@link InstrumentedCache}. Hit and miss ratios are
+ * computed from the recorded instrumentation while the size, if any, is provided by the
+ * statistics of the underlying cache.
+ *
+ * @author Agent
+ * @since 1.3.0
+ */
+public class InstrumentedCacheStatistics extends DefaultCacheStatistics {
+
+	private final InstrumentedCache.Statistics statistics;
+
+	/**
+	 * Create a new {@link InstrumentedCacheStatistics} instance.
+	 * @param targetStatistics the statistics of the underlying cache or {@code null}
+	 * @param statistics the statistics recorded by the {@link InstrumentedCache}
+	 */
+	public InstrumentedCacheStatistics(CacheStatistics targetStatistics,
+			InstrumentedCache.Statistics statistics) {
+		this.statistics = statistics;
+		if (targetStatistics != null) {
+			setSize(targetStatistics.getSize());
+			setHitRatio(targetStatistics.getHitRatio());
+			setMissRatio(targetStatistics.getMissRatio());
+		}
+		setGetCacheCounts(statistics.getHits(), statistics.getMisses());
+	}
+
+	@Override
+	public Collection<Metric<?>> toMetrics(String prefix) {
+		Collection<Metric<?>> result = super.toMetrics(prefix);
+		result.add(new Metric<Long>(prefix + "hits", this.statistics.getHits()));
+		result.add(new Metric<Long>(prefix + "misses", this.statistics.getMisses()));
+		result.add(new Metric<Long>(prefix + "puts", this.statistics.getPuts()));
+		result.add(new Metric<Long>(prefix + "evictions", this.statistics.getEvictions()));
+		addTiming(result, prefix + "get.", this.statistics.getGetTiming());
+		addTiming(result, prefix + "put.", this.statistics.getPutTiming());
+		return result;
+	}
+
+	private void addTiming(Collection<Metric<?>> metrics, String prefix,
+			InstrumentedCache.Timing timing) {
+		if (timing.getCount() > 0) {
+			metrics.add(new Metric<Double>(prefix + "mean", toMillis(timing.getMean())));
+			metrics.add(new Metric<Double>(prefix + "max", toMillis(timing.getMax())));
+			metrics.add(new Metric<Double>(prefix + "p99",
+					toMillis(timing.getPercentile99())));
+		}
+	}
+
+	private double toMillis(long nanos) {
+		return nanos / 1000000D;
+	}
+
+}
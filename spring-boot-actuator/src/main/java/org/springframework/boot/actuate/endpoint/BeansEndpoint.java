@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2014 the original author or authors.
+ * Copyright 2012-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.actuate.endpoint;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.beans.BeansException;
@@ -27,6 +28,9 @@ import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.support.LiveBeansView;
 import org.springframework.core.env.Environment;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
 /**
  * Exposes JSON view of Spring beans. If the {@link Environment} contains a key setting
  * the {@link LiveBeansView#MBEAN_DOMAIN_PROPERTY_NAME} then all application contexts in
@@ -37,12 +41,14 @@ import org.springframework.core.env.Environment;
  */
 @ConfigurationProperties(prefix = "endpoints.beans", ignoreUnknownFields = false)
 public class BeansEndpoint extends AbstractEndpoint<List<Object>> implements
-		ApplicationContextAware {
+		StreamingEndpoint<List<Object>>, ApplicationContextAware {
 
 	private final LiveBeansView liveBeansView = new LiveBeansView();
 
 	private final JsonParser parser = JsonParserFactory.getJsonParser();
 
+	private final JsonFactory jsonFactory = new JsonFactory();
+
 	public BeansEndpoint() {
 		super("beans");
 	}
@@ -59,4 +65,19 @@ public class BeansEndpoint extends AbstractEndpoint<List<Object>> implements
 	public List<Object> invoke() {
 		return this.parser.parseList(this.liveBeansView.getSnapshotAsJson());
 	}
+
+	@Override
+	public void writeTo(JsonGenerator generator) throws IOException {
+		// Copy the snapshot token by token rather than parsing it into a List first
+		com.fasterxml.jackson.core.JsonParser snapshot = this.jsonFactory
+				.createParser(this.liveBeansView.getSnapshotAsJson());
+		try {
+			snapshot.nextToken();
+			generator.copyCurrentStructure(snapshot);
+		}
+		finally {
+			snapshot.close();
+		}
+	}
+
 }
@@ -24,7 +24,10 @@ import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.cache.CacheStatistics;
 import org.springframework.boot.actuate.cache.CacheStatisticsProvider;
+import org.springframework.boot.actuate.cache.InstrumentedCacheStatistics;
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.cache.InstrumentedCache;
+import org.springframework.boot.cache.InstrumentedCacheManager;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.core.ResolvableType;
@@ -83,8 +86,24 @@ public class CachePublicMetrics implements PublicMetrics {
 		}
 	}
 
-	@SuppressWarnings({ "rawtypes", "unchecked" })
 	private CacheStatistics getCacheStatistics(Cache cache, CacheManager cacheManager) {
+		if (cache instanceof InstrumentedCache) {
+			InstrumentedCache instrumented = (InstrumentedCache) cache;
+			CacheManager targetCacheManager = InstrumentedCacheManager
+					.getInstrumentedTarget(cacheManager);
+			if (targetCacheManager == null) {
+				targetCacheManager = cacheManager;
+			}
+			return new InstrumentedCacheStatistics(getProvidedCacheStatistics(
+					instrumented.getTarget(), targetCacheManager),
+					instrumented.getStatistics());
+		}
+		return getProvidedCacheStatistics(cache, cacheManager);
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private CacheStatistics getProvidedCacheStatistics(Cache cache,
+			CacheManager cacheManager) {
 		if (this.statisticsProviders != null) {
 			for (CacheStatisticsProvider provider : this.statisticsProviders) {
 				Class<?> cacheType = ResolvableType.forClass(
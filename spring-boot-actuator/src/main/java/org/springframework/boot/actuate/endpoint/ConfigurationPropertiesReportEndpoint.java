@@ -18,6 +18,7 @@ package org.springframework.boot.actuate.endpoint;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -38,8 +39,10 @@ import org.springframework.context.ApplicationContextAware;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.BeanDescription;
 import com.fasterxml.jackson.databind.JsonMappingException;
@@ -67,12 +70,18 @@ import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
  * Configure property names by using <code>endpoints.configprops.keys_to_sanitize</code>
  * in your Spring Boot application configuration.
  *
+ * <p>
+ * The configured {@link ObjectMapper} and the parsed configuration metadata are cached.
+ * Bean values are serialized on each invocation since beans may be rebound in place
+ * when the environment changes.
+ *
  * @author Christian Dupuis
  * @author Dave Syer
  */
 @ConfigurationProperties(prefix = "endpoints.configprops", ignoreUnknownFields = false)
 public class ConfigurationPropertiesReportEndpoint extends
-		AbstractEndpoint<Map<String, Object>> implements ApplicationContextAware {
+		AbstractEndpoint<Map<String, Object>> implements
+		StreamingEndpoint<Map<String, Object>>, ApplicationContextAware {
 
 	private static final String CGLIB_FILTER_ID = "cglibFilter";
 
@@ -83,12 +92,20 @@ public class ConfigurationPropertiesReportEndpoint extends
 
 	private ApplicationContext context;
 
-	private ConfigurationPropertiesMetaData metadata;
+	private volatile ConfigurationPropertiesMetaData metadata;
+
+	private volatile ObjectMapper objectMapper;
 
 	private String metadataLocations = "classpath:*/META-INF/*spring-configuration-metadata.json";
 
+	private final boolean extractOverridden;
+
 	public ConfigurationPropertiesReportEndpoint() {
 		super("configprops");
+		Method extract = ReflectionUtils.findMethod(getClass(), "extract",
+				ApplicationContext.class);
+		this.extractOverridden = !ConfigurationPropertiesReportEndpoint.class
+				.equals(extract.getDeclaringClass());
 	}
 
 	@Override
@@ -106,6 +123,7 @@ public class ConfigurationPropertiesReportEndpoint extends
 	 */
 	public void setMetadataLocations(String metadataLocations) {
 		this.metadataLocations = metadataLocations;
+		this.metadata = null;
 	}
 
 	@Override
@@ -121,29 +139,67 @@ public class ConfigurationPropertiesReportEndpoint extends
 	 */
 	protected Map<String, Object> extract(ApplicationContext context) {
 		// Serialize beans into map structure and sanitize values
-		ObjectMapper mapper = new ObjectMapper();
-		configureObjectMapper(mapper);
-		return extract(context, mapper);
+		return extract(context, getObjectMapper());
+	}
+
+	private ObjectMapper getObjectMapper() {
+		ObjectMapper mapper = this.objectMapper;
+		if (mapper == null) {
+			mapper = new ObjectMapper();
+			configureObjectMapper(mapper);
+			this.objectMapper = mapper;
+		}
+		return mapper;
 	}
 
 	private Map<String, Object> extract(ApplicationContext context, ObjectMapper mapper) {
 		Map<String, Object> result = new HashMap<String, Object>();
+		try {
+			write(EntryWriter.forMap(result), context, mapper);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+		return result;
+	}
+
+	@Override
+	public void writeTo(JsonGenerator generator) throws IOException {
+		if (this.extractOverridden) {
+			// Keep the output of subclasses that customize extract consistent
+			generator.writeObject(extract(this.context));
+			return;
+		}
+		write(EntryWriter.forGenerator(generator), this.context, getObjectMapper());
+	}
+
+	/**
+	 * Write the details of the beans one bean at a time so that, when streaming, only a
+	 * single bean's properties are held in memory.
+	 */
+	private void write(EntryWriter writer, ApplicationContext context,
+			ObjectMapper mapper) throws IOException {
 		ConfigurationBeanFactoryMetaData beanFactoryMetaData = getBeanFactoryMetaData(context);
 		Map<String, Object> beans = getConfigurationPropertiesBeans(context,
 				beanFactoryMetaData);
 		for (Map.Entry<String, Object> entry : beans.entrySet()) {
-			String beanName = entry.getKey();
-			Object bean = entry.getValue();
-			Map<String, Object> root = new HashMap<String, Object>();
-			String prefix = extractPrefix(context, beanFactoryMetaData, beanName, bean);
-			root.put("prefix", prefix);
-			root.put("properties", sanitize(safeSerialize(mapper, bean, prefix)));
-			result.put(beanName, root);
+			writer.write(entry.getKey(), describe(context, beanFactoryMetaData, mapper,
+					entry.getKey(), entry.getValue()));
 		}
 		if (context.getParent() != null) {
-			result.put("parent", extract(context.getParent(), mapper));
+			write(writer.writeNested("parent"), context.getParent(), mapper);
 		}
-		return result;
+		writer.end();
+	}
+
+	private Map<String, Object> describe(ApplicationContext context,
+			ConfigurationBeanFactoryMetaData beanFactoryMetaData, ObjectMapper mapper,
+			String beanName, Object bean) {
+		Map<String, Object> root = new HashMap<String, Object>();
+		String prefix = extractPrefix(context, beanFactoryMetaData, beanName, bean);
+		root.put("prefix", prefix);
+		root.put("properties", sanitize(safeSerialize(mapper, bean, prefix)));
+		return root;
 	}
 
 	private ConfigurationBeanFactoryMetaData getBeanFactoryMetaData(
@@ -174,13 +230,15 @@ public class ConfigurationPropertiesReportEndpoint extends
 	 */
 	private Map<String, Object> safeSerialize(ObjectMapper mapper, Object bean,
 			String prefix) {
-		if (this.metadata == null) {
-			this.metadata = new ConfigurationPropertiesMetaData(this.metadataLocations);
+		ConfigurationPropertiesMetaData metadata = this.metadata;
+		if (metadata == null) {
+			metadata = new ConfigurationPropertiesMetaData(this.metadataLocations);
+			this.metadata = metadata;
 		}
 		try {
 			@SuppressWarnings("unchecked")
 			Map<String, Object> result = new HashMap<String, Object>(mapper.convertValue(
-					this.metadata.extractMap(bean, prefix), Map.class));
+					metadata.extractMap(bean, prefix), Map.class));
 			return result;
 		}
 		catch (Exception ex) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2014 the original author or authors.
+ * Copyright 2012-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,20 +16,27 @@
 
 package org.springframework.boot.actuate.endpoint;
 
+import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
 import java.util.Arrays;
 import java.util.List;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+
 /**
  * {@link Endpoint} to expose thread info.
  *
  * @author Dave Syer
  */
 @ConfigurationProperties(prefix = "endpoints.dump", ignoreUnknownFields = false)
-public class DumpEndpoint extends AbstractEndpoint<List<ThreadInfo>> {
+public class DumpEndpoint extends AbstractEndpoint<List<ThreadInfo>> implements
+		StreamingEndpoint<List<ThreadInfo>> {
+
+	private static final int BATCH_SIZE = 64;
 
 	/**
 	 * Create a new {@link DumpEndpoint} instance.
@@ -44,4 +51,22 @@ public class DumpEndpoint extends AbstractEndpoint<List<ThreadInfo>> {
 				true));
 	}
 
+	@Override
+	public void writeTo(JsonGenerator generator) throws IOException {
+		// Fetch thread info in batches so that only a few are held at any one time
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		long[] threadIds = threadMXBean.getAllThreadIds();
+		generator.writeStartArray();
+		for (int i = 0; i < threadIds.length; i += BATCH_SIZE) {
+			long[] batch = Arrays.copyOfRange(threadIds, i,
+					Math.min(i + BATCH_SIZE, threadIds.length));
+			for (ThreadInfo threadInfo : threadMXBean.getThreadInfo(batch, true, true)) {
+				if (threadInfo != null) {
+					generator.writeObject(threadInfo);
+				}
+			}
+		}
+		generator.writeEndArray();
+	}
+
 }
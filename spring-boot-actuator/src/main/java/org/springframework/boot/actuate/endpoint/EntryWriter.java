@@ -0,0 +1,131 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Receives the named entries of a {@link StreamingEndpoint}'s data so that the same code
+ * can either build the result of {@link Endpoint#invoke()} or write it directly to a
+ * {@link JsonGenerator}.
+ *
+ * @author Agent
+ */
+abstract class EntryWriter {
+
+	/**
+	 * Write an entry.
+	 * @param name the name of the entry
+	 * @param value the value of the entry
+	 * @throws IOException if the entry cannot be written
+	 */
+	public abstract void write(String name, Object value) throws IOException;
+
+	/**
+	 * Start a nested object entry. Entries are written to the returned writer until
+	 * {@link #end()} is called on it.
+	 * @param name the name of the entry
+	 * @return a writer for the entries of the nested object
+	 * @throws IOException if the entry cannot be written
+	 */
+	public abstract EntryWriter writeNested(String name) throws IOException;
+
+	/**
+	 * End the object that this writer writes to.
+	 * @throws IOException if the object cannot be written
+	 */
+	public abstract void end() throws IOException;
+
+	/**
+	 * Create an {@link EntryWriter} that puts entries in the given map.
+	 * @param map the map to populate
+	 * @return the entry writer
+	 */
+	public static EntryWriter forMap(Map<String, Object> map) {
+		return new MapEntryWriter(map);
+	}
+
+	/**
+	 * Create an {@link EntryWriter} that writes entries as the fields of a JSON object.
+	 * The object is started immediately.
+	 * @param generator the generator to write to
+	 * @return the entry writer
+	 * @throws IOException if the object cannot be started
+	 */
+	public static EntryWriter forGenerator(JsonGenerator generator) throws IOException {
+		generator.writeStartObject();
+		return new JsonEntryWriter(generator);
+	}
+
+	private static class MapEntryWriter extends EntryWriter {
+
+		private final Map<String, Object> map;
+
+		MapEntryWriter(Map<String, Object> map) {
+			this.map = map;
+		}
+
+		@Override
+		public void write(String name, Object value) {
+			this.map.put(name, value);
+		}
+
+		@Override
+		public EntryWriter writeNested(String name) {
+			Map<String, Object> nested = new LinkedHashMap<String, Object>();
+			this.map.put(name, nested);
+			return new MapEntryWriter(nested);
+		}
+
+		@Override
+		public void end() {
+		}
+
+	}
+
+	private static class JsonEntryWriter extends EntryWriter {
+
+		private final JsonGenerator generator;
+
+		JsonEntryWriter(JsonGenerator generator) {
+			this.generator = generator;
+		}
+
+		@Override
+		public void write(String name, Object value) throws IOException {
+			this.generator.writeFieldName(name);
+			this.generator.writeObject(value);
+		}
+
+		@Override
+		public EntryWriter writeNested(String name) throws IOException {
+			this.generator.writeObjectFieldStart(name);
+			return this;
+		}
+
+		@Override
+		public void end() throws IOException {
+			this.generator.writeEndObject();
+		}
+
+	}
+
+}
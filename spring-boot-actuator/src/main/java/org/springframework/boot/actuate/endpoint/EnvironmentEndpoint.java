@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2014 the original author or authors.
+ * Copyright 2012-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.actuate.endpoint;
 
+import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -29,6 +30,8 @@ import org.springframework.core.env.MutablePropertySources;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.env.StandardEnvironment;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+
 /**
  * {@link Endpoint} to expose {@link ConfigurableEnvironment environment} information.
  *
@@ -37,7 +40,8 @@ import org.springframework.core.env.StandardEnvironment;
  * @author Christian Dupuis
  */
 @ConfigurationProperties(prefix = "endpoints.env", ignoreUnknownFields = false)
-public class EnvironmentEndpoint extends AbstractEndpoint<Map<String, Object>> {
+public class EnvironmentEndpoint extends AbstractEndpoint<Map<String, Object>>
+		implements StreamingEndpoint<Map<String, Object>> {
 
 	private final Sanitizer sanitizer = new Sanitizer();
 
@@ -55,20 +59,34 @@ public class EnvironmentEndpoint extends AbstractEndpoint<Map<String, Object>> {
 	@Override
 	public Map<String, Object> invoke() {
 		Map<String, Object> result = new LinkedHashMap<String, Object>();
-		result.put("profiles", getEnvironment().getActiveProfiles());
+		try {
+			write(EntryWriter.forMap(result));
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+		return result;
+	}
+
+	@Override
+	public void writeTo(JsonGenerator generator) throws IOException {
+		write(EntryWriter.forGenerator(generator));
+	}
+
+	private void write(EntryWriter writer) throws IOException {
+		writer.write("profiles", getEnvironment().getActiveProfiles());
 		for (Entry<String, PropertySource<?>> entry : getPropertySources().entrySet()) {
 			PropertySource<?> source = entry.getValue();
-			String sourceName = entry.getKey();
 			if (source instanceof EnumerablePropertySource) {
 				EnumerablePropertySource<?> enumerable = (EnumerablePropertySource<?>) source;
-				Map<String, Object> map = new LinkedHashMap<String, Object>();
+				EntryWriter properties = writer.writeNested(entry.getKey());
 				for (String name : enumerable.getPropertyNames()) {
-					map.put(name, sanitize(name, enumerable.getProperty(name)));
+					properties.write(name, sanitize(name, enumerable.getProperty(name)));
 				}
-				result.put(sourceName, map);
+				properties.end();
 			}
 		}
-		return result;
+		writer.end();
 	}
 
 	private Map<String, PropertySource<?>> getPropertySources() {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2014 the original author or authors.
+ * Copyright 2012-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import java.util.List;
 
 import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.boot.actuate.metrics.reader.MetricReader;
+import org.springframework.boot.actuate.metrics.reader.PrefixMetricReader;
 import org.springframework.util.Assert;
 
 /**
@@ -50,4 +51,38 @@ public class MetricReaderPublicMetrics implements PublicMetrics {
 		return result;
 	}
 
+	/**
+	 * Return the metric with the given name without reading every metric.
+	 * @param name the metric name
+	 * @return the metric or {@code null}
+	 */
+	public Metric<?> metric(String name) {
+		return this.metricReader.findOne(name);
+	}
+
+	/**
+	 * Return the metrics whose names start with the given prefix. If the underlying
+	 * reader is a {@link PrefixMetricReader} only the enclosing metric group is read.
+	 * @param prefix the metric name prefix
+	 * @return the matching metrics
+	 */
+	public Collection<Metric<?>> metrics(String prefix) {
+		List<Metric<?>> result = new ArrayList<Metric<?>>();
+		for (Metric<?> metric : findCandidates(prefix)) {
+			if (metric.getName().startsWith(prefix)) {
+				result.add(metric);
+			}
+		}
+		return result;
+	}
+
+	private Iterable<Metric<?>> findCandidates(String prefix) {
+		int groupEnd = prefix.lastIndexOf('.');
+		if (groupEnd > 0 && this.metricReader instanceof PrefixMetricReader) {
+			return ((PrefixMetricReader) this.metricReader).findAll(prefix.substring(0,
+					groupEnd + 1));
+		}
+		return this.metricReader.findAll();
+	}
+
 }
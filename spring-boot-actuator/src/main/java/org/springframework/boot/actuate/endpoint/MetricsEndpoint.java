@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2014 the original author or authors.
+ * Copyright 2012-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ package org.springframework.boot.actuate.endpoint;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +39,8 @@ public class MetricsEndpoint extends AbstractEndpoint<Map<String, Object>> {
 
 	private final List<PublicMetrics> publicMetrics;
 
+	private volatile Map<String, PublicMetrics> sources = Collections.emptyMap();
+
 	/**
 	 * Create a new {@link MetricsEndpoint} instance.
 	 * @param publicMetrics the metrics to expose
@@ -61,9 +64,82 @@ public class MetricsEndpoint extends AbstractEndpoint<Map<String, Object>> {
 	@Override
 	public Map<String, Object> invoke() {
 		Map<String, Object> result = new LinkedHashMap<String, Object>();
+		Map<String, PublicMetrics> sources = new HashMap<String, PublicMetrics>();
 		for (PublicMetrics publicMetric : this.publicMetrics) {
 			for (Metric<?> metric : publicMetric.metrics()) {
 				result.put(metric.getName(), metric.getValue());
+				sources.put(metric.getName(), publicMetric);
+			}
+		}
+		this.sources = sources;
+		return result;
+	}
+
+	/**
+	 * Return the metrics whose names start with the given prefix. Sources that support
+	 * name based lookups are queried directly rather than collecting every metric.
+	 * @param prefix the metric name prefix (may be empty)
+	 * @return the matching metrics keyed by name
+	 */
+	public Map<String, Object> invoke(String prefix) {
+		Map<String, Object> result = new LinkedHashMap<String, Object>();
+		for (PublicMetrics publicMetric : this.publicMetrics) {
+			for (Metric<?> metric : getMetrics(publicMetric, prefix)) {
+				if (metric.getName().startsWith(prefix)) {
+					result.put(metric.getName(), metric.getValue());
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Return the value of the metric with the given name. Sources that support name based
+	 * lookups are queried directly using {@link MetricReaderPublicMetrics#metric(String)}.
+	 * Other sources are only queried if they provided the metric the last time that all
+	 * metrics were {@link #invoke() collected}, or if the metric was not seen then.
+	 * @param name the metric name
+	 * @return the metric value or {@code null} if there is no such metric
+	 */
+	public Object getValue(String name) {
+		PublicMetrics source = this.sources.get(name);
+		Object value = getValue(name, source);
+		if (value == null && source != null) {
+			// The metric may now be provided by a different source
+			value = getValue(name, null);
+		}
+		return value;
+	}
+
+	private Object getValue(String name, PublicMetrics source) {
+		Object value = null;
+		for (PublicMetrics publicMetric : this.publicMetrics) {
+			if (source == null || publicMetric == source
+					|| publicMetric instanceof MetricReaderPublicMetrics) {
+				Metric<?> metric = getMetric(publicMetric, name);
+				if (metric != null) {
+					value = metric.getValue();
+				}
+			}
+		}
+		return value;
+	}
+
+	private Collection<Metric<?>> getMetrics(PublicMetrics publicMetrics, String prefix) {
+		if (publicMetrics instanceof MetricReaderPublicMetrics) {
+			return ((MetricReaderPublicMetrics) publicMetrics).metrics(prefix);
+		}
+		return publicMetrics.metrics();
+	}
+
+	private Metric<?> getMetric(PublicMetrics publicMetrics, String name) {
+		if (publicMetrics instanceof MetricReaderPublicMetrics) {
+			return ((MetricReaderPublicMetrics) publicMetrics).metric(name);
+		}
+		Metric<?> result = null;
+		for (Metric<?> metric : publicMetrics.metrics()) {
+			if (name.equals(metric.getName())) {
+				result = metric;
 			}
 		}
 		return result;
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.startup.StartupTimeline;
+import org.springframework.boot.context.startup.StartupTimeline.Step;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Endpoint} to expose the {@link StartupTimeline} recorded while the application
+ * started.
+ *
+ * @author Agent
+ * @since 1.3.0
+ */
+@ConfigurationProperties(prefix = "endpoints.startup", ignoreUnknownFields = false)
+public class StartupTimelineEndpoint extends AbstractEndpoint<List<Step>> {
+
+	private final StartupTimeline timeline;
+
+	/**
+	 * Create a new {@link StartupTimelineEndpoint} instance.
+	 * @param timeline the timeline to expose
+	 */
+	public StartupTimelineEndpoint(StartupTimeline timeline) {
+		super("startup");
+		Assert.notNull(timeline, "Timeline must not be null");
+		this.timeline = timeline;
+	}
+
+	@Override
+	public List<Step> invoke() {
+		return this.timeline.getSteps();
+	}
+
+}
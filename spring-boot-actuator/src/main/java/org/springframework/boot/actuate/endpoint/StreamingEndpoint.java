@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * An {@link Endpoint} that can write its data incrementally to a {@link JsonGenerator}
+ * rather than building the complete result in memory. Adapters that expose endpoints as
+ * JSON should prefer {@link #writeTo(JsonGenerator)} over {@link #invoke()} when it is
+ * available.
+ *
+ * @param <T> the endpoint data type
+ * @author Agent
+ * @since 1.3.0
+ * @see StreamingEndpointPayload
+ */
+public interface StreamingEndpoint<T> extends Endpoint<T> {
+
+	/**
+	 * Write the same data that would be returned from {@link #invoke()} to the given
+	 * generator. The generator will have an {@code ObjectCodec} that can be used to
+	 * write nested values.
+	 * @param generator the generator to write to
+	 * @throws IOException if the data cannot be written
+	 */
+	void writeTo(JsonGenerator generator) throws IOException;
+
+}
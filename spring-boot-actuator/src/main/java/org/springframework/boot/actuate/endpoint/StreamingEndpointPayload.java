@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+/**
+ * {@link JsonSerializable} payload that writes the data of a {@link StreamingEndpoint}
+ * directly to the {@link JsonGenerator} used for serialization. Returning the payload
+ * from a handler method allows the response to be produced incrementally.
+ *
+ * @author Agent
+ * @since 1.3.0
+ */
+public class StreamingEndpointPayload implements JsonSerializable {
+
+	private final StreamingEndpoint<?> endpoint;
+
+	/**
+	 * Create a new {@link StreamingEndpointPayload} instance.
+	 * @param endpoint the endpoint that will provide the data
+	 */
+	public StreamingEndpointPayload(StreamingEndpoint<?> endpoint) {
+		Assert.notNull(endpoint, "Endpoint must not be null");
+		this.endpoint = endpoint;
+	}
+
+	@Override
+	public void serialize(JsonGenerator generator, SerializerProvider serializers)
+			throws IOException {
+		this.endpoint.writeTo(generator);
+	}
+
+	@Override
+	public void serializeWithType(JsonGenerator generator,
+			SerializerProvider serializers, TypeSerializer typeSerializer)
+			throws IOException {
+		serialize(generator, serializers);
+	}
+
+	public StreamingEndpoint<?> getEndpoint() {
+		return this.endpoint;
+	}
+
+	/**
+	 * Return if the data of the given endpoint can be streamed. This is only the case for
+	 * a {@link StreamingEndpoint} where {@link Endpoint#invoke() invoke()} is not
+	 * overridden below the class that implements
+	 * {@link StreamingEndpoint#writeTo(JsonGenerator) writeTo}, otherwise the streamed
+	 * data could differ from the data returned by {@code invoke()}. The check uses
+	 * reflection so callers should resolve it once per endpoint.
+	 * @param endpoint the endpoint to check
+	 * @return if a {@link StreamingEndpointPayload} can be used for the endpoint
+	 */
+	public static boolean isSupported(Endpoint<?> endpoint) {
+		if (!(endpoint instanceof StreamingEndpoint)) {
+			return false;
+		}
+		Method invoke = ReflectionUtils.findMethod(endpoint.getClass(), "invoke");
+		Method writeTo = ReflectionUtils.findMethod(endpoint.getClass(), "writeTo",
+				JsonGenerator.class);
+		return invoke.getDeclaringClass().isAssignableFrom(writeTo.getDeclaringClass());
+	}
+
+}
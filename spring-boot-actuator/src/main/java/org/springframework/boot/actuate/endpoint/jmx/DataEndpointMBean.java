@@ -17,6 +17,8 @@
 package org.springframework.boot.actuate.endpoint.jmx;
 
 import org.springframework.boot.actuate.endpoint.Endpoint;
+import org.springframework.boot.actuate.endpoint.StreamingEndpoint;
+import org.springframework.boot.actuate.endpoint.StreamingEndpointPayload;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
 import org.springframework.jmx.export.annotation.ManagedResource;
 
@@ -32,6 +34,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 @ManagedResource
 public class DataEndpointMBean extends EndpointMBean {
 
+	private final boolean streaming;
+
 	/**
 	 * Create a new {@link DataEndpointMBean} instance.
 	 * @param beanName the bean name
@@ -42,6 +46,7 @@ public class DataEndpointMBean extends EndpointMBean {
 	@Deprecated
 	public DataEndpointMBean(String beanName, Endpoint<?> endpoint) {
 		super(beanName, endpoint);
+		this.streaming = StreamingEndpointPayload.isSupported(endpoint);
 	}
 
 	/**
@@ -53,11 +58,16 @@ public class DataEndpointMBean extends EndpointMBean {
 	public DataEndpointMBean(String beanName, Endpoint<?> endpoint,
 			ObjectMapper objectMapper) {
 		super(beanName, endpoint, objectMapper);
+		this.streaming = StreamingEndpointPayload.isSupported(endpoint);
 	}
 
 	@ManagedAttribute(description = "Invoke the underlying endpoint")
 	public Object getData() {
-		return convert(getEndpoint().invoke());
+		Endpoint<?> endpoint = getEndpoint();
+		if (this.streaming) {
+			return convert(new StreamingEndpointPayload((StreamingEndpoint<?>) endpoint));
+		}
+		return convert(endpoint.invoke());
 	}
 
 }
@@ -25,6 +25,7 @@ import org.springframework.jmx.export.annotation.ManagedResource;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 
+import com.fasterxml.jackson.databind.JsonSerializable;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
@@ -87,6 +88,10 @@ public class EndpointMBean {
 		if (result instanceof String) {
 			return result;
 		}
+		if (result instanceof JsonSerializable) {
+			// Let the payload decide on the structure that it writes
+			return this.mapper.convertValue(result, Object.class);
+		}
 		if (result.getClass().isArray() || result instanceof List) {
 			return this.mapper.convertValue(result, List.class);
 		}
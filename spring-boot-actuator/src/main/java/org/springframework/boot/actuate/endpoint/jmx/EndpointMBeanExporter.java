@@ -33,6 +33,7 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.boot.actuate.endpoint.Endpoint;
+import org.springframework.boot.actuate.endpoint.MetricsEndpoint;
 import org.springframework.boot.actuate.endpoint.ShutdownEndpoint;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -187,6 +188,10 @@ public class EndpointMBeanExporter extends MBeanExporter implements SmartLifecyc
 		if (endpoint instanceof ShutdownEndpoint) {
 			return new ShutdownEndpointMBean(beanName, endpoint, this.objectMapper);
 		}
+		if (endpoint instanceof MetricsEndpoint) {
+			return new MetricsEndpointMBean(beanName, (MetricsEndpoint) endpoint,
+					this.objectMapper);
+		}
 		return new DataEndpointMBean(beanName, endpoint, this.objectMapper);
 	}
 
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint.jmx;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.ImmutableDescriptor;
+import javax.management.ListenerNotFoundException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanException;
+import javax.management.MBeanInfo;
+import javax.management.MBeanNotificationInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.Notification;
+import javax.management.NotificationBroadcasterSupport;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationFilter;
+import javax.management.NotificationListener;
+import javax.management.ReflectionException;
+
+import org.springframework.boot.actuate.endpoint.MetricsEndpoint;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link DynamicMBean} that exposes each metric of a {@link MetricsEndpoint} as a
+ * numeric attribute. Attribute values are read directly from the endpoint rather than
+ * converting the complete payload, and the attributes follow the metric names as they
+ * appear and disappear (a {@code jmx.mbean.info.changed} notification is sent when they
+ * do). The {@link MBeanInfo} is cached and only rebuilt when the set of metric names
+ * changes, with the complete set of names being collected from the endpoint at most once
+ * per {@link #setTimeToLive(long) time to live}. The {@code Data} attribute of
+ * {@link DataEndpointMBean} is still available.
+ *
+ * @author Agent
+ * @since 1.3.0
+ */
+public class MetricsEndpointMBean extends EndpointMBean implements DynamicMBean,
+		NotificationEmitter {
+
+	private static final String INFO_CHANGED = "jmx.mbean.info.changed";
+
+	private static final String DATA_ATTRIBUTE = "Data";
+
+	private static final String ENDPOINT_CLASS_ATTRIBUTE = "EndpointClass";
+
+	private static final String SENSITIVE_ATTRIBUTE = "Sensitive";
+
+	private final NotificationBroadcasterSupport notifications = new NotificationBroadcasterSupport();
+
+	private final AtomicLong sequenceNumber = new AtomicLong();
+
+	private volatile Map<String, Class<?>> metricTypes = Collections.emptyMap();
+
+	private volatile MBeanInfo info;
+
+	private final AtomicLong lastNamesRefresh = new AtomicLong();
+
+	private volatile long timeToLive = 1000;
+
+	/**
+	 * Create a new {@link MetricsEndpointMBean} instance.
+	 * @param beanName the bean name
+	 * @param endpoint the endpoint to wrap
+	 * @param objectMapper the {@link ObjectMapper} used to convert the {@code Data}
+	 * payload
+	 */
+	public MetricsEndpointMBean(String beanName, MetricsEndpoint endpoint,
+			ObjectMapper objectMapper) {
+		super(beanName, endpoint, objectMapper);
+		this.info = createMBeanInfo();
+	}
+
+	/**
+	 * Set the time in milliseconds that the metric names collected for the
+	 * {@link MBeanInfo} are reused before they are collected again. Defaults to 1000.
+	 * @param timeToLive the time to live in milliseconds
+	 */
+	public void setTimeToLive(long timeToLive) {
+		this.timeToLive = timeToLive;
+	}
+
+	@Override
+	public MetricsEndpoint getEndpoint() {
+		return (MetricsEndpoint) super.getEndpoint();
+	}
+
+	@Override
+	public MBeanInfo getMBeanInfo() {
+		long accessTime = System.currentTimeMillis();
+		long lastRefresh = this.lastNamesRefresh.get();
+		// Only one caller collects the names when they are due to be refreshed
+		if ((accessTime - lastRefresh) >= this.timeToLive
+				&& this.lastNamesRefresh.compareAndSet(lastRefresh, accessTime)) {
+			if (updateMetricTypes(getEndpoint().invoke())) {
+				sendInfoChanged(this.info);
+			}
+		}
+		return this.info;
+	}
+
+	@Override
+	public Object getAttribute(String attribute) throws AttributeNotFoundException,
+			MBeanException, ReflectionException {
+		if (DATA_ATTRIBUTE.equals(attribute)) {
+			return convert(getEndpoint().invoke());
+		}
+		if (ENDPOINT_CLASS_ATTRIBUTE.equals(attribute)) {
+			return getEndpointClass();
+		}
+		if (SENSITIVE_ATTRIBUTE.equals(attribute)) {
+			return isSensitive();
+		}
+		Object value = getEndpoint().getValue(attribute);
+		if (!(value instanceof Number)) {
+			throw new AttributeNotFoundException("No such metric: " + attribute);
+		}
+		if (!this.metricTypes.containsKey(attribute)
+				&& updateMetricTypes(Collections.singletonMap(attribute, value), false)) {
+			sendInfoChanged(this.info);
+		}
+		return getMetricValue(attribute, (Number) value);
+	}
+
+	@Override
+	public AttributeList getAttributes(String[] attributes) {
+		// Collect the metrics for the whole batch with a single (prefix) query
+		Map<String, Object> metrics = (attributes.length > 1 ? getEndpoint().invoke(
+				getCommonPrefix(attributes)) : Collections.<String, Object> emptyMap());
+		AttributeList result = new AttributeList();
+		for (String attribute : attributes) {
+			Object value = metrics.get(attribute);
+			try {
+				if (value instanceof Number && this.metricTypes.containsKey(attribute)) {
+					value = getMetricValue(attribute, (Number) value);
+				}
+				else {
+					value = getAttribute(attribute);
+				}
+				result.add(new Attribute(attribute, value));
+			}
+			catch (Exception ex) {
+				// Attributes that cannot be read are omitted
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+		throw new AttributeNotFoundException("Attribute '" + attribute.getName()
+				+ "' is read-only");
+	}
+
+	@Override
+	public AttributeList setAttributes(AttributeList attributes) {
+		return new AttributeList();
+	}
+
+	@Override
+	public Object invoke(String actionName, Object[] params, String[] signature)
+			throws MBeanException, ReflectionException {
+		if ("getData".equals(actionName)) {
+			return convert(getEndpoint().invoke());
+		}
+		throw new ReflectionException(new NoSuchMethodException(actionName));
+	}
+
+	@Override
+	public void addNotificationListener(NotificationListener listener,
+			NotificationFilter filter, Object handback) {
+		this.notifications.addNotificationListener(listener, filter, handback);
+	}
+
+	@Override
+	public void removeNotificationListener(NotificationListener listener)
+			throws ListenerNotFoundException {
+		this.notifications.removeNotificationListener(listener);
+	}
+
+	@Override
+	public void removeNotificationListener(NotificationListener listener,
+			NotificationFilter filter, Object handback) throws ListenerNotFoundException {
+		this.notifications.removeNotificationListener(listener, filter, handback);
+	}
+
+	@Override
+	public MBeanNotificationInfo[] getNotificationInfo() {
+		return new MBeanNotificationInfo[] { new MBeanNotificationInfo(
+				new String[] { INFO_CHANGED }, Notification.class.getName(),
+				"Sent when metrics are added or removed") };
+	}
+
+	private boolean updateMetricTypes(Map<String, Object> metrics) {
+		return updateMetricTypes(metrics, true);
+	}
+
+	/**
+	 * Update the known metric types from the given metrics, returning {@code true} if
+	 * the set of names has changed (in which case the cached {@link MBeanInfo} is
+	 * rebuilt). Types of names that are already known are kept so that an attribute's
+	 * type is stable.
+	 */
+	private synchronized boolean updateMetricTypes(Map<String, Object> metrics,
+			boolean complete) {
+		Map<String, Class<?>> types = new TreeMap<String, Class<?>>();
+		if (!complete) {
+			types.putAll(this.metricTypes);
+		}
+		for (Map.Entry<String, Object> entry : metrics.entrySet()) {
+			if (entry.getValue() instanceof Number) {
+				Class<?> type = this.metricTypes.get(entry.getKey());
+				types.put(entry.getKey(), (type != null ? type
+						: getMetricType((Number) entry.getValue())));
+			}
+		}
+		if (types.keySet().equals(this.metricTypes.keySet())) {
+			return false;
+		}
+		this.metricTypes = Collections.unmodifiableMap(types);
+		this.info = createMBeanInfo();
+		return true;
+	}
+
+	private Class<?> getMetricType(Number value) {
+		if (value instanceof Double || value instanceof Float) {
+			return Double.class;
+		}
+		return Long.class;
+	}
+
+	private Object getMetricValue(String name, Number value) {
+		if (Double.class.equals(this.metricTypes.get(name))) {
+			return value.doubleValue();
+		}
+		return value.longValue();
+	}
+
+	private String getCommonPrefix(String[] names) {
+		String prefix = names[0];
+		for (String name : names) {
+			int length = 0;
+			while (length < prefix.length() && length < name.length()
+					&& prefix.charAt(length) == name.charAt(length)) {
+				length++;
+			}
+			prefix = prefix.substring(0, length);
+		}
+		return prefix;
+	}
+
+	private MBeanInfo createMBeanInfo() {
+		List<MBeanAttributeInfo> attributes = new ArrayList<MBeanAttributeInfo>();
+		attributes.add(new MBeanAttributeInfo(DATA_ATTRIBUTE, Map.class.getName(),
+				"Invoke the underlying endpoint", true, false, false));
+		attributes.add(new MBeanAttributeInfo(ENDPOINT_CLASS_ATTRIBUTE, String.class
+				.getName(), "Returns the class of the underlying endpoint", true, false,
+				false));
+		attributes.add(new MBeanAttributeInfo(SENSITIVE_ATTRIBUTE, boolean.class
+				.getName(), "Indicates whether the underlying endpoint exposes "
+				+ "sensitive information", true, false, true));
+		for (Map.Entry<String, Class<?>> entry : this.metricTypes.entrySet()) {
+			attributes.add(new MBeanAttributeInfo(entry.getKey(), entry.getValue()
+					.getName(), "Metric " + entry.getKey(), true, false, false));
+		}
+		MBeanOperationInfo getData = new MBeanOperationInfo("getData",
+				"Invoke the underlying endpoint", null, Map.class.getName(),
+				MBeanOperationInfo.INFO);
+		return new MBeanInfo(getClass().getName(), "Metrics endpoint",
+				attributes.toArray(new MBeanAttributeInfo[attributes.size()]), null,
+				new MBeanOperationInfo[] { getData }, getNotificationInfo(),
+				new ImmutableDescriptor("immutableInfo=false"));
+	}
+
+	private void sendInfoChanged(MBeanInfo info) {
+		Notification notification = new Notification(INFO_CHANGED, this,
+				this.sequenceNumber.incrementAndGet(), "Metric names changed");
+		notification.setUserData(info);
+		this.notifications.sendNotification(notification);
+	}
+
+}
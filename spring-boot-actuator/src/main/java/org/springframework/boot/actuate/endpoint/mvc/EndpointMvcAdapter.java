@@ -20,6 +20,8 @@ import java.util.Collections;
 import java.util.Map;
 
 import org.springframework.boot.actuate.endpoint.Endpoint;
+import org.springframework.boot.actuate.endpoint.StreamingEndpoint;
+import org.springframework.boot.actuate.endpoint.StreamingEndpointPayload;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.Assert;
@@ -41,6 +43,8 @@ public class EndpointMvcAdapter implements MvcEndpoint {
 
 	private final Endpoint<?> delegate;
 
+	private final boolean streaming;
+
 	/**
 	 * Create a new {@link EndpointMvcAdapter}.
 	 * @param delegate the underlying {@link Endpoint} to adapt.
@@ -48,6 +52,7 @@ public class EndpointMvcAdapter implements MvcEndpoint {
 	public EndpointMvcAdapter(Endpoint<?> delegate) {
 		Assert.notNull(delegate, "Delegate must not be null");
 		this.delegate = delegate;
+		this.streaming = StreamingEndpointPayload.isSupported(delegate);
 	}
 
 	@RequestMapping(method = RequestMethod.GET)
@@ -58,6 +63,9 @@ public class EndpointMvcAdapter implements MvcEndpoint {
 			// disabled
 			return this.disabledResponse;
 		}
+		if (this.streaming) {
+			return new StreamingEndpointPayload((StreamingEndpoint<?>) this.delegate);
+		}
 		return this.delegate.invoke();
 	}
 
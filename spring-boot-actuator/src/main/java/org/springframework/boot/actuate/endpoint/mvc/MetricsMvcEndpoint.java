@@ -50,28 +50,40 @@ public class MetricsMvcEndpoint extends EndpointMvcAdapter {
 			// disabled
 			return getDisabledResponse();
 		}
-		return new NamePatternMapFilter(this.delegate.invoke()).getResults(name);
+		return new NamePatternMetricsFilter(this.delegate).getResults(name);
 	}
 
 	/**
-	 * {@link NamePatternFilter} for the Map source.
+	 * {@link NamePatternFilter} for the {@link MetricsEndpoint} source. Only metrics
+	 * that can match the requested name are collected.
 	 */
-	private class NamePatternMapFilter extends NamePatternFilter<Map<String, Object>> {
+	private static class NamePatternMetricsFilter extends
+			NamePatternFilter<MetricsEndpoint> {
 
-		public NamePatternMapFilter(Map<String, Object> source) {
+		private Map<String, Object> candidates;
+
+		public NamePatternMetricsFilter(MetricsEndpoint source) {
 			super(source);
 		}
 
 		@Override
-		protected void getNames(Map<String, Object> source, NameCallback callback) {
-			for (String name : source.keySet()) {
+		protected void getNames(MetricsEndpoint source, String prefix,
+				NameCallback callback) {
+			this.candidates = source.invoke(prefix);
+			for (String name : this.candidates.keySet()) {
 				callback.addName(name);
 			}
 		}
 
 		@Override
-		protected Object getValue(Map<String, Object> source, String name) {
-			Object value = source.get(name);
+		protected void getNames(MetricsEndpoint source, NameCallback callback) {
+			getNames(source, "", callback);
+		}
+
+		@Override
+		protected Object getValue(MetricsEndpoint source, String name) {
+			Object value = (this.candidates != null ? this.candidates.get(name) : source
+					.getValue(name));
 			if (value == null) {
 				throw new NoSuchMetricException("No such metric: " + name);
 			}
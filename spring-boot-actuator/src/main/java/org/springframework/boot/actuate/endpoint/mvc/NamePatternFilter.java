@@ -20,6 +20,8 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.regex.Pattern;
 
+import org.springframework.util.ConcurrentReferenceHashMap;
+
 /**
  * Utility class that can be used to filter source data using a name regular expression.
  * Detects if the name is classic "single value" key or a regular expression. Subclasses
@@ -35,6 +37,12 @@ abstract class NamePatternFilter<T> {
 
 	private static final String[] REGEX_PARTS = { "*", "$", "^", "+" };
 
+	private static final String REGEX_META_CHARS = "\\.[](){}*+?^$|";
+
+	private static final String OPTIONAL_QUANTIFIERS = "*?{";
+
+	private static final Map<String, Pattern> patternCache = new ConcurrentReferenceHashMap<String, Pattern>();
+
 	private final T source;
 
 	public NamePatternFilter(T source) {
@@ -45,14 +53,51 @@ abstract class NamePatternFilter<T> {
 		if (!isRegex(name)) {
 			return getValue(this.source, name);
 		}
-		Pattern pattern = Pattern.compile(name);
 		ResultCollectingNameCallback resultCollector = new ResultCollectingNameCallback(
-				pattern);
-		getNames(this.source, resultCollector);
+				getPattern(name));
+		getNames(this.source, getLiteralPrefix(name), resultCollector);
 		return resultCollector.getResults();
 
 	}
 
+	private Pattern getPattern(String regex) {
+		Pattern pattern = patternCache.get(regex);
+		if (pattern == null) {
+			pattern = Pattern.compile(regex);
+			patternCache.put(regex, pattern);
+		}
+		return pattern;
+	}
+
+	/**
+	 * Return the literal prefix that every name matching the given regular expression
+	 * must start with. The result is conservative, an empty string is returned if no
+	 * prefix can be determined.
+	 * @param regex the regular expression
+	 * @return the literal prefix (never {@code null})
+	 */
+	static String getLiteralPrefix(String regex) {
+		if (regex.contains("|")) {
+			return "";
+		}
+		StringBuilder prefix = new StringBuilder();
+		for (int i = (regex.startsWith("^") ? 1 : 0); i < regex.length(); i++) {
+			char ch = regex.charAt(i);
+			if (ch == '\\' && i + 1 < regex.length()
+					&& !Character.isLetterOrDigit(regex.charAt(i + 1))) {
+				ch = regex.charAt(++i);
+			}
+			else if (REGEX_META_CHARS.indexOf(ch) != -1) {
+				if (OPTIONAL_QUANTIFIERS.indexOf(ch) != -1 && prefix.length() > 0) {
+					prefix.setLength(prefix.length() - 1);
+				}
+				break;
+			}
+			prefix.append(ch);
+		}
+		return prefix.toString();
+	}
+
 	private boolean isRegex(String name) {
 		for (String part : REGEX_PARTS) {
 			if (name.contains(part)) {
@@ -62,6 +107,17 @@ abstract class NamePatternFilter<T> {
 		return false;
 	}
 
+	/**
+	 * Provide the names that should be matched against a regular expression. Subclasses
+	 * may override this method to skip names that cannot start with the given prefix.
+	 * @param source the source data
+	 * @param prefix the literal prefix shared by all matching names (may be empty)
+	 * @param callback the callback used to add names
+	 */
+	protected void getNames(T source, String prefix, NameCallback callback) {
+		getNames(source, callback);
+	}
+
 	protected abstract void getNames(T source, NameCallback callback);
 
 	protected abstract Object getValue(T source, String name);
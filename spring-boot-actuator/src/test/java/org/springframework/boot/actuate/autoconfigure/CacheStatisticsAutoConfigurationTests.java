@@ -27,6 +27,7 @@ import org.junit.Test;
 import org.springframework.boot.actuate.autoconfigure.CacheStatisticsAutoConfiguration;
 import org.springframework.boot.actuate.cache.CacheStatistics;
 import org.springframework.boot.actuate.cache.CacheStatisticsProvider;
+import org.springframework.boot.cache.BoundedCacheManager;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
@@ -119,6 +120,21 @@ public class CacheStatisticsAutoConfigurationTests {
 		assertCoreStatistics(updatedCacheStatistics, 2L, null, null);
 	}
 
+	@Test
+	public void boundedCacheStatistics() {
+		load(BoundedConfig.class);
+		CacheStatisticsProvider provider = this.context.getBean(
+				"boundedCacheStatisticsProvider", CacheStatisticsProvider.class);
+		Cache books = getCache("books");
+		CacheStatistics cacheStatistics = provider.getCacheStatistics(this.cacheManager,
+				books);
+		assertCoreStatistics(cacheStatistics, 0L, null, null);
+		getOrCreate(books, "a", "b", "b", "a", "a");
+		CacheStatistics updatedCacheStatistics = provider.getCacheStatistics(
+				this.cacheManager, books);
+		assertCoreStatistics(updatedCacheStatistics, 2L, null, null);
+	}
+
 	@Test
 	public void noOpCacheStatistics() {
 		load(NoOpCacheConfig.class);
@@ -269,6 +285,16 @@ public class CacheStatisticsAutoConfigurationTests {
 
 	}
 
+	@Configuration
+	static class BoundedConfig {
+
+		@Bean
+		public BoundedCacheManager cacheManager() {
+			return new BoundedCacheManager("books", "speakers");
+		}
+
+	}
+
 	@Configuration
 	static class NoOpCacheConfig {
 
@@ -24,6 +24,8 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -45,6 +47,13 @@ public class BeansEndpointTests extends AbstractEndpointTests<BeansEndpoint> {
 		assertTrue(result.get(0) instanceof Map);
 	}
 
+	@Test
+	public void writeTo() throws Exception {
+		List<?> result = new ObjectMapper().convertValue(new StreamingEndpointPayload(
+				getEndpointBean()), List.class);
+		assertEquals(getEndpointBean().invoke(), result);
+	}
+
 	@Configuration
 	@EnableConfigurationProperties
 	public static class Config {
@@ -16,16 +16,20 @@
 
 package org.springframework.boot.actuate.endpoint;
 
+import java.util.Collections;
 import java.util.Map;
 
 import org.junit.Test;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.EnvironmentTestUtils;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import static org.hamcrest.Matchers.greaterThan;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
@@ -151,6 +155,46 @@ public class ConfigurationPropertiesReportEndpointTests extends
 		assertEquals("******", nestedProperties.get("myTestProperty"));
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testWriteTo() throws Exception {
+		ConfigurationPropertiesReportEndpoint report = getEndpointBean();
+		Map<String, Object> properties = new ObjectMapper().convertValue(
+				new StreamingEndpointPayload(report), Map.class);
+		assertEquals(report.invoke().keySet(), properties.keySet());
+		Map<String, Object> nestedProperties = (Map<String, Object>) ((Map<String, Object>) properties
+				.get("testProperties")).get("properties");
+		assertEquals("******", nestedProperties.get("dbPassword"));
+		assertEquals("654321", nestedProperties.get("myTestProperty"));
+	}
+
+	@Test
+	public void testWriteToUsesOverriddenExtract() throws Exception {
+		ConfigurationPropertiesReportEndpoint report = new ConfigurationPropertiesReportEndpoint() {
+
+			@Override
+			protected Map<String, Object> extract(ApplicationContext context) {
+				return Collections.<String, Object> singletonMap("custom", "value");
+			}
+
+		};
+		report.setApplicationContext(this.context);
+		Map<?, ?> properties = new ObjectMapper().convertValue(
+				new StreamingEndpointPayload(report), Map.class);
+		assertEquals(report.invoke(), properties);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testReflectsBeanReboundInPlace() throws Exception {
+		ConfigurationPropertiesReportEndpoint report = getEndpointBean();
+		report.invoke();
+		this.context.getBean(TestProperties.class).setMyTestProperty("rebound");
+		Map<String, Object> nestedProperties = (Map<String, Object>) ((Map<String, Object>) report
+				.invoke().get("testProperties")).get("properties");
+		assertEquals("rebound", nestedProperties.get("myTestProperty"));
+	}
+
 	@Configuration
 	@EnableConfigurationProperties
 	public static class Parent {
@@ -24,6 +24,8 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import static org.hamcrest.Matchers.greaterThan;
 import static org.junit.Assert.assertThat;
 
@@ -44,6 +46,13 @@ public class DumpEndpointTests extends AbstractEndpointTests<DumpEndpoint> {
 		assertThat(threadInfo.size(), greaterThan(0));
 	}
 
+	@Test
+	public void writeTo() throws Exception {
+		List<?> threadInfo = new ObjectMapper().convertValue(
+				new StreamingEndpointPayload(getEndpointBean()), List.class);
+		assertThat(threadInfo.size(), greaterThan(0));
+	}
+
 	@Configuration
 	@EnableConfigurationProperties
 	public static class Config {
@@ -28,9 +28,13 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.CompositePropertySource;
 import org.springframework.core.env.MapPropertySource;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import static org.hamcrest.Matchers.greaterThan;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests for {@link EnvironmentEndpoint}.
@@ -49,6 +53,30 @@ public class EnvironmentEndpointTests extends AbstractEndpointTests<EnvironmentE
 		assertThat(getEndpointBean().invoke().size(), greaterThan(0));
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void writeTo() throws Exception {
+		System.setProperty("dbPassword", "123456");
+		Map<String, Object> env = new ObjectMapper().convertValue(
+				new StreamingEndpointPayload(getEndpointBean()), Map.class);
+		assertEquals(getEndpointBean().invoke().keySet(), env.keySet());
+		assertEquals("******",
+				((Map<String, Object>) env.get("systemProperties")).get("dbPassword"));
+	}
+
+	@Test
+	public void writeToOnlyUsedWhenInvokeIsNotOverridden() throws Exception {
+		assertTrue(StreamingEndpointPayload.isSupported(new EnvironmentEndpoint()));
+		assertFalse(StreamingEndpointPayload.isSupported(new EnvironmentEndpoint() {
+
+			@Override
+			public Map<String, Object> invoke() {
+				return Collections.emptyMap();
+			}
+
+		}));
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	public void testCompositeSource() throws Exception {
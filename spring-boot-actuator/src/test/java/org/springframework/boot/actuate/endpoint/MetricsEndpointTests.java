@@ -27,15 +27,21 @@ import java.util.Map.Entry;
 
 import org.junit.Test;
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.repository.InMemoryMetricRepository;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * Tests for {@link MetricsEndpoint}.
@@ -73,6 +79,48 @@ public class MetricsEndpointTests extends AbstractEndpointTests<MetricsEndpoint>
 		assertFalse(iterator.hasNext());
 	}
 
+	@Test
+	public void invokeWithPrefix() {
+		InMemoryMetricRepository repository = new InMemoryMetricRepository();
+		repository.set(new Metric<Number>("counter.foo", 1));
+		repository.set(new Metric<Number>("counter.bar", 2));
+		repository.set(new Metric<Number>("gauge.foo", 3));
+		List<PublicMetrics> publicMetrics = new ArrayList<PublicMetrics>();
+		publicMetrics.add(new MetricReaderPublicMetrics(repository));
+		publicMetrics.add(new TestPublicMetrics(1, this.metric1));
+		Map<String, Object> metrics = new MetricsEndpoint(publicMetrics)
+				.invoke("counter.f");
+		assertEquals(1, metrics.size());
+		assertThat(metrics.get("counter.foo"), equalTo((Object) 1));
+	}
+
+	@Test
+	public void getValue() {
+		InMemoryMetricRepository repository = new InMemoryMetricRepository();
+		repository.set(new Metric<Number>("counter.foo", 1));
+		List<PublicMetrics> publicMetrics = new ArrayList<PublicMetrics>();
+		publicMetrics.add(new MetricReaderPublicMetrics(repository));
+		publicMetrics.add(new TestPublicMetrics(1, this.metric2));
+		MetricsEndpoint endpoint = new MetricsEndpoint(publicMetrics);
+		assertThat(endpoint.getValue("counter.foo"), equalTo((Object) 1));
+		assertThat(endpoint.getValue("b"), equalTo((Object) 2));
+		assertThat(endpoint.getValue("c"), nullValue());
+	}
+
+	@Test
+	public void getValueOnlyQueriesSourceOfMetric() {
+		PublicMetrics other = mock(PublicMetrics.class);
+		given(other.metrics()).willReturn(
+				Collections.<Metric<?>> singleton(new Metric<Number>("c", 3)));
+		List<PublicMetrics> publicMetrics = new ArrayList<PublicMetrics>();
+		publicMetrics.add(new TestPublicMetrics(1, this.metric2));
+		publicMetrics.add(other);
+		MetricsEndpoint endpoint = new MetricsEndpoint(publicMetrics);
+		endpoint.invoke();
+		assertThat(endpoint.getValue("b"), equalTo((Object) 2));
+		verify(other, times(1)).metrics();
+	}
+
 	private static class TestPublicMetrics implements PublicMetrics, Ordered {
 
 		private final int order;
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.startup.StartupTimeline;
+import org.springframework.boot.context.startup.StartupTimeline.Step;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link StartupTimelineEndpoint}.
+ *
+ * @author Agent
+ */
+public class StartupTimelineEndpointTests extends
+		AbstractEndpointTests<StartupTimelineEndpoint> {
+
+	public StartupTimelineEndpointTests() {
+		super(Config.class, StartupTimelineEndpoint.class, "startup", true,
+				"endpoints.startup");
+	}
+
+	@Test
+	public void invoke() throws Exception {
+		List<Step> steps = getEndpointBean().invoke();
+		assertThat(steps, hasSize(1));
+		assertThat(steps.get(0).getName(), equalTo("test"));
+	}
+
+	@Configuration
+	@EnableConfigurationProperties
+	public static class Config {
+
+		@Bean
+		public StartupTimeline startupTimeline() {
+			StartupTimeline timeline = new StartupTimeline();
+			timeline.startStep("test").end();
+			return timeline;
+		}
+
+		@Bean
+		public StartupTimelineEndpoint endpoint(StartupTimeline timeline) {
+			return new StartupTimelineEndpoint(timeline);
+		}
+
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint.jmx;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.Notification;
+import javax.management.NotificationListener;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.actuate.endpoint.MetricReaderPublicMetrics;
+import org.springframework.boot.actuate.endpoint.MetricsEndpoint;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.repository.InMemoryMetricRepository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link MetricsEndpointMBean}.
+ *
+ * @author Agent
+ */
+public class MetricsEndpointMBeanTests {
+
+	private final InMemoryMetricRepository repository = new InMemoryMetricRepository();
+
+	private MetricsEndpointMBean mbean;
+
+	@Before
+	public void init() {
+		this.repository.set(new Metric<Number>("counter.foo", 1));
+		this.repository.set(new Metric<Number>("gauge.bar", 2.5));
+		this.mbean = new MetricsEndpointMBean("metricsEndpoint", new MetricsEndpoint(
+				new MetricReaderPublicMetrics(this.repository)), new ObjectMapper());
+	}
+
+	@Test
+	public void metricAttributes() throws Exception {
+		MBeanInfo info = this.mbean.getMBeanInfo();
+		assertThat(getType(info, "counter.foo"), equalTo(Long.class.getName()));
+		assertThat(getType(info, "gauge.bar"), equalTo(Double.class.getName()));
+		assertThat(this.mbean.getAttribute("counter.foo"), equalTo((Object) 1L));
+		assertThat(this.mbean.getAttribute("gauge.bar"), equalTo((Object) 2.5));
+	}
+
+	@Test
+	public void typeIsStable() throws Exception {
+		this.mbean.getMBeanInfo();
+		this.repository.set(new Metric<Number>("counter.foo", 2.0));
+		assertThat(this.mbean.getAttribute("counter.foo"), equalTo((Object) 2L));
+	}
+
+	@Test
+	public void batchAttributes() throws Exception {
+		this.mbean.getMBeanInfo();
+		AttributeList attributes = this.mbean.getAttributes(new String[] {
+				"counter.foo", "gauge.bar", "missing" });
+		assertEquals(2, attributes.size());
+		assertThat(((Attribute) attributes.get(0)).getValue(), equalTo((Object) 1L));
+		assertThat(((Attribute) attributes.get(1)).getValue(), equalTo((Object) 2.5));
+	}
+
+	@Test(expected = AttributeNotFoundException.class)
+	public void missingMetric() throws Exception {
+		this.mbean.getAttribute("missing");
+	}
+
+	@Test
+	public void infoChangedWhenMetricAppears() throws Exception {
+		final List<Notification> notifications = new ArrayList<Notification>();
+		this.mbean.setTimeToLive(0);
+		this.mbean.getMBeanInfo();
+		this.mbean.addNotificationListener(new NotificationListener() {
+
+			@Override
+			public void handleNotification(Notification notification, Object handback) {
+				notifications.add(notification);
+			}
+
+		}, null, null);
+		this.mbean.getMBeanInfo();
+		assertEquals(0, notifications.size());
+		this.repository.set(new Metric<Number>("counter.spam", 3));
+		MBeanInfo info = this.mbean.getMBeanInfo();
+		assertEquals(1, notifications.size());
+		assertThat(getType(info, "counter.spam"), equalTo(Long.class.getName()));
+	}
+
+	@Test
+	public void infoIsOnlyRebuiltWhenNamesChange() throws Exception {
+		this.mbean.setTimeToLive(0);
+		MBeanInfo info = this.mbean.getMBeanInfo();
+		this.repository.set(new Metric<Number>("counter.foo", 2));
+		assertThat(this.mbean.getMBeanInfo(), sameInstance(info));
+		this.repository.set(new Metric<Number>("counter.spam", 3));
+		assertThat(this.mbean.getMBeanInfo(), not(sameInstance(info)));
+	}
+
+	@Test
+	public void namesAreReusedWithinTimeToLive() throws Exception {
+		this.mbean.setTimeToLive(60000);
+		this.mbean.getMBeanInfo();
+		this.repository.set(new Metric<Number>("counter.spam", 3));
+		MBeanInfo info = this.mbean.getMBeanInfo();
+		assertThat(getType(info, "counter.spam"), nullValue());
+	}
+
+	private String getType(MBeanInfo info, String name) {
+		for (MBeanAttributeInfo attribute : info.getAttributes()) {
+			if (attribute.getName().equals(name)) {
+				return attribute.getType();
+			}
+		}
+		return null;
+	}
+
+}
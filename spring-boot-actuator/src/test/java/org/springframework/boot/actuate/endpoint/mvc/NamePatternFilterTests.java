@@ -48,6 +48,18 @@ public class NamePatternFilterTests {
 
 	}
 
+	@Test
+	public void literalPrefix() throws Exception {
+		assertThat(NamePatternFilter.getLiteralPrefix("fo.*"), equalTo("fo"));
+		assertThat(NamePatternFilter.getLiteralPrefix("^foo\\.bar.*"),
+				equalTo("foo.bar"));
+		assertThat(NamePatternFilter.getLiteralPrefix("group[0-9]+"), equalTo("group"));
+		assertThat(NamePatternFilter.getLiteralPrefix("fool?"), equalTo("foo"));
+		assertThat(NamePatternFilter.getLiteralPrefix("foo+"), equalTo("foo"));
+		assertThat(NamePatternFilter.getLiteralPrefix("foo|bar"), equalTo(""));
+		assertThat(NamePatternFilter.getLiteralPrefix("\\w+"), equalTo(""));
+	}
+
 	private static class MockNamePatternFilter extends NamePatternFilter<Object> {
 
 		public MockNamePatternFilter() {
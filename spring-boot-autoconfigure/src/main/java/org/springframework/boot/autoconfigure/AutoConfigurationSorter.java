@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -46,15 +47,23 @@ class AutoConfigurationSorter {
 
 	private final CachingMetadataReaderFactory metadataReaderFactory;
 
+	private final AutoConfigurationMetadata autoConfigurationMetadata;
+
 	public AutoConfigurationSorter(ResourceLoader resourceLoader) {
+		this(resourceLoader, null);
+	}
+
+	public AutoConfigurationSorter(ResourceLoader resourceLoader,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
 		Assert.notNull(resourceLoader, "ResourceLoader must not be null");
 		this.metadataReaderFactory = new CachingMetadataReaderFactory(resourceLoader);
+		this.autoConfigurationMetadata = autoConfigurationMetadata;
 	}
 
 	public List<String> getInPriorityOrder(Collection<String> classNames)
 			throws IOException {
 		final AutoConfigurationClasses classes = new AutoConfigurationClasses(
-				this.metadataReaderFactory, classNames);
+				this.metadataReaderFactory, this.autoConfigurationMetadata, classNames);
 		List<String> orderedClassNames = new ArrayList<String>(classNames);
 		// Initially sort alphabetically
 		Collections.sort(orderedClassNames);
@@ -74,28 +83,26 @@ class AutoConfigurationSorter {
 
 	private List<String> sortByAnnotation(AutoConfigurationClasses classes,
 			List<String> classNames) {
-		List<String> tosort = new ArrayList<String>(classNames);
-		Set<String> sorted = new LinkedHashSet<String>();
-		Set<String> processing = new LinkedHashSet<String>();
-		while (!tosort.isEmpty()) {
-			doSortByAfterAnnotation(classes, tosort, sorted, processing, null);
+		Map<String, Set<String>> requestedAfter = classes
+				.getClassesRequestedAfter(classNames);
+		Set<String> sorted = new LinkedHashSet<String>(classNames.size() * 2);
+		Set<String> processing = new HashSet<String>();
+		for (String className : classNames) {
+			doSortByAfterAnnotation(requestedAfter, sorted, processing, className);
 		}
 		return new ArrayList<String>(sorted);
 	}
 
-	private void doSortByAfterAnnotation(AutoConfigurationClasses classes,
-			List<String> tosort, Set<String> sorted, Set<String> processing,
-			String current) {
-		if (current == null) {
-			current = tosort.remove(0);
+	private void doSortByAfterAnnotation(Map<String, Set<String>> requestedAfter,
+			Set<String> sorted, Set<String> processing, String current) {
+		if (sorted.contains(current)) {
+			return;
 		}
 		processing.add(current);
-		for (String after : classes.getClassesRequestedAfter(current)) {
+		for (String after : requestedAfter.get(current)) {
 			Assert.state(!processing.contains(after),
 					"AutoConfigure cycle detected between " + current + " and " + after);
-			if (!sorted.contains(after) && tosort.contains(after)) {
-				doSortByAfterAnnotation(classes, tosort, sorted, processing, after);
-			}
+			doSortByAfterAnnotation(requestedAfter, sorted, processing, after);
 		}
 		processing.remove(current);
 		sorted.add(current);
@@ -106,11 +113,11 @@ class AutoConfigurationSorter {
 		private final Map<String, AutoConfigurationClass> classes = new HashMap<String, AutoConfigurationClass>();
 
 		public AutoConfigurationClasses(MetadataReaderFactory metadataReaderFactory,
+				AutoConfigurationMetadata autoConfigurationMetadata,
 				Collection<String> classNames) throws IOException {
 			for (String className : classNames) {
-				MetadataReader metadataReader = metadataReaderFactory
-						.getMetadataReader(className);
-				this.classes.put(className, new AutoConfigurationClass(metadataReader));
+				this.classes.put(className, new AutoConfigurationClass(className,
+						metadataReaderFactory, autoConfigurationMetadata));
 			}
 		}
 
@@ -118,45 +125,101 @@ class AutoConfigurationSorter {
 			return this.classes.get(className);
 		}
 
-		public Set<String> getClassesRequestedAfter(String className) {
-			Set<String> rtn = new LinkedHashSet<String>();
-			rtn.addAll(get(className).getAfter());
-			for (Map.Entry<String, AutoConfigurationClass> entry : this.classes
-					.entrySet()) {
-				if (entry.getValue().getBefore().contains(className)) {
-					rtn.add(entry.getKey());
+		/**
+		 * Build the graph of classes that must be sorted before each of the given
+		 * classes, considering both {@link AutoConfigureAfter} and
+		 * {@link AutoConfigureBefore}. Only classes being sorted are included and the
+		 * iteration order of each set follows the given class names.
+		 * @param classNames the class names being sorted
+		 * @return a map of class name to the classes that should precede it
+		 */
+		public Map<String, Set<String>> getClassesRequestedAfter(List<String> classNames) {
+			Map<String, Set<String>> requestedAfter = new HashMap<String, Set<String>>(
+					classNames.size() * 2);
+			for (String className : classNames) {
+				requestedAfter.put(className, new LinkedHashSet<String>());
+			}
+			for (String className : classNames) {
+				for (String after : get(className).getAfter()) {
+					if (requestedAfter.containsKey(after)) {
+						requestedAfter.get(className).add(after);
+					}
 				}
 			}
-			return rtn;
+			for (String className : classNames) {
+				for (String before : get(className).getBefore()) {
+					Set<String> target = requestedAfter.get(before);
+					if (target != null) {
+						target.add(className);
+					}
+				}
+			}
+			return requestedAfter;
 		}
+
 	}
 
 	private static class AutoConfigurationClass {
 
-		private final AnnotationMetadata metadata;
+		private final String className;
+
+		private final MetadataReaderFactory metadataReaderFactory;
+
+		private final AutoConfigurationMetadata autoConfigurationMetadata;
 
-		public AutoConfigurationClass(MetadataReader metadataReader) {
-			this.metadata = metadataReader.getAnnotationMetadata();
+		private AnnotationMetadata annotationMetadata;
+
+		private Set<String> before;
+
+		private Set<String> after;
+
+		public AutoConfigurationClass(String className,
+				MetadataReaderFactory metadataReaderFactory,
+				AutoConfigurationMetadata autoConfigurationMetadata) {
+			this.className = className;
+			this.metadataReaderFactory = metadataReaderFactory;
+			this.autoConfigurationMetadata = autoConfigurationMetadata;
 		}
 
 		public int getOrder() {
-			Map<String, Object> orderedAnnotation = this.metadata
+			if (wasProcessed()) {
+				return this.autoConfigurationMetadata.getInteger(this.className,
+						"AutoConfigureOrder", Ordered.LOWEST_PRECEDENCE);
+			}
+			Map<String, Object> orderedAnnotation = getAnnotationMetadata()
 					.getAnnotationAttributes(AutoConfigureOrder.class.getName());
 			return (orderedAnnotation == null ? Ordered.LOWEST_PRECEDENCE
 					: (Integer) orderedAnnotation.get("value"));
 		}
 
 		public Set<String> getBefore() {
-			return getAnnotationValue(AutoConfigureBefore.class);
+			if (this.before == null) {
+				this.before = (wasProcessed() ? this.autoConfigurationMetadata.getSet(
+						this.className, "AutoConfigureBefore",
+						Collections.<String> emptySet())
+						: getAnnotationValue(AutoConfigureBefore.class));
+			}
+			return this.before;
 		}
 
 		public Set<String> getAfter() {
-			return getAnnotationValue(AutoConfigureAfter.class);
+			if (this.after == null) {
+				this.after = (wasProcessed() ? this.autoConfigurationMetadata.getSet(
+						this.className, "AutoConfigureAfter",
+						Collections.<String> emptySet())
+						: getAnnotationValue(AutoConfigureAfter.class));
+			}
+			return this.after;
+		}
+
+		private boolean wasProcessed() {
+			return (this.autoConfigurationMetadata != null && this.autoConfigurationMetadata
+					.wasProcessed(this.className));
 		}
 
 		private Set<String> getAnnotationValue(Class<?> annotation) {
-			Map<String, Object> attributes = this.metadata.getAnnotationAttributes(
-					annotation.getName(), true);
+			Map<String, Object> attributes = getAnnotationMetadata()
+					.getAnnotationAttributes(annotation.getName(), true);
 			if (attributes == null) {
 				return Collections.emptySet();
 			}
@@ -166,6 +229,21 @@ class AutoConfigurationSorter {
 			return value;
 		}
 
+		private AnnotationMetadata getAnnotationMetadata() {
+			if (this.annotationMetadata == null) {
+				try {
+					MetadataReader metadataReader = this.metadataReaderFactory
+							.getMetadataReader(this.className);
+					this.annotationMetadata = metadataReader.getAnnotationMetadata();
+				}
+				catch (IOException ex) {
+					throw new IllegalStateException("Unable to read meta-data for class "
+							+ this.className, ex);
+				}
+			}
+			return this.annotationMetadata;
+		}
+
 	}
 
 }
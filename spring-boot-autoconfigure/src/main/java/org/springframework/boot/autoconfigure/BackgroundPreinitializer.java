@@ -0,0 +1,283 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure;
+
+import java.sql.Connection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.bind.RelaxedPropertyResolver;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.event.ApplicationFailedEvent;
+import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.SpringApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link ApplicationListener} that, when {@code spring.main.background-initialization}
+ * is {@code true}, performs expensive infrastructure initialization on a small bootstrap
+ * executor so that it overlaps with the rest of application context startup.
+ * <p>
+ * Two kinds of work are offloaded:
+ * <ul>
+ * <li>Loading and statically initializing heavyweight infrastructure libraries (JPA
+ * providers, connection pools, Jackson, Bean Validation, NoSQL drivers and database
+ * migration tools). Any thread that later needs one of these classes simply waits for
+ * the JVM class initialization lock rather than repeating the work.</li>
+ * <li>Warming {@link DataSource} connection pools as soon as the bean has been created.
+ * Dependents such as the {@code EntityManagerFactory}, Flyway or Liquibase block on the
+ * pool until the first connections are available.</li>
+ * </ul>
+ * Beans themselves are still created by the bean factory on the calling thread; singleton
+ * creation holds a registry wide lock so creating them concurrently would not help.
+ *
+ * @author Agent
+ * @since 1.3.0
+ */
+public class BackgroundPreinitializer
+		implements ApplicationListener<SpringApplicationEvent>, Ordered {
+
+	private static final String[] PREINITIALIZED_CLASSES = {
+			"org.hibernate.jpa.HibernatePersistenceProvider",
+			"org.hibernate.cfg.Configuration",
+			"org.hibernate.validator.HibernateValidator",
+			"org.apache.tomcat.jdbc.pool.DataSource",
+			"com.zaxxer.hikari.HikariDataSource",
+			"org.apache.commons.dbcp.BasicDataSource",
+			"org.apache.commons.dbcp2.BasicDataSource",
+			"com.fasterxml.jackson.databind.ObjectMapper",
+			"com.mongodb.MongoClient",
+			"org.elasticsearch.node.NodeBuilder",
+			"org.flywaydb.core.Flyway",
+			"liquibase.integration.spring.SpringLiquibase" };
+
+	private static final String OBJECT_MAPPER = "com.fasterxml.jackson.databind.ObjectMapper";
+
+	private static final String VALIDATION = "javax.validation.Validation";
+
+	private static final int MAX_THREADS = 4;
+
+	private static final Log logger = LogFactory.getLog(BackgroundPreinitializer.class);
+
+	private volatile ExecutorService executor;
+
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE + 20;
+	}
+
+	@Override
+	public void onApplicationEvent(SpringApplicationEvent event) {
+		if (event instanceof ApplicationEnvironmentPreparedEvent) {
+			onApplicationEnvironmentPreparedEvent(
+					(ApplicationEnvironmentPreparedEvent) event);
+		}
+		else if (event instanceof ApplicationPreparedEvent) {
+			onApplicationPreparedEvent((ApplicationPreparedEvent) event);
+		}
+		else if (event instanceof ApplicationReadyEvent
+				|| event instanceof ApplicationFailedEvent) {
+			shutdown();
+		}
+	}
+
+	private void onApplicationEnvironmentPreparedEvent(
+			ApplicationEnvironmentPreparedEvent event) {
+		RelaxedPropertyResolver resolver = new RelaxedPropertyResolver(
+				event.getEnvironment(), "spring.main.");
+		if (!resolver.getProperty("background-initialization", Boolean.class, false)) {
+			return;
+		}
+		ClassLoader classLoader = event.getSpringApplication().getClassLoader();
+		this.executor = createExecutor();
+		for (String className : PREINITIALIZED_CLASSES) {
+			submit(new ClassPreinitializer(className, classLoader));
+		}
+		submit(new ObjectMapperPreinitializer(classLoader));
+		submit(new ValidationPreinitializer(classLoader));
+	}
+
+	private void onApplicationPreparedEvent(ApplicationPreparedEvent event) {
+		if (this.executor != null) {
+			event.getApplicationContext().getBeanFactory()
+					.addBeanPostProcessor(new DataSourceWarmingPostProcessor());
+		}
+	}
+
+	private ExecutorService createExecutor() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				"background-preinit-");
+		threadFactory.setDaemon(true);
+		int threads = Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors());
+		return Executors.newFixedThreadPool(Math.max(threads, 1), threadFactory);
+	}
+
+	private void submit(Runnable task) {
+		ExecutorService executor = this.executor;
+		if (executor != null && !executor.isShutdown()) {
+			executor.execute(task);
+		}
+	}
+
+	private void shutdown() {
+		ExecutorService executor = this.executor;
+		this.executor = null;
+		if (executor != null) {
+			// Let tasks that are already queued finish, they are all short lived
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Base class for background tasks. Failures are never propagated, the same work will
+	 * simply be repeated (and reported) on the main thread if it is actually needed.
+	 */
+	private static abstract class PreinitializationTask implements Runnable {
+
+		@Override
+		public final void run() {
+			try {
+				preinitialize();
+			}
+			catch (Throwable ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Background preinitialization failed", ex);
+				}
+			}
+		}
+
+		protected abstract void preinitialize() throws Exception;
+
+	}
+
+	/**
+	 * Loads and initializes a single class if it is present.
+	 */
+	private static class ClassPreinitializer extends PreinitializationTask {
+
+		private final String className;
+
+		private final ClassLoader classLoader;
+
+		ClassPreinitializer(String className, ClassLoader classLoader) {
+			this.className = className;
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		protected void preinitialize() throws Exception {
+			if (ClassUtils.isPresent(this.className, this.classLoader)) {
+				Class.forName(this.className, true, this.classLoader);
+			}
+		}
+
+	}
+
+	/**
+	 * Creates a throwaway Jackson {@code ObjectMapper} to warm its internal caches.
+	 */
+	private static class ObjectMapperPreinitializer extends PreinitializationTask {
+
+		private final ClassLoader classLoader;
+
+		ObjectMapperPreinitializer(ClassLoader classLoader) {
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		protected void preinitialize() throws Exception {
+			if (ClassUtils.isPresent(OBJECT_MAPPER, this.classLoader)) {
+				ClassUtils.forName(OBJECT_MAPPER, this.classLoader).newInstance();
+			}
+		}
+
+	}
+
+	/**
+	 * Bootstraps the default Bean Validation provider, typically the slowest part of
+	 * creating a {@code LocalValidatorFactoryBean}.
+	 */
+	private static class ValidationPreinitializer extends PreinitializationTask {
+
+		private final ClassLoader classLoader;
+
+		ValidationPreinitializer(ClassLoader classLoader) {
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		protected void preinitialize() throws Exception {
+			if (ClassUtils.isPresent(VALIDATION, this.classLoader)) {
+				Class<?> validation = ClassUtils.forName(VALIDATION, this.classLoader);
+				ReflectionUtils.invokeMethod(ReflectionUtils.findMethod(validation,
+						"buildDefaultValidatorFactory"), null);
+			}
+		}
+
+	}
+
+	/**
+	 * Opens (and immediately returns) a connection as soon as a {@link DataSource} bean
+	 * has been initialized so that the pool fills while other beans are being created.
+	 */
+	private class DataSourceWarmingPostProcessor implements BeanPostProcessor {
+
+		@Override
+		public Object postProcessBeforeInitialization(Object bean, String beanName)
+				throws BeansException {
+			return bean;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName)
+				throws BeansException {
+			if (bean instanceof DataSource) {
+				submit(new DataSourcePreinitializer((DataSource) bean));
+			}
+			return bean;
+		}
+
+	}
+
+	private static class DataSourcePreinitializer extends PreinitializationTask {
+
+		private final DataSource dataSource;
+
+		DataSourcePreinitializer(DataSource dataSource) {
+			this.dataSource = dataSource;
+		}
+
+		@Override
+		protected void preinitialize() throws Exception {
+			Connection connection = this.dataSource.getConnection();
+			connection.close();
+		}
+
+	}
+
+}
@@ -22,21 +22,29 @@ import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.List;
 
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.Aware;
 import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.SpringFactoriesCache;
 import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport;
+import org.springframework.boot.context.startup.StartupTimeline;
+import org.springframework.boot.context.startup.StartupTimeline.Step;
+import org.springframework.context.EnvironmentAware;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.annotation.DeferredImportSelector;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 import org.springframework.core.io.ResourceLoader;
-import org.springframework.core.io.support.SpringFactoriesLoader;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 
 /**
  * {@link DeferredImportSelector} to handle {@link EnableAutoConfiguration
@@ -48,7 +56,7 @@ import org.springframework.util.Assert;
  */
 @Order(Ordered.LOWEST_PRECEDENCE)
 class EnableAutoConfigurationImportSelector implements DeferredImportSelector,
-		BeanClassLoaderAware, ResourceLoaderAware, BeanFactoryAware {
+		BeanClassLoaderAware, ResourceLoaderAware, BeanFactoryAware, EnvironmentAware {
 
 	private ConfigurableListableBeanFactory beanFactory;
 
@@ -56,8 +64,11 @@ class EnableAutoConfigurationImportSelector implements DeferredImportSelector,
 
 	private ResourceLoader resourceLoader;
 
+	private Environment environment;
+
 	@Override
 	public String[] selectImports(AnnotationMetadata metadata) {
+		Step step = StartupTimeline.start("autoconfigure.select-imports");
 		try {
 			AnnotationAttributes attributes = AnnotationAttributes.fromMap(metadata
 					.getAnnotationAttributes(EnableAutoConfiguration.class.getName(),
@@ -69,7 +80,7 @@ class EnableAutoConfigurationImportSelector implements DeferredImportSelector,
 
 			// Find all possible auto configuration classes, filtering duplicates
 			List<String> factories = new ArrayList<String>(new LinkedHashSet<String>(
-					SpringFactoriesLoader.loadFactoryNames(EnableAutoConfiguration.class,
+					SpringFactoriesCache.loadFactoryNames(EnableAutoConfiguration.class,
 							this.beanClassLoader)));
 
 			// Remove those specifically disabled
@@ -77,15 +88,95 @@ class EnableAutoConfigurationImportSelector implements DeferredImportSelector,
 			factories.removeAll(excluded);
 			ConditionEvaluationReport.get(this.beanFactory).recordExclusions(excluded);
 
+			// Remove those that can be ruled out from the pre-computed meta-data
+			AutoConfigurationMetadata autoConfigurationMetadata = AutoConfigurationMetadataLoader
+					.loadMetadata(this.beanClassLoader);
+			factories = filter(factories, autoConfigurationMetadata);
+
 			// Sort
-			factories = new AutoConfigurationSorter(this.resourceLoader)
-					.getInPriorityOrder(factories);
+			factories = new AutoConfigurationSorter(this.resourceLoader,
+					autoConfigurationMetadata).getInPriorityOrder(factories);
 
+			step.tag("imports", factories.size());
 			return factories.toArray(new String[factories.size()]);
 		}
 		catch (IOException ex) {
 			throw new IllegalStateException(ex);
 		}
+		finally {
+			step.end();
+		}
+	}
+
+	private List<String> filter(List<String> configurations,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		String[] candidates = configurations.toArray(new String[configurations.size()]);
+		boolean[] skip = new boolean[candidates.length];
+		boolean skipped = false;
+		for (AutoConfigurationImportFilter filter : getAutoConfigurationImportFilters()) {
+			invokeAwareMethods(filter);
+			boolean[] match = filter.match(candidates, autoConfigurationMetadata);
+			for (int i = 0; i < match.length; i++) {
+				if (!match[i]) {
+					skip[i] = true;
+					skipped = true;
+				}
+			}
+		}
+		if (!skipped) {
+			return configurations;
+		}
+		List<String> result = new ArrayList<String>(candidates.length);
+		for (int i = 0; i < candidates.length; i++) {
+			if (!skip[i]) {
+				result.add(candidates[i]);
+			}
+		}
+		return result;
+	}
+
+	protected List<AutoConfigurationImportFilter> getAutoConfigurationImportFilters() {
+		List<String> names = SpringFactoriesCache.loadFactoryNames(
+				AutoConfigurationImportFilter.class, this.beanClassLoader);
+		List<AutoConfigurationImportFilter> filters = new ArrayList<AutoConfigurationImportFilter>(
+				names.size());
+		for (String name : names) {
+			try {
+				Class<?> filterClass = ClassUtils.forName(name, this.beanClassLoader);
+				Assert.isAssignable(AutoConfigurationImportFilter.class, filterClass);
+				filters.add((AutoConfigurationImportFilter) BeanUtils
+						.instantiateClass(filterClass));
+			}
+			catch (ClassNotFoundException ex) {
+				throw new IllegalArgumentException(
+						"Unable to instantiate AutoConfigurationImportFilter [" + name
+								+ "]", ex);
+			}
+		}
+		AnnotationAwareOrderComparator.sort(filters);
+		return filters;
+	}
+
+	private void invokeAwareMethods(Object instance) {
+		if (instance instanceof Aware) {
+			if (instance instanceof BeanClassLoaderAware) {
+				((BeanClassLoaderAware) instance).setBeanClassLoader(this.beanClassLoader);
+			}
+			if (instance instanceof BeanFactoryAware) {
+				((BeanFactoryAware) instance).setBeanFactory(this.beanFactory);
+			}
+			if (instance instanceof EnvironmentAware) {
+				((EnvironmentAware) instance).setEnvironment(this.environment);
+			}
+			if (instance instanceof ResourceLoaderAware) {
+				((ResourceLoaderAware) instance).setResourceLoader(this.resourceLoader);
+			}
+		}
+	}
+
+	@Override
+	public void setEnvironment(Environment environment) {
+		this.environment = environment;
 	}
 
 	@Override
@@ -22,6 +22,7 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
@@ -29,7 +30,9 @@ import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration.Cache
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.redis.RedisAutoConfiguration;
+import org.springframework.boot.cache.InstrumentedCacheManager;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
@@ -70,6 +73,12 @@ public class CacheAutoConfiguration {
 		return new CacheManagerValidatorPostProcessor();
 	}
 
+	@Bean
+	@ConditionalOnProperty(prefix = "spring.cache", name = "instrument")
+	public static BeanPostProcessor cacheManagerInstrumentationPostProcessor() {
+		return new CacheManagerInstrumentationPostProcessor();
+	}
+
 	@Bean(name = VALIDATOR_BEAN_NAME)
 	public CacheManagerValidator cacheAutoConfigurationValidator() {
 		return new CacheManagerValidator();
@@ -101,6 +110,33 @@ public class CacheAutoConfiguration {
 		}
 	}
 
+	/**
+	 * {@link BeanPostProcessor} that replaces the auto-configured {@link CacheManager}
+	 * with a {@link InstrumentedCacheManager#createProxy(CacheManager) proxy} that keeps
+	 * its type and instruments its caches.
+	 */
+	static class CacheManagerInstrumentationPostProcessor implements BeanPostProcessor {
+
+		@Override
+		public Object postProcessBeforeInitialization(Object bean, String beanName)
+				throws BeansException {
+			return bean;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName)
+				throws BeansException {
+			if (bean instanceof CacheManager) {
+				CacheManager cacheManager = (CacheManager) bean;
+				if (InstrumentedCacheManager.getInstrumentedTarget(cacheManager) == null) {
+					return InstrumentedCacheManager.createProxy(cacheManager);
+				}
+			}
+			return bean;
+		}
+
+	}
+
 	/**
 	 * Bean used to validate that a CacheManager exists and provide a more meaningful
 	 * exception.
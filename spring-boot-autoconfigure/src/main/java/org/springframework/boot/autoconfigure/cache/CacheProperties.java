@@ -17,7 +17,9 @@
 package org.springframework.boot.autoconfigure.cache;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.core.io.Resource;
@@ -49,10 +51,20 @@ public class CacheProperties {
 	 */
 	private List<String> cacheNames = new ArrayList<String>();
 
+	/**
+	 * Record hit, miss and latency statistics for every cache of the auto-configured
+	 * cache manager.
+	 */
+	private boolean instrument;
+
 	private final JCache jcache = new JCache();
 
 	private final Guava guava = new Guava();
 
+	private final Simple simple = new Simple();
+
+	private final Near near = new Near();
+
 	public CacheType getType() {
 		return this.type;
 	}
@@ -77,6 +89,14 @@ public class CacheProperties {
 		this.cacheNames = cacheNames;
 	}
 
+	public boolean isInstrument() {
+		return this.instrument;
+	}
+
+	public void setInstrument(boolean instrument) {
+		this.instrument = instrument;
+	}
+
 	public JCache getJcache() {
 		return this.jcache;
 	}
@@ -85,6 +105,14 @@ public class CacheProperties {
 		return this.guava;
 	}
 
+	public Simple getSimple() {
+		return this.simple;
+	}
+
+	public Near getNear() {
+		return this.near;
+	}
+
 	/**
 	 * Resolve the config location if set.
 	 * @return the location or {@code null} if it is not set
@@ -143,4 +171,133 @@ public class CacheProperties {
 
 	}
 
+	/**
+	 * Simple (in-memory) cache specific properties.
+	 */
+	public static class Simple {
+
+		/**
+		 * Maximum number of entries of each cache. Least recently used entries are
+		 * evicted first.
+		 */
+		private long maximumSize = 10000;
+
+		/**
+		 * Time to live of cache entries in milliseconds. Entries never expire if not
+		 * set.
+		 */
+		private long timeToLive;
+
+		/**
+		 * Cache specific settings, keyed by cache name.
+		 */
+		private Map<String, CacheSettings> caches = new LinkedHashMap<String, CacheSettings>();
+
+		public long getMaximumSize() {
+			return this.maximumSize;
+		}
+
+		public void setMaximumSize(long maximumSize) {
+			this.maximumSize = maximumSize;
+		}
+
+		public long getTimeToLive() {
+			return this.timeToLive;
+		}
+
+		public void setTimeToLive(long timeToLive) {
+			this.timeToLive = timeToLive;
+		}
+
+		public Map<String, CacheSettings> getCaches() {
+			return this.caches;
+		}
+
+		public void setCaches(Map<String, CacheSettings> caches) {
+			this.caches = caches;
+		}
+
+	}
+
+	/**
+	 * Settings of an individual simple cache. Unset values default to the ones of
+	 * {@link Simple}.
+	 */
+	public static class CacheSettings {
+
+		/**
+		 * Maximum number of entries of the cache.
+		 */
+		private Long maximumSize;
+
+		/**
+		 * Time to live of cache entries in milliseconds.
+		 */
+		private Long timeToLive;
+
+		public Long getMaximumSize() {
+			return this.maximumSize;
+		}
+
+		public void setMaximumSize(Long maximumSize) {
+			this.maximumSize = maximumSize;
+		}
+
+		public Long getTimeToLive() {
+			return this.timeToLive;
+		}
+
+		public void setTimeToLive(Long timeToLive) {
+			this.timeToLive = timeToLive;
+		}
+
+	}
+
+	/**
+	 * Two-level (near) cache specific properties.
+	 */
+	public static class Near {
+
+		/**
+		 * Maximum number of entries of each local cache.
+		 */
+		private long maximumSize = 1000;
+
+		/**
+		 * Time to live of local cache entries in milliseconds.
+		 */
+		private long timeToLive = 60000;
+
+		/**
+		 * Redis channel used to notify other instances that an entry has changed. If not
+		 * set, local entries are only refreshed when they expire.
+		 */
+		private String invalidationChannel;
+
+		public long getMaximumSize() {
+			return this.maximumSize;
+		}
+
+		public void setMaximumSize(long maximumSize) {
+			this.maximumSize = maximumSize;
+		}
+
+		public long getTimeToLive() {
+			return this.timeToLive;
+		}
+
+		public void setTimeToLive(long timeToLive) {
+			this.timeToLive = timeToLive;
+		}
+
+		public String getInvalidationChannel() {
+			return this.invalidationChannel;
+		}
+
+		public void setInvalidationChannel(String invalidationChannel) {
+			this.invalidationChannel = invalidationChannel;
+		}
+
+	}
+
 }
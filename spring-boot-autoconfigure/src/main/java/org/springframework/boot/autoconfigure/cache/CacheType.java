@@ -61,6 +61,11 @@ public enum CacheType {
 	 */
 	SIMPLE(SimpleCacheConfiguration.class),
 
+	/**
+	 * Two-level caching with a local Guava cache in front of Redis. Never auto-detected.
+	 */
+	NEAR(NearCacheConfiguration.class),
+
 	/**
 	 * No caching.
 	 */
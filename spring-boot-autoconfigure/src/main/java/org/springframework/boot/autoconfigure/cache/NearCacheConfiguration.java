@@ -0,0 +1,314 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.cache.BoundedCache;
+import org.springframework.boot.cache.BoundedCacheManager;
+import org.springframework.boot.cache.NearCacheManager;
+import org.springframework.boot.cache.NearCacheManager.InvalidationPublisher;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.guava.GuavaCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Two-level cache configuration with bounded local caches in front of Redis. Local caches
+ * use Guava if it is available and fall back to {@link BoundedCacheManager} otherwise.
+ *
+ * @author Agent
+ * @since 1.3.0
+ */
+@Configuration
+@ConditionalOnBean(RedisTemplate.class)
+@ConditionalOnMissingBean(CacheManager.class)
+@Conditional(CacheCondition.class)
+class NearCacheConfiguration {
+
+	private static final Log logger = LogFactory.getLog(NearCacheConfiguration.class);
+
+	private static final boolean GUAVA_PRESENT = ClassUtils.isPresent(
+			"com.google.common.cache.CacheBuilder", null)
+			&& ClassUtils.isPresent("org.springframework.cache.guava.GuavaCacheManager",
+					null);
+
+	private final String instanceId = UUID.randomUUID().toString();
+
+	@Autowired
+	private CacheProperties cacheProperties;
+
+	@Bean
+	public NearCacheManager cacheManager(RedisTemplate<?, ?> redisTemplate) {
+		NearCacheManager cacheManager = new NearCacheManager(createLocalCacheManager(),
+				createRemoteCacheManager(redisTemplate));
+		String channel = this.cacheProperties.getNear().getInvalidationChannel();
+		if (StringUtils.hasText(channel)) {
+			cacheManager.setInvalidationPublisher(new RedisInvalidationPublisher(
+					redisTemplate, channel, this.instanceId));
+		}
+		return cacheManager;
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "spring.cache.near", name = "invalidation-channel")
+	public RedisMessageListenerContainer nearCacheInvalidationListenerContainer(
+			RedisTemplate<?, ?> redisTemplate, NearCacheManager cacheManager) {
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(redisTemplate.getConnectionFactory());
+		container.addMessageListener(new RedisInvalidationListener(cacheManager,
+				this.instanceId), new ChannelTopic(this.cacheProperties.getNear()
+				.getInvalidationChannel()));
+		return container;
+	}
+
+	private CacheManager createLocalCacheManager() {
+		CacheProperties.Near near = this.cacheProperties.getNear();
+		if (GUAVA_PRESENT) {
+			return GuavaLocalCacheManagerFactory.create(near);
+		}
+		BoundedCacheManager cacheManager = new BoundedCacheManager();
+		cacheManager.setMaximumSize(near.getMaximumSize());
+		cacheManager.setTimeToLive(near.getTimeToLive());
+		return cacheManager;
+	}
+
+	private RedisCacheManager createRemoteCacheManager(RedisTemplate<?, ?> redisTemplate) {
+		RedisCacheManager cacheManager = new RedisCacheManager(redisTemplate);
+		List<String> cacheNames = this.cacheProperties.getCacheNames();
+		if (!cacheNames.isEmpty()) {
+			cacheManager.setCacheNames(cacheNames);
+		}
+		cacheManager.afterPropertiesSet();
+		return cacheManager;
+	}
+
+	/**
+	 * Creates (and inspects) Guava based local caches. Isolated so that Guava is only
+	 * required when it is actually used.
+	 */
+	private static class GuavaLocalCacheManagerFactory {
+
+		public static CacheManager create(CacheProperties.Near near) {
+			GuavaCacheManager cacheManager = new GuavaCacheManager();
+			cacheManager.setCacheBuilder(CacheBuilder.newBuilder()
+					.maximumSize(near.getMaximumSize())
+					.expireAfterWrite(near.getTimeToLive(), TimeUnit.MILLISECONDS));
+			return cacheManager;
+		}
+
+		public static Collection<?> getKeys(Object nativeCache) {
+			if (nativeCache instanceof com.google.common.cache.Cache) {
+				return ((com.google.common.cache.Cache<?, ?>) nativeCache).asMap()
+						.keySet();
+			}
+			return null;
+		}
+
+	}
+
+	/**
+	 * Message sent to other instances when an entry has changed. Messages are plain
+	 * strings holding the origin, the cache name and (unless the whole cache was cleared)
+	 * the string representation of the key, one per line, so that any instance can read
+	 * them regardless of its class path.
+	 */
+	static class Invalidation {
+
+		private static final String SEPARATOR = "\n";
+
+		private final String origin;
+
+		private final String cacheName;
+
+		private final String key;
+
+		Invalidation(String origin, String cacheName, Object key) {
+			this.origin = origin;
+			this.cacheName = cacheName;
+			this.key = (key != null ? key.toString() : null);
+		}
+
+		public String getOrigin() {
+			return this.origin;
+		}
+
+		public String getCacheName() {
+			return this.cacheName;
+		}
+
+		public String getKey() {
+			return this.key;
+		}
+
+		public String toMessage() {
+			return this.origin + SEPARATOR + this.cacheName
+					+ (this.key != null ? SEPARATOR + this.key : "");
+		}
+
+		public static Invalidation fromMessage(String message) {
+			String[] parts = message.split(SEPARATOR, 3);
+			if (parts.length < 2) {
+				return null;
+			}
+			return new Invalidation(parts[0], parts[1], (parts.length > 2 ? parts[2]
+					: null));
+		}
+
+	}
+
+	/**
+	 * {@link InvalidationPublisher} that publishes {@link Invalidation} messages to a
+	 * Redis channel.
+	 */
+	static class RedisInvalidationPublisher implements InvalidationPublisher {
+
+		private final RedisSerializer<String> serializer = new StringRedisSerializer();
+
+		private final RedisTemplate<?, ?> redisTemplate;
+
+		private final byte[] channel;
+
+		private final String instanceId;
+
+		RedisInvalidationPublisher(RedisTemplate<?, ?> redisTemplate, String channel,
+				String instanceId) {
+			this.redisTemplate = redisTemplate;
+			this.channel = this.serializer.serialize(channel);
+			this.instanceId = instanceId;
+		}
+
+		@Override
+		public void publish(String cacheName, Object key) {
+			try {
+				final byte[] message = this.serializer.serialize(new Invalidation(
+						this.instanceId, cacheName, key).toMessage());
+				this.redisTemplate.execute(new RedisCallback<Object>() {
+
+					@Override
+					public Object doInRedis(RedisConnection connection)
+							throws DataAccessException {
+						connection.publish(RedisInvalidationPublisher.this.channel,
+								message);
+						return null;
+					}
+
+				});
+			}
+			catch (Exception ex) {
+				logger.warn("Could not publish invalidation of '" + key + "' in cache '"
+						+ cacheName + "'", ex);
+			}
+		}
+
+	}
+
+	/**
+	 * {@link MessageListener} that evicts local entries when an {@link Invalidation} from
+	 * another instance is received. As only the string representation of the key is
+	 * known, every local entry with a matching key is evicted. Local caches whose keys
+	 * cannot be inspected are cleared.
+	 */
+	static class RedisInvalidationListener implements MessageListener {
+
+		private final RedisSerializer<String> serializer = new StringRedisSerializer();
+
+		private final NearCacheManager cacheManager;
+
+		private final String instanceId;
+
+		RedisInvalidationListener(NearCacheManager cacheManager, String instanceId) {
+			this.cacheManager = cacheManager;
+			this.instanceId = instanceId;
+		}
+
+		@Override
+		public void onMessage(Message message, byte[] pattern) {
+			try {
+				Invalidation invalidation = Invalidation.fromMessage(this.serializer
+						.deserialize(message.getBody()));
+				if (invalidation != null
+						&& !this.instanceId.equals(invalidation.getOrigin())) {
+					evictLocal(invalidation.getCacheName(), invalidation.getKey());
+				}
+			}
+			catch (Exception ex) {
+				logger.warn("Could not process cache invalidation message", ex);
+			}
+		}
+
+		private void evictLocal(String cacheName, String key) {
+			Cache localCache = this.cacheManager.getLocalCacheManager().getCache(
+					cacheName);
+			Collection<?> keys = (key != null && localCache != null ? getKeys(localCache)
+					: null);
+			if (keys == null) {
+				this.cacheManager.evictLocal(cacheName, null);
+				return;
+			}
+			for (Object candidate : new ArrayList<Object>(keys)) {
+				if (key.equals(candidate.toString())) {
+					this.cacheManager.evictLocal(cacheName, candidate);
+				}
+			}
+		}
+
+		private Collection<?> getKeys(Cache cache) {
+			Object nativeCache = cache.getNativeCache();
+			if (nativeCache instanceof BoundedCache) {
+				return ((BoundedCache) nativeCache).keySet();
+			}
+			if (nativeCache instanceof Map) {
+				return ((Map<?, ?>) nativeCache).keySet();
+			}
+			if (GUAVA_PRESENT) {
+				return GuavaLocalCacheManagerFactory.getKeys(nativeCache);
+			}
+			return null;
+		}
+
+	}
+
+}
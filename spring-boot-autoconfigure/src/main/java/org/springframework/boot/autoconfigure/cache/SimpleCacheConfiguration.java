@@ -17,17 +17,19 @@
 package org.springframework.boot.autoconfigure.cache;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.cache.BoundedCacheManager;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 
 /**
- * Simplest cache configuration, usually used as a fallback.
+ * Simplest cache configuration, usually used as a fallback. Caches are bounded so that
+ * they cannot grow indefinitely.
  *
  * @author Stephane Nicoll
  * @since 1.3.0
@@ -41,8 +43,9 @@ class SimpleCacheConfiguration {
 	private CacheProperties cacheProperties;
 
 	@Bean
-	public ConcurrentMapCacheManager cacheManager() {
-		ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+	public BoundedCacheManager cacheManager() {
+		BoundedCacheManager cacheManager = createBoundedCacheManager(this.cacheProperties
+				.getSimple());
 		List<String> cacheNames = this.cacheProperties.getCacheNames();
 		if (!cacheNames.isEmpty()) {
 			cacheManager.setCacheNames(cacheNames);
@@ -50,4 +53,20 @@ class SimpleCacheConfiguration {
 		return cacheManager;
 	}
 
+	static BoundedCacheManager createBoundedCacheManager(CacheProperties.Simple simple) {
+		BoundedCacheManager cacheManager = new BoundedCacheManager();
+		cacheManager.setMaximumSize(simple.getMaximumSize());
+		cacheManager.setTimeToLive(simple.getTimeToLive());
+		for (Map.Entry<String, CacheProperties.CacheSettings> entry : simple.getCaches()
+				.entrySet()) {
+			CacheProperties.CacheSettings settings = entry.getValue();
+			cacheManager.setCacheSettings(entry.getKey(),
+					(settings.getMaximumSize() != null ? settings.getMaximumSize()
+							: simple.getMaximumSize()),
+					(settings.getTimeToLive() != null ? settings.getTimeToLive()
+							: simple.getTimeToLive()));
+		}
+		return cacheManager;
+	}
+
 }
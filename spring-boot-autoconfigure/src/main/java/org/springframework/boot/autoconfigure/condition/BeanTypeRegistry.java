@@ -217,6 +217,10 @@ abstract class BeanTypeRegistry {
 
 		private final Map<String, Class<?>> beanTypes = new HashMap<String, Class<?>>();
 
+		private final Map<Class<?>, Set<String>> namesByAssignableType = new HashMap<Class<?>, Set<String>>();
+
+		private final Map<String, Class<?>> unindexedBeanTypes = new HashMap<String, Class<?>>();
+
 		private int lastBeanDefinitionCount = 0;
 
 		public OptimizedBeanTypeRegistry(DefaultListableBeanFactory beanFactory) {
@@ -227,6 +231,8 @@ abstract class BeanTypeRegistry {
 		public void afterSingletonsInstantiated() {
 			// We're done at this point, free up some memory
 			this.beanTypes.clear();
+			this.namesByAssignableType.clear();
+			this.unindexedBeanTypes.clear();
 			this.lastBeanDefinitionCount = 0;
 		}
 
@@ -243,8 +249,12 @@ abstract class BeanTypeRegistry {
 				this.lastBeanDefinitionCount = this.beanFactory.getBeanDefinitionCount();
 			}
 			Set<String> matches = new LinkedHashSet<String>();
-			for (Map.Entry<String, Class<?>> entry : this.beanTypes.entrySet()) {
-				if (entry.getValue() != null && type.isAssignableFrom(entry.getValue())) {
+			Set<String> indexed = this.namesByAssignableType.get(type);
+			if (indexed != null) {
+				matches.addAll(indexed);
+			}
+			for (Map.Entry<String, Class<?>> entry : this.unindexedBeanTypes.entrySet()) {
+				if (type.isAssignableFrom(entry.getValue())) {
 					matches.add(entry.getKey());
 				}
 			}
@@ -253,7 +263,7 @@ abstract class BeanTypeRegistry {
 
 		private void addBeanType(String name) {
 			if (this.beanFactory.containsSingleton(name)) {
-				this.beanTypes.put(name, this.beanFactory.getType(name));
+				addBeanType(name, this.beanFactory.getType(name));
 			}
 			else if (!this.beanFactory.isAlias(name)) {
 				addBeanTypeForNonAliasDefinition(name);
@@ -270,12 +280,11 @@ abstract class BeanTypeRegistry {
 					if (this.beanFactory.isFactoryBean(factoryName)) {
 						Class<?> factoryBeanGeneric = getFactoryBeanGeneric(
 								this.beanFactory, beanDefinition, name);
-						this.beanTypes.put(name, factoryBeanGeneric);
-						this.beanTypes.put(factoryName,
-								this.beanFactory.getType(factoryName));
+						addBeanType(name, factoryBeanGeneric);
+						addBeanType(factoryName, this.beanFactory.getType(factoryName));
 					}
 					else {
-						this.beanTypes.put(name, this.beanFactory.getType(name));
+						addBeanType(name, this.beanFactory.getType(name));
 					}
 				}
 			}
@@ -289,6 +298,47 @@ abstract class BeanTypeRegistry {
 			}
 		}
 
+		private void addBeanType(String name, Class<?> type) {
+			this.beanTypes.put(name, type);
+			if (type == null) {
+				return;
+			}
+			if (type.isArray() || type.isPrimitive()) {
+				// Array covariance isn't captured by the type hierarchy
+				this.unindexedBeanTypes.put(name, type);
+				return;
+			}
+			for (Class<?> assignableType : getAssignableTypes(type)) {
+				Set<String> names = this.namesByAssignableType.get(assignableType);
+				if (names == null) {
+					names = new LinkedHashSet<String>();
+					this.namesByAssignableType.put(assignableType, names);
+				}
+				names.add(name);
+			}
+		}
+
+		private Set<Class<?>> getAssignableTypes(Class<?> type) {
+			Set<Class<?>> assignableTypes = new LinkedHashSet<Class<?>>();
+			Class<?> candidate = type;
+			while (candidate != null) {
+				addTypeAndInterfaces(assignableTypes, candidate);
+				candidate = candidate.getSuperclass();
+			}
+			assignableTypes.add(Object.class);
+			return assignableTypes;
+		}
+
+		private void addTypeAndInterfaces(Set<Class<?>> assignableTypes, Class<?> type) {
+			// Unlike ClassUtils.getAllInterfacesForClassAsSet this also walks the
+			// super-interfaces of interfaces
+			if (assignableTypes.add(type)) {
+				for (Class<?> ifc : type.getInterfaces()) {
+					addTypeAndInterfaces(assignableTypes, ifc);
+				}
+			}
+		}
+
 		private void logIgnoredError(String message, String name, Exception ex) {
 			if (BeanTypeRegistry.logger.isDebugEnabled()) {
 				BeanTypeRegistry.logger.debug("Ignoring " + message + " '" + name + "'",
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Records whether classes are present on the class path so that the checks performed
+ * by {@link OnClassCondition} only happen once per class name. Candidate names can be
+ * {@link #resolve(Collection) resolved up front} in parallel. Classes are loaded but
+ * never initialized.
+ *
+ * @author Agent
+ */
+final class ClassPresenceCache {
+
+	private static final String BEAN_NAME = "autoConfigurationClassPresenceCache";
+
+	private static final int PARALLEL_THRESHOLD = 32;
+
+	private static final int THREADS = Math.min(4, Runtime.getRuntime()
+			.availableProcessors());
+
+	private static ExecutorService executor;
+
+	private final ClassLoader classLoader;
+
+	private final ConcurrentMap<String, Boolean> presence = new ConcurrentHashMap<String, Boolean>();
+
+	ClassPresenceCache(ClassLoader classLoader) {
+		this.classLoader = classLoader;
+	}
+
+	/**
+	 * Return if the given class is present, resolving and caching the result if
+	 * necessary.
+	 * @param className the name of the class
+	 * @return {@code true} if the class is present
+	 */
+	public boolean isPresent(String className) {
+		return isPresent(className, getClassLoader());
+	}
+
+	private boolean isPresent(String className, ClassLoader classLoader) {
+		Boolean present = this.presence.get(className);
+		if (present == null) {
+			present = ClassUtils.isPresent(className, classLoader);
+			this.presence.put(className, present);
+		}
+		return present;
+	}
+
+	private ClassLoader getClassLoader() {
+		return (this.classLoader != null ? this.classLoader : ClassUtils
+				.getDefaultClassLoader());
+	}
+
+	/**
+	 * Resolve and cache the presence of all the given class names. Lookups are spread
+	 * over a small pool of threads when there are enough names to make it worthwhile.
+	 * @param classNames the class names to resolve
+	 */
+	public void resolve(Collection<String> classNames) {
+		List<String> unresolved = new ArrayList<String>(classNames.size());
+		for (String className : classNames) {
+			if (!this.presence.containsKey(className)) {
+				unresolved.add(className);
+			}
+		}
+		ClassLoader classLoader = getClassLoader();
+		if (THREADS < 2 || unresolved.size() < PARALLEL_THRESHOLD) {
+			for (String className : unresolved) {
+				isPresent(className, classLoader);
+			}
+			return;
+		}
+		resolveInParallel(unresolved, classLoader);
+	}
+
+	private void resolveInParallel(List<String> classNames,
+			final ClassLoader classLoader) {
+		List<Future<?>> futures = new ArrayList<Future<?>>(THREADS);
+		int batchSize = (classNames.size() + THREADS - 1) / THREADS;
+		try {
+			for (int i = 0; i < classNames.size(); i += batchSize) {
+				final List<String> batch = classNames.subList(i,
+						Math.min(i + batchSize, classNames.size()));
+				futures.add(getExecutor().submit(new Callable<Void>() {
+
+					@Override
+					public Void call() throws Exception {
+						for (String className : batch) {
+							isPresent(className, classLoader);
+						}
+						return null;
+					}
+
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		catch (ExecutionException ex) {
+			// Anything left unresolved will be checked on demand
+		}
+	}
+
+	private static synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			// Shared by all caches, idle threads are released rather than kept alive
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+					"class-presence-");
+			threadFactory.setDaemon(true);
+			ThreadPoolExecutor threadPool = new ThreadPoolExecutor(THREADS, THREADS,
+					1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+					threadFactory);
+			threadPool.allowCoreThreadTimeOut(true);
+			executor = threadPool;
+		}
+		return executor;
+	}
+
+	/**
+	 * Obtain the {@link ClassPresenceCache} for the specified bean factory and class
+	 * loader.
+	 * @param beanFactory the bean factory (may be {@code null})
+	 * @param classLoader the class loader used to check for classes
+	 * @return an existing or new cache
+	 */
+	public static ClassPresenceCache get(ConfigurableListableBeanFactory beanFactory,
+			ClassLoader classLoader) {
+		if (beanFactory == null) {
+			return new ClassPresenceCache(classLoader);
+		}
+		synchronized (beanFactory) {
+			if (beanFactory.containsSingleton(BEAN_NAME)) {
+				ClassPresenceCache cache = beanFactory.getBean(BEAN_NAME,
+						ClassPresenceCache.class);
+				if (cache.classLoader == classLoader) {
+					return cache;
+				}
+				return new ClassPresenceCache(classLoader);
+			}
+			ClassPresenceCache cache = new ClassPresenceCache(classLoader);
+			beanFactory.registerSingleton(BEAN_NAME, cache);
+			return cache;
+		}
+	}
+
+}
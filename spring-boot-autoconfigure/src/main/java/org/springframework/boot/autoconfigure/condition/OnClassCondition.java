@@ -16,17 +16,29 @@
 
 package org.springframework.boot.autoconfigure.condition;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.boot.context.startup.StartupTimeline;
+import org.springframework.boot.context.startup.StartupTimeline.Step;
 import org.springframework.context.annotation.Condition;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.type.AnnotatedTypeMetadata;
-import org.springframework.util.ClassUtils;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
 
@@ -38,7 +50,127 @@ import org.springframework.util.StringUtils;
  * @see ConditionalOnMissingClass
  */
 @Order(Ordered.HIGHEST_PRECEDENCE)
-class OnClassCondition extends SpringBootCondition {
+class OnClassCondition extends SpringBootCondition implements
+		AutoConfigurationImportFilter, BeanFactoryAware, BeanClassLoaderAware {
+
+	private BeanFactory beanFactory;
+
+	private ClassLoader beanClassLoader;
+
+	@Override
+	public boolean[] match(String[] autoConfigurationClasses,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		Step step = StartupTimeline.start("autoconfigure.import-filter").tag(
+				"filter", getClass().getName());
+		try {
+			ConditionEvaluationReport report = getConditionEvaluationReport();
+			ClassPresenceCache classPresenceCache = resolveClassPresence(
+					autoConfigurationClasses, autoConfigurationMetadata);
+			boolean[] match = new boolean[autoConfigurationClasses.length];
+			for (int i = 0; i < autoConfigurationClasses.length; i++) {
+				String autoConfigurationClass = autoConfigurationClasses[i];
+				ConditionOutcome outcome = (autoConfigurationClass == null ? null
+						: getOutcome(autoConfigurationClass, autoConfigurationMetadata,
+								classPresenceCache));
+				match[i] = (outcome == null || outcome.isMatch());
+				if (!match[i]) {
+					logOutcome(autoConfigurationClass, outcome);
+					if (report != null) {
+						report.recordConditionEvaluation(autoConfigurationClass, this,
+								outcome);
+					}
+				}
+			}
+			return match;
+		}
+		finally {
+			step.end();
+		}
+	}
+
+	private ClassPresenceCache resolveClassPresence(String[] autoConfigurationClasses,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		Set<String> classNames = new LinkedHashSet<String>();
+		for (String autoConfigurationClass : autoConfigurationClasses) {
+			if (autoConfigurationClass != null) {
+				addAll(classNames, autoConfigurationMetadata.getSet(
+						autoConfigurationClass, "ConditionalOnClass"));
+				addAll(classNames, autoConfigurationMetadata.getSet(
+						autoConfigurationClass, "ConditionalOnMissingClass"));
+			}
+		}
+		ClassPresenceCache classPresenceCache = ClassPresenceCache.get(
+				getConfigurableListableBeanFactory(), this.beanClassLoader);
+		classPresenceCache.resolve(classNames);
+		return classPresenceCache;
+	}
+
+	private void addAll(Set<String> classNames, Set<String> candidates) {
+		if (candidates != null) {
+			classNames.addAll(candidates);
+		}
+	}
+
+	private ConditionEvaluationReport getConditionEvaluationReport() {
+		ConfigurableListableBeanFactory beanFactory = getConfigurableListableBeanFactory();
+		return (beanFactory != null ? ConditionEvaluationReport.get(beanFactory) : null);
+	}
+
+	private ConfigurableListableBeanFactory getConfigurableListableBeanFactory() {
+		if (this.beanFactory instanceof ConfigurableListableBeanFactory) {
+			return (ConfigurableListableBeanFactory) this.beanFactory;
+		}
+		return null;
+	}
+
+	private ConditionOutcome getOutcome(String autoConfigurationClass,
+			AutoConfigurationMetadata autoConfigurationMetadata,
+			ClassPresenceCache classPresenceCache) {
+		Set<String> onClasses = autoConfigurationMetadata.getSet(autoConfigurationClass,
+				"ConditionalOnClass");
+		if (onClasses != null) {
+			List<String> missing = getMatchingClasses(onClasses, MatchType.MISSING,
+					classPresenceCache);
+			if (!missing.isEmpty()) {
+				return ConditionOutcome
+						.noMatch("required @ConditionalOnClass classes not found: "
+								+ StringUtils.collectionToCommaDelimitedString(missing));
+			}
+		}
+		Set<String> onMissingClasses = autoConfigurationMetadata.getSet(
+				autoConfigurationClass, "ConditionalOnMissingClass");
+		if (onMissingClasses != null) {
+			List<String> present = getMatchingClasses(onMissingClasses,
+					MatchType.PRESENT, classPresenceCache);
+			if (!present.isEmpty()) {
+				return ConditionOutcome
+						.noMatch("required @ConditionalOnMissing classes found: "
+								+ StringUtils.collectionToCommaDelimitedString(present));
+			}
+		}
+		return null;
+	}
+
+	private List<String> getMatchingClasses(Collection<String> candidates,
+			MatchType matchType, ClassPresenceCache classPresenceCache) {
+		List<String> matches = new ArrayList<String>(candidates.size());
+		for (String candidate : candidates) {
+			if (matchType.matches(candidate, classPresenceCache)) {
+				matches.add(candidate);
+			}
+		}
+		return matches;
+	}
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		this.beanFactory = beanFactory;
+	}
+
+	@Override
+	public void setBeanClassLoader(ClassLoader classLoader) {
+		this.beanClassLoader = classLoader;
+	}
 
 	@Override
 	public ConditionOutcome getMatchOutcome(ConditionContext context,
@@ -90,9 +222,11 @@ class OnClassCondition extends SpringBootCondition {
 		List<String> matches = new LinkedList<String>();
 		addAll(matches, attributes.get("value"));
 		addAll(matches, attributes.get("name"));
+		ClassPresenceCache classPresenceCache = ClassPresenceCache.get(
+				context.getBeanFactory(), context.getClassLoader());
 		Iterator<String> iterator = matches.iterator();
 		while (iterator.hasNext()) {
-			if (!matchType.matches(iterator.next(), context)) {
+			if (!matchType.matches(iterator.next(), classPresenceCache)) {
 				iterator.remove();
 			}
 		}
@@ -111,19 +245,20 @@ class OnClassCondition extends SpringBootCondition {
 
 		PRESENT {
 			@Override
-			public boolean matches(String className, ConditionContext context) {
-				return ClassUtils.isPresent(className, context.getClassLoader());
+			public boolean matches(String className, ClassPresenceCache classPresenceCache) {
+				return classPresenceCache.isPresent(className);
 			}
 		},
 
 		MISSING {
 			@Override
-			public boolean matches(String className, ConditionContext context) {
-				return !ClassUtils.isPresent(className, context.getClassLoader());
+			public boolean matches(String className, ClassPresenceCache classPresenceCache) {
+				return !classPresenceCache.isPresent(className);
 			}
 		};
 
-		public abstract boolean matches(String className, ConditionContext context);
+		public abstract boolean matches(String className,
+				ClassPresenceCache classPresenceCache);
 
 	}
 
@@ -18,6 +18,8 @@ package org.springframework.boot.autoconfigure.condition;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.boot.context.startup.StartupTimeline;
+import org.springframework.boot.context.startup.StartupTimeline.Step;
 import org.springframework.context.annotation.Condition;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.core.type.AnnotatedTypeMetadata;
@@ -41,6 +43,8 @@ public abstract class SpringBootCondition implements Condition {
 	@Override
 	public final boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
 		String classOrMethodName = getClassOrMethodName(metadata);
+		Step step = StartupTimeline.start("autoconfigure.condition")
+				.tag("source", classOrMethodName).tag("condition", getClass().getName());
 		try {
 			ConditionOutcome outcome = getMatchOutcome(context, metadata);
 			logOutcome(classOrMethodName, outcome);
@@ -58,6 +62,9 @@ public abstract class SpringBootCondition implements Condition {
 			throw new IllegalStateException("Error processing condition on "
 					+ getName(metadata), ex);
 		}
+		finally {
+			step.end();
+		}
 	}
 
 	private String getName(AnnotatedTypeMetadata metadata) {
@@ -82,7 +89,7 @@ public abstract class SpringBootCondition implements Condition {
 				+ methodMetadata.getMethodName();
 	}
 
-	private void logOutcome(String classOrMethodName, ConditionOutcome outcome) {
+	protected final void logOutcome(String classOrMethodName, ConditionOutcome outcome) {
 		if (this.logger.isTraceEnabled()) {
 			this.logger.trace(getLogMessage(classOrMethodName, outcome));
 		}
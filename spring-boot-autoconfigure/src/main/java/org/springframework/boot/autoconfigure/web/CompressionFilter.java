@@ -0,0 +1,841 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Container neutral filter that gzip compresses responses. Compression is only applied
+ * when the client accepts gzip, the response has one of the configured MIME types and
+ * the response is at least {@link ServerProperties.Compression#getMinResponseSize() the
+ * minimum size}. {@link Deflater} instances are pooled and reused between responses.
+ * <p>
+ * When a {@link ServerProperties.Compression#getParallelThreshold() parallel threshold}
+ * is configured, blocking responses that grow beyond it are split into blocks that are
+ * compressed concurrently and written as a single gzip member. Responses that use
+ * Servlet 3.1 non-blocking output are always compressed serially. Compressed output is
+ * only written when the underlying stream {@link ServletOutputStream#isReady() is
+ * ready}, anything left over is written before the application's {@link WriteListener}
+ * is next notified.
+ * <p>
+ * Output is finished once the last dispatch of a request completes, so the filter must
+ * also be mapped to {@code ASYNC} dispatches. Non-blocking responses that complete
+ * without a further dispatch must {@link ServletOutputStream#close() close} the output
+ * stream.
+ *
+ * @author Agent
+ * @see ServerProperties.Compression
+ */
+class CompressionFilter extends OncePerRequestFilter {
+
+	private static final String WRAPPER_ATTRIBUTE = CompressionFilter.class.getName()
+			+ ".WRAPPER";
+
+	private static final int BLOCK_SIZE = 128 * 1024;
+
+	private static final int DICTIONARY_SIZE = 32 * 1024;
+
+	private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0,
+			0, 0, 0, 0, 0, 0 };
+
+	private final List<MimeType> mimeTypes;
+
+	private final int minResponseSize;
+
+	private final int parallelThreshold;
+
+	private final DeflaterPool deflaterPool;
+
+	private final ExecutorService executor;
+
+	private final int parallelism;
+
+	CompressionFilter(ServerProperties.Compression compression) {
+		this.mimeTypes = new ArrayList<MimeType>();
+		for (String mimeType : compression.getMimeTypes()) {
+			this.mimeTypes.add(MimeType.valueOf(mimeType));
+		}
+		this.minResponseSize = Math.max(compression.getMinResponseSize(), 0);
+		this.parallelThreshold = (compression.getParallelThreshold() == null ? 0
+				: compression.getParallelThreshold());
+		this.deflaterPool = new DeflaterPool(compression.getLevel(),
+				compression.getDeflaterPoolSize());
+		this.parallelism = Runtime.getRuntime().availableProcessors();
+		if (this.parallelThreshold > 0 && this.parallelism > 1) {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+					"compression-");
+			threadFactory.setDaemon(true);
+			this.executor = Executors.newFixedThreadPool(this.parallelism,
+					threadFactory);
+		}
+		else {
+			this.executor = null;
+		}
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request,
+			HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		if (!acceptsCompression(request)) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		CompressingResponseWrapper wrapper = getWrapper(request, response);
+		boolean completed = false;
+		try {
+			filterChain.doFilter(request, wrapper);
+			if (!request.isAsyncStarted()) {
+				wrapper.finish();
+				request.removeAttribute(WRAPPER_ATTRIBUTE);
+			}
+			completed = true;
+		}
+		finally {
+			if (!completed) {
+				wrapper.abort();
+			}
+		}
+	}
+
+	private CompressingResponseWrapper getWrapper(HttpServletRequest request,
+			HttpServletResponse response) {
+		CompressingResponseWrapper wrapper = WebUtils.getNativeResponse(response,
+				CompressingResponseWrapper.class);
+		if (wrapper == null && isAsyncDispatch(request)) {
+			wrapper = (CompressingResponseWrapper) request
+					.getAttribute(WRAPPER_ATTRIBUTE);
+		}
+		if (wrapper == null) {
+			wrapper = new CompressingResponseWrapper(response);
+			request.setAttribute(WRAPPER_ATTRIBUTE, wrapper);
+		}
+		return wrapper;
+	}
+
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		// Output is only finished on the last dispatch
+		return false;
+	}
+
+	private boolean acceptsCompression(HttpServletRequest request) {
+		if ("HEAD".equals(request.getMethod()) || request.getHeader("Range") != null) {
+			return false;
+		}
+		String acceptEncoding = request.getHeader("Accept-Encoding");
+		return (acceptEncoding != null && acceptEncoding.contains("gzip"));
+	}
+
+	private boolean isCompressible(HttpServletResponse response, long contentLength) {
+		if (contentLength >= 0 && contentLength < this.minResponseSize) {
+			return false;
+		}
+		int status = response.getStatus();
+		if (status == HttpServletResponse.SC_NO_CONTENT
+				|| status == HttpServletResponse.SC_NOT_MODIFIED
+				|| response.getHeader("Content-Encoding") != null) {
+			return false;
+		}
+		String contentType = response.getContentType();
+		if (!StringUtils.hasLength(contentType)) {
+			return false;
+		}
+		try {
+			MimeType mimeType = MimeType.valueOf(contentType);
+			for (MimeType candidate : this.mimeTypes) {
+				if (candidate.includes(mimeType)) {
+					return true;
+				}
+			}
+		}
+		catch (InvalidMimeTypeException ex) {
+			// Not compressible
+		}
+		return false;
+	}
+
+	@Override
+	public void destroy() {
+		if (this.executor != null) {
+			this.executor.shutdownNow();
+		}
+		this.deflaterPool.destroy();
+	}
+
+	/**
+	 * {@link HttpServletResponseWrapper} that routes output through a
+	 * {@link CompressingOutputStream} and holds back the {@code Content-Length} until it
+	 * is known if the response will be compressed.
+	 */
+	private class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+		private CompressingOutputStream outputStream;
+
+		private PrintWriter writer;
+
+		private long contentLength = -1;
+
+		CompressingResponseWrapper(HttpServletResponse response) {
+			super(response);
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			if (this.writer != null) {
+				throw new IllegalStateException("getWriter() has already been called");
+			}
+			return getCompressingOutputStream();
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			if (this.writer == null) {
+				if (this.outputStream != null) {
+					throw new IllegalStateException(
+							"getOutputStream() has already been called");
+				}
+				this.writer = new PrintWriter(new OutputStreamWriter(
+						getCompressingOutputStream(), getCharacterEncoding()));
+			}
+			return this.writer;
+		}
+
+		private CompressingOutputStream getCompressingOutputStream() throws IOException {
+			if (this.outputStream == null) {
+				this.outputStream = new CompressingOutputStream(this,
+						getResponse().getOutputStream());
+			}
+			return this.outputStream;
+		}
+
+		@Override
+		public void setContentLength(int len) {
+			setContentLengthLong(len);
+		}
+
+		@Override
+		public void setContentLengthLong(long len) {
+			if (this.outputStream != null && this.outputStream.isUncompressed()) {
+				setContentLengthHeader(len);
+			}
+			else if (this.outputStream == null || !this.outputStream.isCompressed()) {
+				this.contentLength = len;
+			}
+		}
+
+		@Override
+		public void setHeader(String name, String value) {
+			if ("Content-Length".equalsIgnoreCase(name)) {
+				setContentLengthLong(Long.parseLong(value));
+			}
+			else {
+				super.setHeader(name, value);
+			}
+		}
+
+		@Override
+		public void addHeader(String name, String value) {
+			if ("Content-Length".equalsIgnoreCase(name)) {
+				setContentLengthLong(Long.parseLong(value));
+			}
+			else {
+				super.addHeader(name, value);
+			}
+		}
+
+		@Override
+		public void setIntHeader(String name, int value) {
+			if ("Content-Length".equalsIgnoreCase(name)) {
+				setContentLengthLong(value);
+			}
+			else {
+				super.setIntHeader(name, value);
+			}
+		}
+
+		@Override
+		public void addIntHeader(String name, int value) {
+			if ("Content-Length".equalsIgnoreCase(name)) {
+				setContentLengthLong(value);
+			}
+			else {
+				super.addIntHeader(name, value);
+			}
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			if (this.writer != null) {
+				this.writer.flush();
+			}
+			else if (this.outputStream != null) {
+				this.outputStream.flush();
+			}
+			super.flushBuffer();
+		}
+
+		@Override
+		public void resetBuffer() {
+			super.resetBuffer();
+			if (this.outputStream != null) {
+				// The Content-Encoding header is kept so a started gzip stream restarts
+				this.outputStream.reset(this.writer, false);
+			}
+		}
+
+		@Override
+		public void reset() {
+			super.reset();
+			if (this.outputStream != null) {
+				this.outputStream.reset(this.writer, true);
+			}
+			this.contentLength = -1;
+		}
+
+		void setContentLengthHeader(long len) {
+			// Use a header rather than setContentLengthLong to support Servlet 3.0
+			super.setHeader("Content-Length", Long.toString(len));
+		}
+
+		long getContentLength() {
+			return this.contentLength;
+		}
+
+		void finish() throws IOException {
+			if (this.writer != null) {
+				this.writer.flush();
+			}
+			if (this.outputStream != null) {
+				this.outputStream.finish();
+			}
+			else if (this.contentLength >= 0) {
+				setContentLengthHeader(this.contentLength);
+			}
+		}
+
+		void release() {
+			if (this.outputStream != null) {
+				this.outputStream.release();
+			}
+		}
+
+		/**
+		 * Called when the chain fails. If the response is still uncommitted the
+		 * container will send an error instead, which must not be labelled as gzip.
+		 */
+		void abort() {
+			release();
+			HttpServletResponse response = (HttpServletResponse) getResponse();
+			if (this.outputStream == null || !this.outputStream.isCompressed()
+					|| response.isCommitted()) {
+				return;
+			}
+			response.resetBuffer();
+			try {
+				response.setHeader("Content-Encoding", null);
+			}
+			catch (IllegalArgumentException ex) {
+				// Null header values are rejected
+			}
+			if (response.getHeader("Content-Encoding") != null) {
+				// Not all containers remove a header that is set to null
+				int status = response.getStatus();
+				response.reset();
+				response.setStatus(status);
+			}
+		}
+
+	}
+
+	/**
+	 * {@link ServletOutputStream} that buffers output until it is known if the response
+	 * should be compressed and then writes either the raw bytes or a gzip stream to the
+	 * underlying response.
+	 */
+	private class CompressingOutputStream extends ServletOutputStream {
+
+		private final CompressingResponseWrapper response;
+
+		private final ServletOutputStream delegate;
+
+		private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		private final byte[] deflateBuffer = new byte[8192];
+
+		private final CRC32 crc = new CRC32();
+
+		private Boolean compress;
+
+		private boolean nonBlocking;
+
+		private boolean finished;
+
+		private boolean discarding;
+
+		private long inputSize;
+
+		private Deflater deflater;
+
+		private byte[] block;
+
+		private int blockSize;
+
+		private byte[] dictionary;
+
+		private final LinkedList<Future<byte[]>> pendingBlocks = new LinkedList<Future<byte[]>>();
+
+		CompressingOutputStream(CompressingResponseWrapper response,
+				ServletOutputStream delegate) {
+			this.response = response;
+			this.delegate = delegate;
+		}
+
+		boolean isCompressed() {
+			return Boolean.TRUE.equals(this.compress);
+		}
+
+		boolean isUncompressed() {
+			return Boolean.FALSE.equals(this.compress);
+		}
+
+		@Override
+		public boolean isReady() {
+			if (!this.delegate.isReady()) {
+				return false;
+			}
+			if (hasPendingOutput()) {
+				try {
+					writeOutput();
+				}
+				catch (IOException ex) {
+					return false;
+				}
+				return (!hasPendingOutput() && this.delegate.isReady());
+			}
+			return true;
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+			this.nonBlocking = true;
+			this.delegate.setWriteListener(new PendingOutputWriteListener(this,
+					writeListener));
+		}
+
+		private boolean hasPendingOutput() {
+			return (this.compress != null && this.output.size() > 0);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			if (this.discarding) {
+				return;
+			}
+			if (this.finished) {
+				throw new IOException("Stream has been closed");
+			}
+			if (this.compress == null) {
+				long contentLength = this.response.getContentLength();
+				long size = this.output.size() + len;
+				if (contentLength < 0 && size < CompressionFilter.this.minResponseSize) {
+					this.output.write(b, off, len);
+					return;
+				}
+				decideAndWriteBuffered(contentLength >= 0 ? contentLength : size);
+			}
+			if (isUncompressed() && this.output.size() == 0) {
+				this.delegate.write(b, off, len);
+				return;
+			}
+			writeContent(b, off, len);
+			writeOutput();
+		}
+
+		private void decideAndWriteBuffered(long sizeHint) throws IOException {
+			byte[] buffered = this.output.toByteArray();
+			this.output.reset();
+			decide(sizeHint >= 0 ? sizeHint : buffered.length);
+			writeContent(buffered, 0, buffered.length);
+		}
+
+		private void decide(long sizeHint) throws IOException {
+			HttpServletResponse response = (HttpServletResponse) this.response
+					.getResponse();
+			this.compress = (sizeHint != 0 && !response.isCommitted() && isCompressible(
+					this.response, sizeHint));
+			if (!this.compress) {
+				long contentLength = this.response.getContentLength();
+				if (contentLength >= 0) {
+					this.response.setContentLengthHeader(contentLength);
+				}
+				return;
+			}
+			response.setHeader("Content-Encoding", "gzip");
+			response.addHeader("Vary", "Accept-Encoding");
+			this.output.write(GZIP_HEADER);
+			this.deflater = CompressionFilter.this.deflaterPool.acquire();
+		}
+
+		private void writeContent(byte[] b, int off, int len) throws IOException {
+			if (!this.compress) {
+				this.output.write(b, off, len);
+				return;
+			}
+			this.crc.update(b, off, len);
+			this.inputSize += len;
+			if (this.block != null) {
+				writeBlocks(b, off, len);
+				return;
+			}
+			this.deflater.setInput(b, off, len);
+			while (!this.deflater.needsInput()) {
+				deflate(Deflater.NO_FLUSH);
+			}
+			if (isParallelCandidate()) {
+				deflate(Deflater.SYNC_FLUSH);
+				CompressionFilter.this.deflaterPool.release(this.deflater);
+				this.deflater = null;
+				this.block = new byte[BLOCK_SIZE];
+			}
+		}
+
+		private boolean isParallelCandidate() {
+			return (CompressionFilter.this.executor != null && !this.nonBlocking
+					&& this.inputSize >= CompressionFilter.this.parallelThreshold);
+		}
+
+		private void deflate(int flush) {
+			int count;
+			do {
+				count = this.deflater.deflate(this.deflateBuffer, 0,
+						this.deflateBuffer.length, flush);
+				this.output.write(this.deflateBuffer, 0, count);
+			}
+			while (count == this.deflateBuffer.length);
+		}
+
+		private void writeBlocks(byte[] b, int off, int len) throws IOException {
+			while (len > 0) {
+				int count = Math.min(len, this.block.length - this.blockSize);
+				System.arraycopy(b, off, this.block, this.blockSize, count);
+				this.blockSize += count;
+				off += count;
+				len -= count;
+				if (this.blockSize == this.block.length) {
+					submitBlock(false);
+				}
+			}
+		}
+
+		private void submitBlock(boolean last) throws IOException {
+			byte[] data = this.block;
+			int size = this.blockSize;
+			byte[] dictionary = this.dictionary;
+			this.pendingBlocks.add(CompressionFilter.this.executor
+					.submit(new BlockCompressor(data, size, dictionary, last)));
+			// The dictionary must be the bytes immediately before the next block
+			this.dictionary = null;
+			if (size >= DICTIONARY_SIZE) {
+				this.dictionary = new byte[DICTIONARY_SIZE];
+				System.arraycopy(data, size - DICTIONARY_SIZE, this.dictionary, 0,
+						DICTIONARY_SIZE);
+			}
+			if (!last) {
+				this.block = new byte[BLOCK_SIZE];
+				this.blockSize = 0;
+			}
+			int parallelism = CompressionFilter.this.parallelism;
+			collectBlocks(this.pendingBlocks.size() > parallelism * 2);
+		}
+
+		private void collectBlocks(boolean wait) throws IOException {
+			while (!this.pendingBlocks.isEmpty()
+					&& (wait || this.pendingBlocks.getFirst().isDone())) {
+				try {
+					this.output.write(this.pendingBlocks.removeFirst().get());
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new IOException("Interrupted while compressing response");
+				}
+				catch (ExecutionException ex) {
+					throw new IOException("Failed to compress response", ex.getCause());
+				}
+				int parallelism = CompressionFilter.this.parallelism;
+				if (wait && this.pendingBlocks.size() <= parallelism) {
+					return;
+				}
+			}
+		}
+
+		private void writeOutput() throws IOException {
+			// In non-blocking mode a write is only legal when the delegate is ready,
+			// otherwise output stays pending until the next write possible event
+			boolean writable = (!this.nonBlocking || this.delegate.isReady());
+			if (this.output.size() > 0 && writable) {
+				this.output.writeTo(this.delegate);
+				this.output.reset();
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (this.finished || this.discarding) {
+				return;
+			}
+			if (this.compress == null) {
+				if (this.output.size() == 0) {
+					this.delegate.flush();
+					return;
+				}
+				decideAndWriteBuffered(this.response.getContentLength());
+			}
+			if (isCompressed()) {
+				if (this.block != null) {
+					if (this.blockSize > 0) {
+						submitBlock(false);
+					}
+					while (!this.pendingBlocks.isEmpty()) {
+						collectBlocks(true);
+					}
+				}
+				else {
+					deflate(Deflater.SYNC_FLUSH);
+				}
+			}
+			writeOutput();
+			if (!this.nonBlocking || !hasPendingOutput()) {
+				this.delegate.flush();
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			finish();
+		}
+
+		void finish() throws IOException {
+			if (this.finished) {
+				return;
+			}
+			if (this.compress == null) {
+				decideAndWriteBuffered(this.response.getContentLength());
+			}
+			this.finished = true;
+			try {
+				if (isCompressed()) {
+					finishCompression();
+				}
+				writeOutput();
+			}
+			finally {
+				release();
+			}
+		}
+
+		private void finishCompression() throws IOException {
+			if (this.block != null) {
+				submitBlock(true);
+				while (!this.pendingBlocks.isEmpty()) {
+					collectBlocks(true);
+				}
+			}
+			else {
+				this.deflater.finish();
+				while (!this.deflater.finished()) {
+					deflate(Deflater.NO_FLUSH);
+				}
+			}
+			writeInt((int) this.crc.getValue());
+			writeInt((int) this.inputSize);
+		}
+
+		private void writeInt(int value) {
+			this.output.write(value & 0xff);
+			this.output.write((value >> 8) & 0xff);
+			this.output.write((value >> 16) & 0xff);
+			this.output.write((value >> 24) & 0xff);
+		}
+
+		/**
+		 * Discard all output that has not been committed, including any compressor
+		 * state. If the headers have been cleared the decision to compress is made
+		 * again, otherwise a started gzip stream is restarted.
+		 */
+		void reset(PrintWriter writer, boolean headersCleared) {
+			if (writer != null) {
+				// Drop characters that are still buffered by the writer
+				this.discarding = true;
+				try {
+					writer.flush();
+				}
+				finally {
+					this.discarding = false;
+				}
+			}
+			boolean compressed = isCompressed();
+			release();
+			this.output.reset();
+			this.crc.reset();
+			this.inputSize = 0;
+			this.block = null;
+			this.blockSize = 0;
+			this.dictionary = null;
+			if (headersCleared) {
+				this.compress = null;
+			}
+			else if (compressed) {
+				this.output.write(GZIP_HEADER, 0, GZIP_HEADER.length);
+				this.deflater = CompressionFilter.this.deflaterPool.acquire();
+			}
+		}
+
+		void release() {
+			if (this.deflater != null) {
+				CompressionFilter.this.deflaterPool.release(this.deflater);
+				this.deflater = null;
+			}
+			for (Future<byte[]> pending : this.pendingBlocks) {
+				pending.cancel(false);
+			}
+			this.pendingBlocks.clear();
+		}
+
+	}
+
+	/**
+	 * {@link WriteListener} that writes any pending compressed output before notifying
+	 * the application's listener.
+	 */
+	private static class PendingOutputWriteListener implements WriteListener {
+
+		private final CompressingOutputStream outputStream;
+
+		private final WriteListener delegate;
+
+		PendingOutputWriteListener(CompressingOutputStream outputStream,
+				WriteListener delegate) {
+			this.outputStream = outputStream;
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void onWritePossible() throws IOException {
+			if (this.outputStream.isReady()) {
+				this.delegate.onWritePossible();
+			}
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			this.delegate.onError(throwable);
+		}
+
+	}
+
+	/**
+	 * Compresses a single block as raw deflate data. All but the last block end with a
+	 * sync flush so that the compressed blocks can simply be concatenated.
+	 */
+	private class BlockCompressor implements Callable<byte[]> {
+
+		private final byte[] data;
+
+		private final int size;
+
+		private final byte[] dictionary;
+
+		private final boolean last;
+
+		BlockCompressor(byte[] data, int size, byte[] dictionary, boolean last) {
+			this.data = data;
+			this.size = size;
+			this.dictionary = dictionary;
+			this.last = last;
+		}
+
+		@Override
+		public byte[] call() throws Exception {
+			Deflater deflater = CompressionFilter.this.deflaterPool.acquire();
+			try {
+				if (this.dictionary != null) {
+					deflater.setDictionary(this.dictionary);
+				}
+				deflater.setInput(this.data, 0, this.size);
+				ByteArrayOutputStream output = new ByteArrayOutputStream(
+						this.size / 2 + 64);
+				byte[] buffer = new byte[8192];
+				if (this.last) {
+					deflater.finish();
+					while (!deflater.finished()) {
+						int count = deflater.deflate(buffer);
+						output.write(buffer, 0, count);
+					}
+				}
+				else {
+					int count;
+					do {
+						count = deflater.deflate(buffer, 0, buffer.length,
+								Deflater.SYNC_FLUSH);
+						output.write(buffer, 0, count);
+					}
+					while (count == buffer.length);
+				}
+				return output.toByteArray();
+			}
+			finally {
+				CompressionFilter.this.deflaterPool.release(deflater);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.web;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.EncodedResource;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+/**
+ * {@link ResourceResolver} that keeps the content of small resolved resources in a
+ * bounded, least recently used, off-heap cache. Resources packaged in an executable jar
+ * are otherwise re-inflated from the archive on every request. Encoded (for example
+ * gzipped) variants are cached independently of the original resource.
+ *
+ * @author Agent
+ */
+class ContentCachingResourceResolver extends AbstractResourceResolver {
+
+	private final int maxSize;
+
+	private final int maxFileSize;
+
+	private final Map<String, CachedContent> cache = new LinkedHashMap<String, CachedContent>(
+			16, 0.75f, true);
+
+	private long size;
+
+	ContentCachingResourceResolver(int maxSize, int maxFileSize) {
+		Assert.isTrue(maxSize > 0, "MaxSize must be positive");
+		this.maxSize = maxSize;
+		this.maxFileSize = Math.min(maxFileSize, maxSize);
+	}
+
+	@Override
+	protected Resource resolveResourceInternal(HttpServletRequest request,
+			String requestPath, List<? extends Resource> locations,
+			ResourceResolverChain chain) {
+		Resource resource = chain.resolveResource(request, requestPath, locations);
+		if (resource == null || resource instanceof CachedContentResource) {
+			return resource;
+		}
+		try {
+			return getCachedResource(resource);
+		}
+		catch (IOException ex) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Unable to cache content of " + resource, ex);
+			}
+			return resource;
+		}
+	}
+
+	@Override
+	protected String resolveUrlPathInternal(String resourceUrlPath,
+			List<? extends Resource> locations, ResourceResolverChain chain) {
+		return chain.resolveUrlPath(resourceUrlPath, locations);
+	}
+
+	private Resource getCachedResource(Resource resource) throws IOException {
+		String encoding = (resource instanceof EncodedResource
+				? ((EncodedResource) resource).getContentEncoding() : null);
+		String key = resource.getDescription() + (encoding == null ? "" : ";" + encoding);
+		long lastModified = resource.lastModified();
+		CachedContent content = get(key);
+		if (content == null || content.getLastModified() != lastModified) {
+			long length = resource.contentLength();
+			if (length > this.maxFileSize) {
+				return resource;
+			}
+			content = new CachedContent(readContent(resource), lastModified);
+			put(key, content);
+		}
+		if (encoding != null) {
+			return new EncodedCachedContentResource(resource, content, encoding);
+		}
+		return new CachedContentResource(resource, content);
+	}
+
+	private ByteBuffer readContent(Resource resource) throws IOException {
+		byte[] bytes = StreamUtils.copyToByteArray(resource.getInputStream());
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+		buffer.put(bytes);
+		buffer.flip();
+		return buffer.asReadOnlyBuffer();
+	}
+
+	private synchronized CachedContent get(String key) {
+		return this.cache.get(key);
+	}
+
+	private synchronized void put(String key, CachedContent content) {
+		CachedContent previous = this.cache.put(key, content);
+		this.size += content.getLength() - (previous == null ? 0 : previous.getLength());
+		Iterator<CachedContent> iterator = this.cache.values().iterator();
+		while (this.size > this.maxSize && iterator.hasNext()) {
+			this.size -= iterator.next().getLength();
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Cached content of a single resource.
+	 */
+	private static class CachedContent {
+
+		private final ByteBuffer buffer;
+
+		private final long lastModified;
+
+		CachedContent(ByteBuffer buffer, long lastModified) {
+			this.buffer = buffer;
+			this.lastModified = lastModified;
+		}
+
+		public InputStream getInputStream() {
+			return new ByteBufferInputStream(this.buffer.duplicate());
+		}
+
+		public int getLength() {
+			return this.buffer.capacity();
+		}
+
+		public long getLastModified() {
+			return this.lastModified;
+		}
+
+	}
+
+	/**
+	 * {@link InputStream} reading from a {@link ByteBuffer}.
+	 */
+	private static class ByteBufferInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() throws IOException {
+			return (this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1);
+		}
+
+		@Override
+		public int read(byte[] bytes, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (!this.buffer.hasRemaining()) {
+				return -1;
+			}
+			len = Math.min(len, this.buffer.remaining());
+			this.buffer.get(bytes, off, len);
+			return len;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			int skipped = (int) Math.max(0, Math.min(n, this.buffer.remaining()));
+			this.buffer.position(this.buffer.position() + skipped);
+			return skipped;
+		}
+
+		@Override
+		public int available() throws IOException {
+			return this.buffer.remaining();
+		}
+
+	}
+
+	/**
+	 * {@link Resource} serving cached content on behalf of a resolved resource.
+	 */
+	static class CachedContentResource extends AbstractResource {
+
+		private final Resource resource;
+
+		private final CachedContent content;
+
+		CachedContentResource(Resource resource, CachedContent content) {
+			this.resource = resource;
+			this.content = content;
+		}
+
+		@Override
+		public boolean exists() {
+			return true;
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			return this.content.getInputStream();
+		}
+
+		@Override
+		public long contentLength() throws IOException {
+			return this.content.getLength();
+		}
+
+		@Override
+		public long lastModified() throws IOException {
+			return this.content.getLastModified();
+		}
+
+		@Override
+		public URL getURL() throws IOException {
+			return this.resource.getURL();
+		}
+
+		@Override
+		public URI getURI() throws IOException {
+			return this.resource.getURI();
+		}
+
+		@Override
+		public File getFile() throws IOException {
+			return this.resource.getFile();
+		}
+
+		@Override
+		public Resource createRelative(String relativePath) throws IOException {
+			return this.resource.createRelative(relativePath);
+		}
+
+		@Override
+		public String getFilename() {
+			return this.resource.getFilename();
+		}
+
+		@Override
+		public String getDescription() {
+			return this.resource.getDescription();
+		}
+
+	}
+
+	/**
+	 * {@link CachedContentResource} for an {@link EncodedResource}.
+	 */
+	static class EncodedCachedContentResource extends CachedContentResource implements
+			EncodedResource {
+
+		private final String contentEncoding;
+
+		EncodedCachedContentResource(Resource resource, CachedContent content,
+				String contentEncoding) {
+			super(resource, content);
+			this.contentEncoding = contentEncoding;
+		}
+
+		@Override
+		public String getContentEncoding() {
+			return this.contentEncoding;
+		}
+
+	}
+
+}
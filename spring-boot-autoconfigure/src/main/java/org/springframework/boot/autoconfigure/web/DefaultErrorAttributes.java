@@ -21,6 +21,8 @@ import java.io.StringWriter;
 import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -46,7 +48,8 @@ import org.springframework.web.servlet.ModelAndView;
  * <li>exception - The class name of the root exception</li>
  * <li>message - The exception message</li>
  * <li>errors - Any {@link ObjectError}s from a {@link BindingResult} exception
- * <li>trace - The exception stack trace</li>
+ * <li>trace - The exception stack trace (subject to
+ * {@link #setMaxStackTracesPerSecond(int) rate limiting})</li>
  * <li>path - The URL path when the exception was raised</li>
  * </ul>
  *
@@ -62,6 +65,12 @@ public class DefaultErrorAttributes implements ErrorAttributes, HandlerException
 	private static final String ERROR_ATTRIBUTE = DefaultErrorAttributes.class.getName()
 			+ ".ERROR";
 
+	private int maxStackTracesPerSecond;
+
+	private final AtomicLong stackTraceSecond = new AtomicLong();
+
+	private final AtomicInteger stackTraceCount = new AtomicInteger();
+
 	@Override
 	public int getOrder() {
 		return Ordered.HIGHEST_PRECEDENCE;
@@ -117,7 +126,7 @@ public class DefaultErrorAttributes implements ErrorAttributes, HandlerException
 			}
 			errorAttributes.put("exception", error.getClass().getName());
 			addErrorMessage(errorAttributes, error);
-			if (includeStackTrace) {
+			if (includeStackTrace && acquireStackTrace()) {
 				addStackTrace(errorAttributes, error);
 			}
 		}
@@ -153,6 +162,18 @@ public class DefaultErrorAttributes implements ErrorAttributes, HandlerException
 		errorAttributes.put("trace", stackTrace.toString());
 	}
 
+	private boolean acquireStackTrace() {
+		if (this.maxStackTracesPerSecond <= 0) {
+			return true;
+		}
+		long second = System.currentTimeMillis() / 1000;
+		long current = this.stackTraceSecond.get();
+		if (current != second && this.stackTraceSecond.compareAndSet(current, second)) {
+			this.stackTraceCount.set(0);
+		}
+		return this.stackTraceCount.incrementAndGet() <= this.maxStackTracesPerSecond;
+	}
+
 	private void addPath(Map<String, Object> errorAttributes,
 			RequestAttributes requestAttributes) {
 		String path = getAttribute(requestAttributes, "javax.servlet.error.request_uri");
@@ -161,6 +182,18 @@ public class DefaultErrorAttributes implements ErrorAttributes, HandlerException
 		}
 	}
 
+	/**
+	 * Set the maximum number of stack traces that will be rendered each second. Once the
+	 * limit has been reached the {@code trace} attribute is omitted until the next second
+	 * so that a burst of errors does not also pay the cost of formatting every stack
+	 * trace. A value of zero or less (the default) means no limit.
+	 * @param maxStackTracesPerSecond the maximum number of stack traces per second
+	 * @since 1.3.0
+	 */
+	public void setMaxStackTracesPerSecond(int maxStackTracesPerSecond) {
+		this.maxStackTracesPerSecond = maxStackTracesPerSecond;
+	}
+
 	@Override
 	public Throwable getError(RequestAttributes requestAttributes) {
 		Throwable exception = getAttribute(requestAttributes, ERROR_ATTRIBUTE);
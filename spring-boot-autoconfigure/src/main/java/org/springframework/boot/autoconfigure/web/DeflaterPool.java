@@ -0,0 +1,78 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.web;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+import org.springframework.util.Assert;
+
+/**
+ * A bounded pool of raw ({@code nowrap}) {@link Deflater} instances. Creating a
+ * {@link Deflater} allocates native zlib state so instances are reset and reused rather
+ * than being discarded after each response.
+ *
+ * @author Agent
+ */
+class DeflaterPool {
+
+	private final int level;
+
+	private final BlockingQueue<Deflater> deflaters;
+
+	DeflaterPool(int level, int size) {
+		Assert.isTrue(level == Deflater.DEFAULT_COMPRESSION
+				|| (level >= Deflater.NO_COMPRESSION
+				&& level <= Deflater.BEST_COMPRESSION), "Invalid compression level "
+				+ level);
+		this.level = level;
+		this.deflaters = new ArrayBlockingQueue<Deflater>(Math.max(size, 1));
+	}
+
+	/**
+	 * Obtain a {@link Deflater} from the pool, creating a new one if none is available.
+	 * @return a deflater that must be returned with {@link #release(Deflater)}
+	 */
+	public Deflater acquire() {
+		Deflater deflater = this.deflaters.poll();
+		return (deflater != null ? deflater : new Deflater(this.level, true));
+	}
+
+	/**
+	 * Return a {@link Deflater} to the pool. If the pool is full the deflater is ended.
+	 * @param deflater the deflater to release
+	 */
+	public void release(Deflater deflater) {
+		deflater.reset();
+		if (!this.deflaters.offer(deflater)) {
+			deflater.end();
+		}
+	}
+
+	/**
+	 * End all pooled deflaters.
+	 */
+	public void destroy() {
+		Deflater deflater = this.deflaters.poll();
+		while (deflater != null) {
+			deflater.end();
+			deflater = this.deflaters.poll();
+		}
+	}
+
+}
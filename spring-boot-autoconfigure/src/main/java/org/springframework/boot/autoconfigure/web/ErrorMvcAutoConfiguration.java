@@ -16,6 +16,7 @@
 
 package org.springframework.boot.autoconfigure.web;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -50,8 +51,6 @@ import org.springframework.core.type.AnnotatedTypeMetadata;
 import org.springframework.expression.Expression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
-import org.springframework.util.PropertyPlaceholderHelper;
-import org.springframework.util.PropertyPlaceholderHelper.PlaceholderResolver;
 import org.springframework.web.servlet.DispatcherServlet;
 import org.springframework.web.servlet.View;
 import org.springframework.web.servlet.view.BeanNameViewResolver;
@@ -76,6 +75,9 @@ public class ErrorMvcAutoConfiguration implements EmbeddedServletContainerCustom
 	@Value("${error.path:/error}")
 	private String errorPath = "/error";
 
+	@Value("${error.max-stack-traces-per-second:0}")
+	private int maxStackTracesPerSecond;
+
 	@Autowired
 	private ServerProperties properties;
 
@@ -87,7 +89,9 @@ public class ErrorMvcAutoConfiguration implements EmbeddedServletContainerCustom
 	@Bean
 	@ConditionalOnMissingBean(value = ErrorAttributes.class, search = SearchStrategy.CURRENT)
 	public DefaultErrorAttributes errorAttributes() {
-		return new DefaultErrorAttributes();
+		DefaultErrorAttributes errorAttributes = new DefaultErrorAttributes();
+		errorAttributes.setMaxStackTracesPerSecond(this.maxStackTracesPerSecond);
+		return errorAttributes;
 	}
 
 	@Bean
@@ -159,23 +163,39 @@ public class ErrorMvcAutoConfiguration implements EmbeddedServletContainerCustom
 	}
 
 	/**
-	 * Simple {@link View} implementation that resolves variables as SpEL expressions.
+	 * Simple {@link View} implementation that resolves variables as SpEL expressions. The
+	 * template is parsed once so that rendering only needs to evaluate the pre-compiled
+	 * expressions against the model.
 	 */
 	private static class SpelView implements View {
 
-		private final String template;
-
-		private final StandardEvaluationContext context = new StandardEvaluationContext();
+		private final List<Object> parts;
 
-		private PropertyPlaceholderHelper helper;
-
-		private PlaceholderResolver resolver;
+		private final MapAccessor mapAccessor = new MapAccessor();
 
 		public SpelView(String template) {
-			this.template = template;
-			this.context.addPropertyAccessor(new MapAccessor());
-			this.helper = new PropertyPlaceholderHelper("${", "}");
-			this.resolver = new SpelPlaceholderResolver(this.context);
+			this.parts = parse(template);
+		}
+
+		private static List<Object> parse(String template) {
+			SpelExpressionParser parser = new SpelExpressionParser();
+			List<Object> parts = new ArrayList<Object>();
+			int index = 0;
+			while (index < template.length()) {
+				int start = template.indexOf("${", index);
+				int end = (start == -1 ? -1 : template.indexOf("}", start + 2));
+				if (end == -1) {
+					parts.add(template.substring(index));
+					break;
+				}
+				if (start > index) {
+					parts.add(template.substring(index, start));
+				}
+				String name = template.substring(start + 2, end);
+				parts.add(new Placeholder(name, parser.parseExpression(name)));
+				index = end + 1;
+			}
+			return parts;
 		}
 
 		@Override
@@ -191,36 +211,49 @@ public class ErrorMvcAutoConfiguration implements EmbeddedServletContainerCustom
 			}
 			Map<String, Object> map = new HashMap<String, Object>(model);
 			map.put("path", request.getContextPath());
-			this.context.setRootObject(map);
-			String result = this.helper.replacePlaceholders(this.template, this.resolver);
+			StandardEvaluationContext context = new StandardEvaluationContext(map);
+			context.addPropertyAccessor(this.mapAccessor);
+			StringBuilder result = new StringBuilder();
+			for (Object part : this.parts) {
+				if (part instanceof Placeholder) {
+					((Placeholder) part).appendTo(result, context);
+				}
+				else {
+					result.append(part);
+				}
+			}
 			response.getWriter().append(result);
 		}
 
 	}
 
 	/**
-	 * SpEL based {@link PlaceholderResolver}.
+	 * A pre-parsed SpEL placeholder. Resolved values are HTML escaped and are never
+	 * themselves treated as templates.
 	 */
-	private static class SpelPlaceholderResolver implements PlaceholderResolver {
+	private static class Placeholder {
 
-		private final SpelExpressionParser parser = new SpelExpressionParser();
+		private final String name;
 
-		private final StandardEvaluationContext context;
+		private final Expression expression;
 
-		public SpelPlaceholderResolver(StandardEvaluationContext context) {
-			this.context = context;
+		public Placeholder(String name, Expression expression) {
+			this.name = name;
+			this.expression = expression;
 		}
 
-		@Override
-		public String resolvePlaceholder(String name) {
-			Expression expression = this.parser.parseExpression(name);
+		public void appendTo(StringBuilder result, StandardEvaluationContext context) {
 			try {
-				Object value = expression.getValue(this.context);
-				return HtmlUtils.htmlEscape(value == null ? null : value.toString());
+				Object value = this.expression.getValue(context);
+				if (value != null) {
+					result.append(HtmlUtils.htmlEscape(value.toString()));
+					return;
+				}
 			}
 			catch (Exception ex) {
-				return null;
+				// Leave the placeholder unresolved
 			}
+			result.append("${").append(this.name).append("}");
 		}
 
 	}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.web;
+
+import java.io.IOException;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.ContentVersionStrategy;
+import org.springframework.web.servlet.resource.EncodedResource;
+
+/**
+ * {@link ContentVersionStrategy} that uses {@link ResourceFingerprints} calculated at
+ * build time, only reading and hashing resources that have no fingerprint. Fingerprints
+ * use the same MD5 hex encoding so both sources of versions are interchangeable.
+ *
+ * @author Agent
+ */
+class FingerprintVersionStrategy extends ContentVersionStrategy {
+
+	private final ResourceFingerprints fingerprints;
+
+	FingerprintVersionStrategy(ResourceFingerprints fingerprints) {
+		this.fingerprints = fingerprints;
+	}
+
+	@Override
+	public String getResourceVersion(Resource resource) {
+		Resource original = getOriginalResource(resource);
+		if (original instanceof ClassPathResource) {
+			String fingerprint = this.fingerprints.get(((ClassPathResource) original)
+					.getPath());
+			if (fingerprint != null) {
+				return fingerprint;
+			}
+		}
+		return super.getResourceVersion(original);
+	}
+
+	private Resource getOriginalResource(Resource resource) {
+		if (resource instanceof EncodedResource) {
+			// Versions are always based on the unencoded content
+			try {
+				return resource.createRelative(resource.getFilename());
+			}
+			catch (IOException ex) {
+				return resource;
+			}
+		}
+		return resource;
+	}
+
+}
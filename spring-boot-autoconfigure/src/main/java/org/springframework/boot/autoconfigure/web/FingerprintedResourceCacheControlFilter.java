@@ -0,0 +1,74 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.web;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Filter that adds a far-future {@code Cache-Control} header to requests for static
+ * resources whose URL contains their build time {@link ResourceFingerprints fingerprint}.
+ * Such URLs change whenever the content does, so they can be cached for a year. A cache
+ * period configured on the resource handler takes precedence.
+ *
+ * @author Agent
+ */
+class FingerprintedResourceCacheControlFilter extends OncePerRequestFilter {
+
+	private static final String CACHE_CONTROL = "max-age=31536000, public";
+
+	private final ResourceFingerprints fingerprints;
+
+	private final FingerprintVersionStrategy versionStrategy;
+
+	private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+	FingerprintedResourceCacheControlFilter(ResourceFingerprints fingerprints) {
+		this.fingerprints = fingerprints;
+		this.versionStrategy = new FingerprintVersionStrategy(fingerprints);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request,
+			HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		if (isFingerprinted(request)) {
+			response.setHeader("Cache-Control", CACHE_CONTROL);
+		}
+		filterChain.doFilter(request, response);
+	}
+
+	private boolean isFingerprinted(HttpServletRequest request) {
+		if (this.fingerprints.isEmpty()) {
+			return false;
+		}
+		String path = StringUtils.trimLeadingCharacter(
+				this.urlPathHelper.getPathWithinApplication(request), '/');
+		String version = this.versionStrategy.extractVersion(path);
+		return (version != null && this.fingerprints.isFingerprint(
+				this.versionStrategy.removeVersion(path, version), version));
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.web;
+
+import java.io.IOException;
+import java.util.Properties;
+
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+/**
+ * Content hashes of static web resources calculated when the application was packaged.
+ *
+ * @author Agent
+ */
+final class ResourceFingerprints {
+
+	/**
+	 * The location of the fingerprints, relative to the classpath root.
+	 */
+	static final String LOCATION = "META-INF/resource-fingerprints.properties";
+
+	private static final String[] STATIC_LOCATIONS = { "META-INF/resources/",
+			"resources/", "static/", "public/" };
+
+	private final Properties fingerprints;
+
+	private ResourceFingerprints(Properties fingerprints) {
+		this.fingerprints = fingerprints;
+	}
+
+	/**
+	 * Return the fingerprint of the resource with the given classpath path.
+	 * @param path the classpath path, for example {@code static/css/site.css}
+	 * @return the fingerprint or {@code null}
+	 */
+	public String get(String path) {
+		return this.fingerprints.getProperty(path);
+	}
+
+	/**
+	 * Return if the given version is the build time fingerprint of a static resource.
+	 * @param requestPath the request path with the version removed, relative to the
+	 * application root
+	 * @param version the version extracted from the request path
+	 * @return if the version is a known fingerprint of the resource
+	 */
+	public boolean isFingerprint(String requestPath, String version) {
+		for (String location : STATIC_LOCATIONS) {
+			if (version.equals(get(location + requestPath))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public boolean isEmpty() {
+		return this.fingerprints.isEmpty();
+	}
+
+	/**
+	 * Load fingerprints from all {@link #LOCATION} files on the classpath.
+	 * @param classLoader the class loader to use
+	 * @return the fingerprints (never {@code null})
+	 */
+	public static ResourceFingerprints load(ClassLoader classLoader) {
+		try {
+			return new ResourceFingerprints(PropertiesLoaderUtils.loadAllProperties(
+					LOCATION, classLoader));
+		}
+		catch (IOException ex) {
+			throw new IllegalArgumentException("Unable to load resource fingerprints "
+					+ "from location [" + LOCATION + "]", ex);
+		}
+	}
+
+}
@@ -37,6 +37,8 @@ public class ResourceProperties {
 	 */
 	private boolean addMappings = true;
 
+	private final Chain chain = new Chain();
+
 	public Integer getCachePeriod() {
 		return this.cachePeriod;
 	}
@@ -53,4 +55,160 @@ public class ResourceProperties {
 		this.addMappings = addMappings;
 	}
 
+	public Chain getChain() {
+		return this.chain;
+	}
+
+	/**
+	 * Configuration for the Spring Resource Handling chain.
+	 */
+	public static class Chain {
+
+		/**
+		 * Enable the Spring Resource Handling chain. Disabled by default unless at least
+		 * one feature of the chain has been enabled.
+		 */
+		private Boolean enabled;
+
+		/**
+		 * Enable caching in the Resource chain.
+		 */
+		private boolean cache = true;
+
+		/**
+		 * Enable resolution of already gzipped resources. Checks for a resource name
+		 * variant with the "*.gz" extension.
+		 */
+		private boolean gzipped = false;
+
+		private final ContentCache contentCache = new ContentCache();
+
+		private final Strategy strategy = new Strategy();
+
+		/**
+		 * Return whether the resource chain is enabled. Return {@code null} if no
+		 * specific settings are present.
+		 * @return whether the resource chain is enabled or {@code null} if no specified
+		 * settings are present.
+		 */
+		public Boolean getEnabled() {
+			if (this.enabled != null) {
+				return this.enabled;
+			}
+			return (this.gzipped || this.strategy.getContent().isEnabled() ? Boolean.TRUE
+					: null);
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public boolean isCache() {
+			return this.cache;
+		}
+
+		public void setCache(boolean cache) {
+			this.cache = cache;
+		}
+
+		public boolean isGzipped() {
+			return this.gzipped;
+		}
+
+		public void setGzipped(boolean gzipped) {
+			this.gzipped = gzipped;
+		}
+
+		public ContentCache getContentCache() {
+			return this.contentCache;
+		}
+
+		public Strategy getStrategy() {
+			return this.strategy;
+		}
+
+	}
+
+	/**
+	 * Strategies for extracting and embedding a resource version in its URL path.
+	 */
+	public static class Strategy {
+
+		private final Content content = new Content();
+
+		public Content getContent() {
+			return this.content;
+		}
+
+	}
+
+	/**
+	 * Version Strategy based on content hashing.
+	 */
+	public static class Content {
+
+		/**
+		 * Enable the content Version Strategy. Hashes calculated at build time (see the
+		 * 'fingerprintResources' option of the build plugins) are used when available,
+		 * fingerprinted resources found there are served with a one year cache period.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Comma-separated list of patterns to apply to the Version Strategy.
+		 */
+		private String[] paths = new String[] { "/**" };
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public String[] getPaths() {
+			return this.paths;
+		}
+
+		public void setPaths(String[] paths) {
+			this.paths = paths;
+		}
+
+	}
+
+	/**
+	 * In-memory cache of resolved resource content.
+	 */
+	public static class ContentCache {
+
+		/**
+		 * Maximum total size, in bytes, of resource content held in (off-heap) memory.
+		 * Set to 0 to always read resources from their original location.
+		 */
+		private int maxSize = 10 * 1024 * 1024;
+
+		/**
+		 * Maximum size, in bytes, of a single resource eligible for caching.
+		 */
+		private int maxFileSize = 64 * 1024;
+
+		public int getMaxSize() {
+			return this.maxSize;
+		}
+
+		public void setMaxSize(int maxSize) {
+			this.maxSize = maxSize;
+		}
+
+		public int getMaxFileSize() {
+			return this.maxFileSize;
+		}
+
+		public void setMaxFileSize(int maxFileSize) {
+			this.maxFileSize = maxFileSize;
+		}
+
+	}
+
 }
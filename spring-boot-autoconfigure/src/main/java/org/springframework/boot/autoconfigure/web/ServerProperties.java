@@ -92,6 +92,8 @@ public class ServerProperties implements EmbeddedServletContainerCustomizer, Ord
 
 	private final Undertow undertow = new Undertow();
 
+	private final Compression compression = new Compression();
+
 	/**
 	 * ServletContext parameters.
 	 */
@@ -110,6 +112,10 @@ public class ServerProperties implements EmbeddedServletContainerCustomizer, Ord
 		return this.undertow;
 	}
 
+	public Compression getCompression() {
+		return this.compression;
+	}
+
 	public String getContextPath() {
 		return this.contextPath;
 	}
@@ -594,4 +600,90 @@ public class ServerProperties implements EmbeddedServletContainerCustomizer, Ord
 
 	}
 
+	public static class Compression {
+
+		/**
+		 * Enable container neutral gzip response compression.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Comma-separated list of MIME types that should be compressed.
+		 */
+		private String[] mimeTypes = new String[] { "text/html", "text/xml",
+				"text/plain", "text/css", "text/javascript", "application/javascript",
+				"application/json", "application/xml" };
+
+		/**
+		 * Minimum response size in bytes that is required for compression to be
+		 * performed.
+		 */
+		private int minResponseSize = 2048;
+
+		/**
+		 * Deflate compression level (1-9).
+		 */
+		private int level = 6;
+
+		/**
+		 * Maximum number of idle Deflater instances kept for reuse.
+		 */
+		private int deflaterPoolSize = 32;
+
+		/**
+		 * Response size in bytes above which the remaining output is compressed in
+		 * parallel blocks. Parallel compression is disabled when not set.
+		 */
+		private Integer parallelThreshold;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public String[] getMimeTypes() {
+			return this.mimeTypes;
+		}
+
+		public void setMimeTypes(String[] mimeTypes) {
+			this.mimeTypes = mimeTypes;
+		}
+
+		public int getMinResponseSize() {
+			return this.minResponseSize;
+		}
+
+		public void setMinResponseSize(int minResponseSize) {
+			this.minResponseSize = minResponseSize;
+		}
+
+		public int getLevel() {
+			return this.level;
+		}
+
+		public void setLevel(int level) {
+			this.level = level;
+		}
+
+		public int getDeflaterPoolSize() {
+			return this.deflaterPoolSize;
+		}
+
+		public void setDeflaterPoolSize(int deflaterPoolSize) {
+			this.deflaterPoolSize = deflaterPoolSize;
+		}
+
+		public Integer getParallelThreshold() {
+			return this.parallelThreshold;
+		}
+
+		public void setParallelThreshold(Integer parallelThreshold) {
+			this.parallelThreshold = parallelThreshold;
+		}
+
+	}
+
 }
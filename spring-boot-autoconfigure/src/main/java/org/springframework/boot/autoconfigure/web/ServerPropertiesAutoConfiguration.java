@@ -16,13 +16,17 @@
 
 package org.springframework.boot.autoconfigure.web;
 
+import javax.servlet.DispatcherType;
+
 import org.springframework.beans.BeansException;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.autoconfigure.condition.SearchStrategy;
 import org.springframework.boot.context.embedded.ConfigurableEmbeddedServletContainer;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerCustomizer;
+import org.springframework.boot.context.embedded.FilterRegistrationBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -57,6 +61,16 @@ public class ServerPropertiesAutoConfiguration implements ApplicationContextAwar
 		return new ServerProperties();
 	}
 
+	@Bean
+	@ConditionalOnProperty(prefix = "server.compression", name = "enabled")
+	public FilterRegistrationBean compressionFilter(ServerProperties serverProperties) {
+		FilterRegistrationBean registration = new FilterRegistrationBean(
+				new CompressionFilter(serverProperties.getCompression()));
+		registration.addUrlPatterns("/*");
+		registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+		return registration;
+	}
+
 	@Override
 	public void setApplicationContext(ApplicationContext applicationContext)
 			throws BeansException {
@@ -40,6 +40,8 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -67,6 +69,8 @@ import org.springframework.web.servlet.View;
 import org.springframework.web.servlet.ViewResolver;
 import org.springframework.web.servlet.config.annotation.DelegatingWebMvcConfiguration;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.ResourceChainRegistration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistration;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurationSupport;
@@ -75,7 +79,12 @@ import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
 import org.springframework.web.servlet.i18n.FixedLocaleResolver;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.servlet.resource.CachingResourceResolver;
+import org.springframework.web.servlet.resource.CachingResourceTransformer;
+import org.springframework.web.servlet.resource.GzipResourceResolver;
 import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
 import org.springframework.web.servlet.view.BeanNameViewResolver;
 import org.springframework.web.servlet.view.ContentNegotiatingViewResolver;
 import org.springframework.web.servlet.view.InternalResourceViewResolver;
@@ -120,6 +129,8 @@ public class WebMvcAutoConfiguration {
 		}
 	}
 
+	private static final String RESOURCE_CHAIN_CACHE_NAME = "spring-resource-chain-cache";
+
 	public static String DEFAULT_PREFIX = "";
 
 	public static String DEFAULT_SUFFIX = "";
@@ -160,6 +171,8 @@ public class WebMvcAutoConfiguration {
 		@Autowired
 		private HttpMessageConverters messageConverters;
 
+		private ResourceFingerprints resourceFingerprints;
+
 		@Override
 		public void configureMessageConverters(List<HttpMessageConverter<?>> converters) {
 			converters.addAll(this.messageConverters.getConverters());
@@ -180,6 +193,12 @@ public class WebMvcAutoConfiguration {
 			return new RequestContextListener();
 		}
 
+		@Bean
+		@ConditionalOnProperty(prefix = "spring.resources.chain.strategy.content", name = "enabled")
+		public FingerprintedResourceCacheControlFilter fingerprintedResourceCacheControlFilter() {
+			return new FingerprintedResourceCacheControlFilter(getResourceFingerprints());
+		}
+
 		@Bean
 		@ConditionalOnBean(View.class)
 		public BeanNameViewResolver beanNameViewResolver() {
@@ -253,15 +272,78 @@ public class WebMvcAutoConfiguration {
 			}
 
 			Integer cachePeriod = this.resourceProperties.getCachePeriod();
+			ResourceProperties.Chain chain = this.resourceProperties.getChain();
+			List<ResourceResolver> resolvers = getResourceChainResolvers(chain);
 			if (!registry.hasMappingForPattern("/webjars/**")) {
-				registry.addResourceHandler("/webjars/**")
-						.addResourceLocations("classpath:/META-INF/resources/webjars/")
-						.setCachePeriod(cachePeriod);
+				registerResourceChain(chain, resolvers,
+						registry.addResourceHandler("/webjars/**")
+								.addResourceLocations(
+										"classpath:/META-INF/resources/webjars/")
+								.setCachePeriod(cachePeriod));
 			}
 			if (!registry.hasMappingForPattern("/**")) {
-				registry.addResourceHandler("/**")
-						.addResourceLocations(RESOURCE_LOCATIONS)
-						.setCachePeriod(cachePeriod);
+				registerResourceChain(chain, resolvers,
+						registry.addResourceHandler("/**")
+								.addResourceLocations(RESOURCE_LOCATIONS)
+								.setCachePeriod(cachePeriod));
+			}
+		}
+
+		private List<ResourceResolver> getResourceChainResolvers(
+				ResourceProperties.Chain chain) {
+			List<ResourceResolver> resolvers = new ArrayList<ResourceResolver>();
+			if (!Boolean.TRUE.equals(chain.getEnabled())) {
+				return resolvers;
+			}
+			// Resolvers are shared so that content is only cached once
+			ResourceProperties.ContentCache contentCache = chain.getContentCache();
+			if (contentCache.getMaxSize() > 0) {
+				resolvers.add(new ContentCachingResourceResolver(contentCache
+						.getMaxSize(), contentCache.getMaxFileSize()));
+			}
+			ResourceProperties.Content content = chain.getStrategy().getContent();
+			if (content.isEnabled()) {
+				VersionResourceResolver versionResolver = new VersionResourceResolver();
+				versionResolver.addVersionStrategy(new FingerprintVersionStrategy(
+						getResourceFingerprints()), content.getPaths());
+				resolvers.add(versionResolver);
+			}
+			if (chain.isGzipped()) {
+				resolvers.add(new GzipResourceResolver());
+			}
+			return resolvers;
+		}
+
+		private ResourceFingerprints getResourceFingerprints() {
+			if (this.resourceFingerprints == null) {
+				this.resourceFingerprints = ResourceFingerprints.load(this.resourceLoader
+						.getClassLoader());
+			}
+			return this.resourceFingerprints;
+		}
+
+		private void registerResourceChain(ResourceProperties.Chain chain,
+				List<ResourceResolver> resolvers,
+				ResourceHandlerRegistration registration) {
+			if (Boolean.TRUE.equals(chain.getEnabled())) {
+				ResourceChainRegistration chainRegistration = registration
+						.resourceChain(false);
+				List<ResourceResolver> chainResolvers = new ArrayList<ResourceResolver>(
+						resolvers);
+				if (chain.isCache()) {
+					// The content cache must stay above the (unbounded) resource cache so
+					// that its content can be evicted and is checked for modifications
+					Cache cache = new ConcurrentMapCache(RESOURCE_CHAIN_CACHE_NAME);
+					boolean cachesContent = !resolvers.isEmpty()
+							&& resolvers.get(0) instanceof ContentCachingResourceResolver;
+					chainResolvers.add(cachesContent ? 1 : 0, new CachingResourceResolver(
+							cache));
+					chainRegistration
+							.addTransformer(new CachingResourceTransformer(cache));
+				}
+				for (ResourceResolver resolver : chainResolvers) {
+					chainRegistration.addResolver(resolver);
+				}
 			}
 		}
 
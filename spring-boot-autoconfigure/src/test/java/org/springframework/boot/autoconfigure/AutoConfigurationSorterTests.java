@@ -19,6 +19,7 @@ package org.springframework.boot.autoconfigure;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Properties;
 
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
@@ -30,6 +31,7 @@ import org.junit.rules.ExpectedException;
 import org.springframework.core.Ordered;
 import org.springframework.core.io.DefaultResourceLoader;
 
+import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertThat;
 
 /**
@@ -123,6 +125,56 @@ public class AutoConfigurationSorterTests {
 		this.sorter.getInPriorityOrder(Arrays.asList(A, B, C, D));
 	}
 
+	@Test
+	public void byOrderAnnotationFromMetadata() throws Exception {
+		Properties properties = new Properties();
+		properties.put(LOWEST, "");
+		properties.put(LOWEST + ".AutoConfigureOrder",
+				String.valueOf(Ordered.HIGHEST_PRECEDENCE));
+		properties.put(HIGHEST, "");
+		properties.put(HIGHEST + ".AutoConfigureOrder",
+				String.valueOf(Ordered.LOWEST_PRECEDENCE));
+		this.sorter = new AutoConfigurationSorter(new DefaultResourceLoader(),
+				AutoConfigurationMetadataLoader.loadMetadata(properties));
+		List<String> actual = this.sorter.getInPriorityOrder(Arrays.asList(HIGHEST,
+				LOWEST));
+		assertThat(actual, nameMatcher(LOWEST, HIGHEST));
+	}
+
+	@Test
+	public void byAutoConfigureAfterFromMetadata() throws Exception {
+		Properties properties = new Properties();
+		properties.put(A, "");
+		properties.put(A + ".AutoConfigureAfter", B);
+		properties.put(B, "");
+		properties.put(B + ".AutoConfigureAfter", C);
+		properties.put(C, "");
+		this.sorter = new AutoConfigurationSorter(new DefaultResourceLoader(),
+				AutoConfigurationMetadataLoader.loadMetadata(properties));
+		List<String> actual = this.sorter.getInPriorityOrder(Arrays.asList(A, B, C));
+		assertThat(actual, nameMatcher(C, B, A));
+	}
+
+	@Test
+	public void byAutoConfigureAfterWithLongChainFromMetadata() throws Exception {
+		Properties properties = new Properties();
+		List<String> classNames = new ArrayList<String>();
+		List<String> expected = new ArrayList<String>();
+		for (int i = 0; i < 1000; i++) {
+			String className = "com.example.Config" + i;
+			properties.put(className, "");
+			if (i > 0) {
+				properties.put(className + ".AutoConfigureBefore", "com.example.Config"
+						+ (i - 1));
+			}
+			classNames.add(className);
+			expected.add(0, className);
+		}
+		this.sorter = new AutoConfigurationSorter(new DefaultResourceLoader(),
+				AutoConfigurationMetadataLoader.loadMetadata(properties));
+		assertThat(this.sorter.getInPriorityOrder(classNames), equalTo(expected));
+	}
+
 	private Matcher<? super List<String>> nameMatcher(String... names) {
 
 		final List<String> list = Arrays.asList(names);
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure;
+
+import java.sql.Connection;
+
+import javax.sql.DataSource;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.test.EnvironmentTestUtils;
+import org.springframework.context.support.StaticApplicationContext;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link BackgroundPreinitializer}.
+ *
+ * @author Agent
+ */
+public class BackgroundPreinitializerTests {
+
+	private final BackgroundPreinitializer preinitializer = new BackgroundPreinitializer();
+
+	private final SpringApplication application = new SpringApplication();
+
+	private final StaticApplicationContext context = new StaticApplicationContext();
+
+	@After
+	public void cleanup() {
+		this.preinitializer.onApplicationEvent(new ApplicationReadyEvent(
+				this.application, new String[0], this.context));
+		this.context.close();
+	}
+
+	@Test
+	public void warmsDataSourceWhenEnabled() throws Exception {
+		EnvironmentTestUtils.addEnvironment(this.context,
+				"spring.main.background-initialization:true");
+		DataSource dataSource = mockDataSource();
+		start();
+		this.context.getBeanFactory().initializeBean(dataSource, "dataSource");
+		verify(dataSource, timeout(5000)).getConnection();
+	}
+
+	@Test
+	public void doesNothingByDefault() throws Exception {
+		DataSource dataSource = mockDataSource();
+		start();
+		this.context.getBeanFactory().initializeBean(dataSource, "dataSource");
+		Thread.sleep(100);
+		verify(dataSource, never()).getConnection();
+	}
+
+	private void start() {
+		String[] args = new String[0];
+		this.preinitializer.onApplicationEvent(new ApplicationEnvironmentPreparedEvent(
+				this.application, args, this.context.getEnvironment()));
+		this.preinitializer.onApplicationEvent(new ApplicationPreparedEvent(
+				this.application, args, this.context));
+	}
+
+	private DataSource mockDataSource() throws Exception {
+		DataSource dataSource = mock(DataSource.class);
+		given(dataSource.getConnection()).willReturn(mock(Connection.class));
+		return dataSource;
+	}
+
+}
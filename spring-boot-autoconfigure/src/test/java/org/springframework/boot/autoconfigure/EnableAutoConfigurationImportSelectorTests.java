@@ -16,7 +16,11 @@
 
 package org.springframework.boot.autoconfigure;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -34,8 +38,10 @@ import org.springframework.core.type.AnnotationMetadata;
 
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertThat;
 import static org.mockito.BDDMockito.given;
 
@@ -47,7 +53,7 @@ import static org.mockito.BDDMockito.given;
 @RunWith(MockitoJUnitRunner.class)
 public class EnableAutoConfigurationImportSelectorTests {
 
-	private final EnableAutoConfigurationImportSelector importSelector = new EnableAutoConfigurationImportSelector();
+	private final TestEnableAutoConfigurationImportSelector importSelector = new TestEnableAutoConfigurationImportSelector();
 
 	private final ConfigurableListableBeanFactory beanFactory = new DefaultListableBeanFactory();
 
@@ -86,6 +92,18 @@ public class EnableAutoConfigurationImportSelectorTests {
 				contains(FreeMarkerAutoConfiguration.class.getName()));
 	}
 
+	@Test
+	public void importFiltersAreApplied() {
+		configureExclusions();
+		this.importSelector.filters.add(new TestAutoConfigurationImportFilter(
+				FreeMarkerAutoConfiguration.class.getName()));
+		String[] imports = this.importSelector.selectImports(this.annotationMetadata);
+		assertThat(imports.length,
+				is(equalTo(getAutoConfigurationClassNames().size() - 1)));
+		assertThat(Arrays.asList(imports),
+				not(hasItem(FreeMarkerAutoConfiguration.class.getName())));
+	}
+
 	private void configureExclusions(String... exclusions) {
 		given(
 				this.annotationMetadata.getAnnotationAttributes(
@@ -98,4 +116,38 @@ public class EnableAutoConfigurationImportSelectorTests {
 		return SpringFactoriesLoader.loadFactoryNames(EnableAutoConfiguration.class,
 				getClass().getClassLoader());
 	}
+
+	private static class TestEnableAutoConfigurationImportSelector extends
+			EnableAutoConfigurationImportSelector {
+
+		private final List<AutoConfigurationImportFilter> filters = new ArrayList<AutoConfigurationImportFilter>();
+
+		@Override
+		protected List<AutoConfigurationImportFilter> getAutoConfigurationImportFilters() {
+			return this.filters;
+		}
+
+	}
+
+	private static class TestAutoConfigurationImportFilter implements
+			AutoConfigurationImportFilter {
+
+		private final Set<String> nonMatching;
+
+		TestAutoConfigurationImportFilter(String... nonMatching) {
+			this.nonMatching = new HashSet<String>(Arrays.asList(nonMatching));
+		}
+
+		@Override
+		public boolean[] match(String[] autoConfigurationClasses,
+				AutoConfigurationMetadata autoConfigurationMetadata) {
+			boolean[] result = new boolean[autoConfigurationClasses.length];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = !this.nonMatching.contains(autoConfigurationClasses[i]);
+			}
+			return result;
+		}
+
+	}
+
 }
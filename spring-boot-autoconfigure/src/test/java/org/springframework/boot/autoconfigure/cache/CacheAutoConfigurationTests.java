@@ -32,6 +32,10 @@ import org.junit.rules.ExpectedException;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.boot.autoconfigure.cache.support.MockCachingProvider;
+import org.springframework.boot.cache.BoundedCache;
+import org.springframework.boot.cache.BoundedCacheManager;
+import org.springframework.boot.cache.InstrumentedCache;
+import org.springframework.boot.cache.NearCacheManager;
 import org.springframework.boot.test.EnvironmentTestUtils;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
@@ -55,6 +59,7 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 import com.google.common.cache.CacheBuilder;
 import com.hazelcast.cache.HazelcastCachingProvider;
@@ -66,6 +71,7 @@ import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
@@ -132,7 +138,7 @@ public class CacheAutoConfigurationTests {
 	@Test
 	public void simpleCacheExplicit() {
 		load(DefaultCacheConfiguration.class, "spring.cache.type=simple");
-		ConcurrentMapCacheManager cacheManager = validateCacheManager(ConcurrentMapCacheManager.class);
+		BoundedCacheManager cacheManager = validateCacheManager(BoundedCacheManager.class);
 		assertThat(cacheManager.getCacheNames(), is(empty()));
 	}
 
@@ -140,11 +146,36 @@ public class CacheAutoConfigurationTests {
 	public void simpleCacheExplicitWithCacheNames() {
 		load(DefaultCacheConfiguration.class, "spring.cache.type=simple",
 				"spring.cache.cacheNames[0]=foo", "spring.cache.cacheNames[1]=bar");
-		ConcurrentMapCacheManager cacheManager = validateCacheManager(ConcurrentMapCacheManager.class);
+		BoundedCacheManager cacheManager = validateCacheManager(BoundedCacheManager.class);
 		assertThat(cacheManager.getCacheNames(), containsInAnyOrder("foo", "bar"));
 		assertThat(cacheManager.getCacheNames(), hasSize(2));
 	}
 
+	@Test
+	public void simpleCacheExplicitWithCacheSettings() {
+		load(DefaultCacheConfiguration.class, "spring.cache.type=simple",
+				"spring.cache.simple.maximumSize=50",
+				"spring.cache.simple.caches.foo.maximumSize=10",
+				"spring.cache.simple.caches.foo.timeToLive=2000");
+		BoundedCacheManager cacheManager = validateCacheManager(BoundedCacheManager.class);
+		BoundedCache foo = (BoundedCache) cacheManager.getCache("foo");
+		assertThat(foo.getMaximumSize(), equalTo(10L));
+		assertThat(foo.getTimeToLive(), equalTo(2000L));
+		BoundedCache bar = (BoundedCache) cacheManager.getCache("bar");
+		assertThat(bar.getMaximumSize(), equalTo(50L));
+		assertThat(bar.getTimeToLive(), equalTo(0L));
+	}
+
+	@Test
+	public void simpleCacheInstrumented() {
+		load(DefaultCacheConfiguration.class, "spring.cache.type=simple",
+				"spring.cache.instrument=true", "spring.cache.cacheNames[0]=foo");
+		BoundedCacheManager cacheManager = validateCacheManager(BoundedCacheManager.class);
+		assertThat(this.context.getBean(BoundedCacheManager.class),
+				is(sameInstance(cacheManager)));
+		assertThat(cacheManager.getCache("foo"), is(instanceOf(InstrumentedCache.class)));
+	}
+
 	@Test
 	public void genericCacheWithCaches() {
 		load(GenericCacheConfiguration.class);
@@ -191,6 +222,20 @@ public class CacheAutoConfigurationTests {
 		assertThat(cacheManager.getCacheNames(), hasSize(2));
 	}
 
+	@Test
+	public void nearCacheExplicitWithCaches() {
+		load(RedisCacheConfiguration.class, "spring.cache.type=near",
+				"spring.cache.cacheNames[0]=foo", "spring.cache.cacheNames[1]=bar");
+		NearCacheManager cacheManager = validateCacheManager(NearCacheManager.class);
+		assertThat(cacheManager.getCacheNames(), containsInAnyOrder("foo", "bar"));
+		assertThat(cacheManager.getLocalCacheManager(),
+				is(instanceOf(GuavaCacheManager.class)));
+		assertThat(cacheManager.getRemoteCacheManager(),
+				is(instanceOf(RedisCacheManager.class)));
+		assertThat(this.context.getBeansOfType(RedisMessageListenerContainer.class)
+				.size(), equalTo(0));
+	}
+
 	@Test
 	public void noOpCacheExplicit() {
 		load(DefaultCacheConfiguration.class, "spring.cache.type=none");
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.boot.autoconfigure.cache;
+
+import org.junit.Test;
+import org.springframework.boot.autoconfigure.cache.NearCacheConfiguration.Invalidation;
+import org.springframework.boot.autoconfigure.cache.NearCacheConfiguration.RedisInvalidationListener;
+import org.springframework.boot.cache.BoundedCacheManager;
+import org.springframework.boot.cache.NearCacheManager;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link NearCacheConfiguration}.
+ *
+ * @author Agent
+ */
+public class NearCacheConfigurationTests {
+
+	private final NearCacheManager cacheManager = new NearCacheManager(
+			new BoundedCacheManager(), new ConcurrentMapCacheManager());
+
+	@Test
+	public void invalidationMessage() {
+		Invalidation invalidation = Invalidation.fromMessage(new Invalidation("origin",
+				"foo", 42).toMessage());
+		assertThat(invalidation.getOrigin(), equalTo("origin"));
+		assertThat(invalidation.getCacheName(), equalTo("foo"));
+		assertThat(invalidation.getKey(), equalTo("42"));
+		assertThat(Invalidation.fromMessage(new Invalidation("origin", "foo", null)
+				.toMessage()).getKey(), nullValue());
+	}
+
+	@Test
+	public void listenerEvictsMatchingLocalKey() {
+		Cache localCache = this.cacheManager.getLocalCacheManager().getCache("foo");
+		localCache.put(42, "a");
+		localCache.put(43, "b");
+		receive(new Invalidation("other", "foo", 42));
+		assertThat(localCache.get(42), nullValue());
+		assertThat(localCache.get(43), notNullValue());
+	}
+
+	@Test
+	public void listenerClearsLocalCache() {
+		Cache localCache = this.cacheManager.getLocalCacheManager().getCache("foo");
+		localCache.put(42, "a");
+		receive(new Invalidation("other", "foo", null));
+		assertThat(localCache.get(42), nullValue());
+	}
+
+	@Test
+	public void listenerIgnoresOwnInvalidations() {
+		Cache localCache = this.cacheManager.getLocalCacheManager().getCache("foo");
+		localCache.put(42, "a");
+		receive(new Invalidation("self", "foo", 42));
+		assertThat(localCache.get(42), notNullValue());
+	}
+
+	private void receive(Invalidation invalidation) {
+		new RedisInvalidationListener(this.cacheManager, "self").onMessage(
+				new DefaultMessage("channel".getBytes(), invalidation.toMessage()
+						.getBytes()), null);
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link ClassPresenceCache}.
+ *
+ * @author Agent
+ */
+public class ClassPresenceCacheTests {
+
+	private final ClassLoader classLoader = getClass().getClassLoader();
+
+	@Test
+	public void presentClass() {
+		ClassPresenceCache cache = new ClassPresenceCache(this.classLoader);
+		assertTrue(cache.isPresent(String.class.getName()));
+		assertTrue(cache.isPresent(ClassPresenceCacheTests.class.getName()));
+	}
+
+	@Test
+	public void nestedClass() {
+		ClassPresenceCache cache = new ClassPresenceCache(this.classLoader);
+		assertTrue(cache.isPresent(Nested.class.getName()));
+	}
+
+	@Test
+	public void missingClass() {
+		ClassPresenceCache cache = new ClassPresenceCache(this.classLoader);
+		assertFalse(cache.isPresent("com.example.DoesNotExist"));
+	}
+
+	@Test
+	public void classThatCannotBeLoaded() {
+		ClassLoader classLoader = new ClassLoader(this.classLoader) {
+
+			@Override
+			protected Class<?> loadClass(String name, boolean resolve)
+					throws ClassNotFoundException {
+				if (name.equals(Nested.class.getName())) {
+					throw new NoClassDefFoundError(name);
+				}
+				return super.loadClass(name, resolve);
+			}
+
+		};
+		ClassPresenceCache cache = new ClassPresenceCache(classLoader);
+		assertFalse(cache.isPresent(Nested.class.getName()));
+	}
+
+	@Test
+	public void resolveInParallel() {
+		List<String> classNames = new ArrayList<String>();
+		for (int i = 0; i < 100; i++) {
+			classNames.add("com.example.DoesNotExist" + i);
+		}
+		classNames.add(String.class.getName());
+		ClassPresenceCache cache = new ClassPresenceCache(this.classLoader);
+		cache.resolve(classNames);
+		assertTrue(cache.isPresent(String.class.getName()));
+		for (int i = 0; i < 100; i++) {
+			assertFalse(cache.isPresent("com.example.DoesNotExist" + i));
+		}
+	}
+
+	@Test
+	public void sharedByBeanFactory() {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		ClassPresenceCache cache = ClassPresenceCache.get(beanFactory, this.classLoader);
+		assertThat(ClassPresenceCache.get(beanFactory, this.classLoader),
+				sameInstance(cache));
+	}
+
+	static class Nested {
+
+	}
+
+}
@@ -29,6 +29,10 @@ import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
 import org.springframework.context.annotation.ImportResource;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.ConfigurableConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
@@ -82,6 +86,31 @@ public class ConditionalOnBeanTests {
 		assertEquals("bar", this.context.getBean("bar"));
 	}
 
+	@Test
+	public void testInterfaceOnBeanCondition() {
+		this.context.register(FooConfiguration.class,
+				OnBeanInterfaceConfiguration.class);
+		this.context.refresh();
+		assertTrue(this.context.containsBean("bar"));
+		assertEquals("bar", this.context.getBean("bar"));
+	}
+
+	@Test
+	public void testInheritedInterfaceOnBeanCondition() {
+		this.context.register(ConversionServiceConfiguration.class,
+				OnBeanConversionServiceConfiguration.class);
+		this.context.refresh();
+		assertTrue(this.context.containsBean("bar"));
+	}
+
+	@Test
+	public void testInheritedInterfaceOnInterfaceTypedBeanCondition() {
+		this.context.register(ConfigurableConversionServiceConfiguration.class,
+				OnBeanConversionServiceConfiguration.class);
+		this.context.refresh();
+		assertTrue(this.context.containsBean("bar"));
+	}
+
 	@Test
 	public void testClassOnBeanClassNameCondition() {
 		this.context.register(FooConfiguration.class, OnBeanClassNameConfiguration.class);
@@ -166,6 +195,40 @@ public class ConditionalOnBeanTests {
 		}
 	}
 
+	@Configuration
+	@ConditionalOnBean(CharSequence.class)
+	protected static class OnBeanInterfaceConfiguration {
+		@Bean
+		public String bar() {
+			return "bar";
+		}
+	}
+
+	@Configuration
+	@ConditionalOnBean(ConversionService.class)
+	protected static class OnBeanConversionServiceConfiguration {
+		@Bean
+		public String bar() {
+			return "bar";
+		}
+	}
+
+	@Configuration
+	protected static class ConversionServiceConfiguration {
+		@Bean
+		public GenericConversionService conversionService() {
+			return new GenericConversionService();
+		}
+	}
+
+	@Configuration
+	protected static class ConfigurableConversionServiceConfiguration {
+		@Bean
+		public ConfigurableConversionService conversionService() {
+			return new DefaultConversionService();
+		}
+	}
+
 	@Configuration
 	@ConditionalOnBean(type = "java.lang.String")
 	protected static class OnBeanClassNameConfiguration {
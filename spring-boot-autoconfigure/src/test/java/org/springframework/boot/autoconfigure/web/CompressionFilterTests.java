@@ -0,0 +1,456 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.web;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link CompressionFilter}.
+ *
+ * @author Agent
+ */
+public class CompressionFilterTests {
+
+	private ServerProperties.Compression compression = new ServerProperties.Compression();
+
+	private CompressionFilter filter;
+
+	private MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+
+	private MockHttpServletResponse response = new MockHttpServletResponse();
+
+	@After
+	public void destroy() {
+		if (this.filter != null) {
+			this.filter.destroy();
+		}
+	}
+
+	@Test
+	public void compressesLargeResponse() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip, deflate");
+		byte[] content = createContent(10000);
+		filter("text/html", content);
+		assertThat(this.response.getHeader("Content-Encoding"), equalTo("gzip"));
+		assertThat(this.response.getHeader("Vary"), equalTo("Accept-Encoding"));
+		assertThat(decompress(this.response.getContentAsByteArray()),
+				equalTo(content));
+	}
+
+	@Test
+	public void doesNotCompressSmallResponse() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip");
+		byte[] content = createContent(100);
+		filter("text/html", content);
+		assertThat(this.response.getHeader("Content-Encoding"), nullValue());
+		assertThat(this.response.getContentAsByteArray(), equalTo(content));
+	}
+
+	@Test
+	public void doesNotCompressWhenGzipIsNotAccepted() throws Exception {
+		byte[] content = createContent(10000);
+		filter("text/html", content);
+		assertThat(this.response.getHeader("Content-Encoding"), nullValue());
+		assertThat(this.response.getContentAsByteArray(), equalTo(content));
+	}
+
+	@Test
+	public void doesNotCompressUnlistedMimeType() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip");
+		byte[] content = createContent(10000);
+		filter("image/png", content);
+		assertThat(this.response.getHeader("Content-Encoding"), nullValue());
+		assertThat(this.response.getContentAsByteArray(), equalTo(content));
+	}
+
+	@Test
+	public void keepsContentLengthOfUncompressedResponse() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip");
+		byte[] content = createContent(100);
+		filter("image/png", content);
+		assertThat(this.response.getHeader("Content-Length"), equalTo("100"));
+	}
+
+	@Test
+	public void compressesInParallelBlocks() throws Exception {
+		this.compression.setParallelThreshold(1024);
+		this.request.addHeader("Accept-Encoding", "gzip");
+		byte[] content = createContent(1024 * 1024);
+		filter("application/json", content);
+		assertThat(this.response.getHeader("Content-Encoding"), equalTo("gzip"));
+		assertThat(decompress(this.response.getContentAsByteArray()),
+				equalTo(content));
+	}
+
+	@Test
+	public void compressesResponseOfUnknownLength() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip");
+		byte[] content = createContent(10000);
+		filter("text/html", content, false);
+		assertThat(this.response.getHeader("Content-Encoding"), equalTo("gzip"));
+		assertThat(decompress(this.response.getContentAsByteArray()),
+				equalTo(content));
+	}
+
+	@Test
+	public void doesNotCompressSmallResponseOfUnknownLength() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip");
+		byte[] content = createContent(100);
+		filter("text/html", content, false);
+		assertThat(this.response.getHeader("Content-Encoding"), nullValue());
+		assertThat(this.response.getContentAsByteArray(), equalTo(content));
+	}
+
+	@Test
+	public void compressesWriterOutput() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip");
+		final byte[] content = createContent(10000);
+		this.filter = new CompressionFilter(this.compression);
+		this.filter.doFilter(this.request, this.response, new MockFilterChain() {
+
+			@Override
+			public void doFilter(ServletRequest request, ServletResponse response)
+					throws IOException, ServletException {
+				super.doFilter(request, response);
+				response.setContentType("text/plain");
+				response.setCharacterEncoding("UTF-8");
+				PrintWriter writer = response.getWriter();
+				writer.write(new String(content, "UTF-8"));
+			}
+
+		});
+		assertThat(this.response.getHeader("Content-Encoding"), equalTo("gzip"));
+		assertThat(decompress(this.response.getContentAsByteArray()),
+				equalTo(content));
+	}
+
+	@Test
+	public void compressesAcrossFlush() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip");
+		final byte[] content = createContent(10000);
+		this.filter = new CompressionFilter(this.compression);
+		this.filter.doFilter(this.request, this.response, new MockFilterChain() {
+
+			@Override
+			public void doFilter(ServletRequest request, ServletResponse response)
+					throws IOException, ServletException {
+				super.doFilter(request, response);
+				response.setContentType("text/html");
+				response.getOutputStream().write(content, 0, 5000);
+				response.flushBuffer();
+				response.getOutputStream().write(content, 5000, 5000);
+			}
+
+		});
+		assertThat(this.response.getHeader("Content-Encoding"), equalTo("gzip"));
+		assertThat(decompress(this.response.getContentAsByteArray()),
+				equalTo(content));
+	}
+
+	@Test
+	public void resetAfterCompressionStarted() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip");
+		final byte[] discarded = createContent(5000);
+		final byte[] content = "<html>reset</html>".getBytes();
+		this.filter = new CompressionFilter(this.compression);
+		this.filter.doFilter(this.request, this.response, new MockFilterChain() {
+
+			@Override
+			public void doFilter(ServletRequest request, ServletResponse response)
+					throws IOException, ServletException {
+				super.doFilter(request, response);
+				response.setContentType("text/html");
+				response.getOutputStream().write(discarded);
+				response.reset();
+				response.setContentType("text/html");
+				response.getOutputStream().write(content);
+			}
+
+		});
+		assertThat(this.response.getHeader("Content-Encoding"), nullValue());
+		assertThat(this.response.getContentAsByteArray(), equalTo(content));
+	}
+
+	@Test
+	public void resetBufferAfterCompressionStarted() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip");
+		final byte[] discarded = createContent(5000);
+		final byte[] content = createContent(3000);
+		this.filter = new CompressionFilter(this.compression);
+		this.filter.doFilter(this.request, this.response, new MockFilterChain() {
+
+			@Override
+			public void doFilter(ServletRequest request, ServletResponse response)
+					throws IOException, ServletException {
+				super.doFilter(request, response);
+				response.setContentType("text/html");
+				response.getOutputStream().write(discarded);
+				response.resetBuffer();
+				response.getOutputStream().write(content);
+			}
+
+		});
+		assertThat(this.response.getHeader("Content-Encoding"), equalTo("gzip"));
+		assertThat(decompress(this.response.getContentAsByteArray()),
+				equalTo(content));
+	}
+
+	@Test
+	public void exceptionAfterCompressionStarted() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip");
+		final byte[] content = createContent(5000);
+		this.filter = new CompressionFilter(this.compression);
+		try {
+			this.filter.doFilter(this.request, this.response, new MockFilterChain() {
+
+				@Override
+				public void doFilter(ServletRequest request, ServletResponse response)
+						throws IOException, ServletException {
+					super.doFilter(request, response);
+					response.setContentType("text/html");
+					response.getOutputStream().write(content);
+					throw new ServletException("Failed");
+				}
+
+			});
+			fail("Did not throw");
+		}
+		catch (ServletException ex) {
+			// Expected
+		}
+		assertThat(this.response.isCommitted(), is(false));
+		assertThat(this.response.getHeader("Content-Encoding"), nullValue());
+		assertThat(this.response.getContentAsByteArray().length, equalTo(0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidLevel() throws Exception {
+		this.compression.setLevel(10);
+		this.filter = new CompressionFilter(this.compression);
+	}
+
+	@Test
+	public void compressesAcrossAsyncDispatch() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip");
+		this.request.setAsyncSupported(true);
+		final byte[] content = createContent(10000);
+		final DeferredResult<String> result = new DeferredResult<String>();
+		this.filter = new CompressionFilter(this.compression);
+		this.filter.doFilter(this.request, this.response, new MockFilterChain() {
+
+			@Override
+			public void doFilter(ServletRequest request, ServletResponse response)
+					throws IOException, ServletException {
+				super.doFilter(request, response);
+				response.setContentType("text/html");
+				response.getOutputStream().write(content, 0, 1000);
+				WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+				asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(
+						(HttpServletRequest) request, (HttpServletResponse) response));
+				try {
+					asyncManager.startDeferredResultProcessing(result);
+				}
+				catch (Exception ex) {
+					throw new IllegalStateException(ex);
+				}
+			}
+
+		});
+		assertThat(this.response.getContentAsByteArray().length, equalTo(0));
+		result.setResult("done");
+		this.request.setAsyncStarted(false);
+		this.filter.doFilter(this.request, this.response, new MockFilterChain() {
+
+			@Override
+			public void doFilter(ServletRequest request, ServletResponse response)
+					throws IOException, ServletException {
+				super.doFilter(request, response);
+				response.getOutputStream().write(content, 1000, 9000);
+			}
+
+		});
+		assertThat(this.response.getHeader("Content-Encoding"), equalTo("gzip"));
+		assertThat(decompress(this.response.getContentAsByteArray()),
+				equalTo(content));
+	}
+
+	@Test
+	public void nonBlockingOutputOnlyWrittenWhenReady() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip");
+		this.request.setAsyncSupported(true);
+		final byte[] content = createContent(10000);
+		final NonBlockingResponse response = new NonBlockingResponse(this.response);
+		final ServletOutputStream[] outputStream = new ServletOutputStream[1];
+		this.filter = new CompressionFilter(this.compression);
+		this.filter.doFilter(this.request, response, new MockFilterChain() {
+
+			@Override
+			public void doFilter(ServletRequest request, ServletResponse response)
+					throws IOException, ServletException {
+				super.doFilter(request, response);
+				response.setContentType("text/html");
+				outputStream[0] = response.getOutputStream();
+				outputStream[0].setWriteListener(new WriteListener() {
+
+					@Override
+					public void onWritePossible() throws IOException {
+					}
+
+					@Override
+					public void onError(Throwable throwable) {
+					}
+
+				});
+				outputStream[0].write(content);
+				request.startAsync();
+			}
+
+		});
+		response.ready = false;
+		outputStream[0].close();
+		assertThat(outputStream[0].isReady(), is(false));
+		assertThat(response.illegalWrites, equalTo(0));
+		response.ready = true;
+		response.writeListener.onWritePossible();
+		assertThat(response.illegalWrites, equalTo(0));
+		assertThat(decompress(response.content.toByteArray()), equalTo(content));
+	}
+
+	private void filter(String contentType, byte[] content) throws Exception {
+		filter(contentType, content, true);
+	}
+
+	private void filter(final String contentType, final byte[] content,
+			final boolean knownLength) throws Exception {
+		this.filter = new CompressionFilter(this.compression);
+		MockFilterChain chain = new MockFilterChain() {
+
+			@Override
+			public void doFilter(ServletRequest request, ServletResponse response)
+					throws IOException, ServletException {
+				super.doFilter(request, response);
+				response.setContentType(contentType);
+				if (knownLength) {
+					response.setContentLength(content.length);
+				}
+				for (int i = 0; i < content.length; i += 1000) {
+					response.getOutputStream().write(content, i,
+							Math.min(1000, content.length - i));
+				}
+			}
+
+		};
+		this.filter.doFilter(this.request, this.response, chain);
+	}
+
+	private byte[] createContent(int length) {
+		StringBuilder content = new StringBuilder();
+		int line = 0;
+		while (content.length() < length) {
+			content.append("<div id='line" + line + "'>" + (line * 31) + "</div>\n");
+			line++;
+		}
+		return content.substring(0, length).getBytes();
+	}
+
+	private byte[] decompress(byte[] compressed) throws IOException {
+		return FileCopyUtils.copyToByteArray(new GZIPInputStream(
+				new ByteArrayInputStream(compressed)));
+	}
+
+	/**
+	 * Response with a non-blocking output stream whose readiness can be controlled.
+	 */
+	private static class NonBlockingResponse extends HttpServletResponseWrapper {
+
+		private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+		private boolean ready = true;
+
+		private int illegalWrites;
+
+		private WriteListener writeListener;
+
+		private final ServletOutputStream outputStream = new ServletOutputStream() {
+
+			@Override
+			public void write(int b) throws IOException {
+				write(new byte[] { (byte) b }, 0, 1);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				if (!NonBlockingResponse.this.ready) {
+					NonBlockingResponse.this.illegalWrites++;
+				}
+				NonBlockingResponse.this.content.write(b, off, len);
+			}
+
+			@Override
+			public boolean isReady() {
+				return NonBlockingResponse.this.ready;
+			}
+
+			@Override
+			public void setWriteListener(WriteListener writeListener) {
+				NonBlockingResponse.this.writeListener = writeListener;
+			}
+
+		};
+
+		NonBlockingResponse(HttpServletResponse response) {
+			super(response);
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			return this.outputStream;
+		}
+
+	}
+
+}
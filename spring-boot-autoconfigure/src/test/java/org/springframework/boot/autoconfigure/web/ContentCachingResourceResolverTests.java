@@ -0,0 +1,164 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.web;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.boot.autoconfigure.web.ContentCachingResourceResolver.CachedContentResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link ContentCachingResourceResolver}.
+ *
+ * @author Agent
+ */
+public class ContentCachingResourceResolverTests {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+	private ContentCachingResourceResolver resolver;
+
+	private TestResourceResolverChain chain;
+
+	@Before
+	public void setup() {
+		this.resolver = new ContentCachingResourceResolver(10, 5);
+		this.chain = new TestResourceResolverChain();
+	}
+
+	@Test
+	public void cachesSmallResource() throws Exception {
+		File file = createFile("test.txt", "abc");
+		this.chain.resource = new FileSystemResource(file);
+		Resource resolved = resolve();
+		assertThat(resolved, instanceOf(CachedContentResource.class));
+		assertThat(read(resolved), equalTo("abc"));
+		assertThat(resolved.contentLength(), equalTo(3L));
+		assertThat(resolved.lastModified(), equalTo(file.lastModified()));
+		assertThat(resolved.getFilename(), equalTo("test.txt"));
+		writeFile(file, "xyz");
+		assertThat(read(resolve()), equalTo("abc"));
+	}
+
+	@Test
+	public void refreshesModifiedResource() throws Exception {
+		File file = createFile("test.txt", "abc");
+		this.chain.resource = new FileSystemResource(file);
+		assertThat(read(resolve()), equalTo("abc"));
+		writeFile(file, "xyz");
+		file.setLastModified(file.lastModified() + 10000);
+		assertThat(read(resolve()), equalTo("xyz"));
+	}
+
+	@Test
+	public void doesNotCacheLargeResource() throws Exception {
+		File file = createFile("test.txt", "abcdef");
+		this.chain.resource = new FileSystemResource(file);
+		Resource resolved = resolve();
+		assertThat(resolved, not(instanceOf(CachedContentResource.class)));
+		assertThat(read(resolved), equalTo("abcdef"));
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsed() throws Exception {
+		File first = createFile("first.txt", "abcd");
+		File second = createFile("second.txt", "efgh");
+		File third = createFile("third.txt", "ijkl");
+		this.chain.resource = new FileSystemResource(first);
+		resolve();
+		this.chain.resource = new FileSystemResource(second);
+		resolve();
+		this.chain.resource = new FileSystemResource(third);
+		resolve();
+		writeFile(first, "mnop");
+		writeFile(third, "qrst");
+		this.chain.resource = new FileSystemResource(first);
+		assertThat(read(resolve()), equalTo("mnop"));
+		this.chain.resource = new FileSystemResource(third);
+		assertThat(read(resolve()), equalTo("ijkl"));
+	}
+
+	@Test
+	public void missingResource() throws Exception {
+		assertThat(resolve(), equalTo(null));
+	}
+
+	private Resource resolve() {
+		List<Resource> locations = Collections.emptyList();
+		return this.resolver.resolveResource(this.request, "test.txt", locations,
+				this.chain);
+	}
+
+	private String read(Resource resource) throws IOException {
+		return new String(StreamUtils.copyToByteArray(resource.getInputStream()),
+				"UTF-8");
+	}
+
+	private File createFile(String name, String content) throws IOException {
+		File file = this.temp.newFile(name);
+		writeFile(file, content);
+		return file;
+	}
+
+	private void writeFile(File file, String content) throws IOException {
+		long lastModified = file.lastModified();
+		FileCopyUtils.copy(content.getBytes("UTF-8"), new FileOutputStream(file));
+		file.setLastModified(lastModified);
+	}
+
+	private static class TestResourceResolverChain implements ResourceResolverChain {
+
+		private Resource resource;
+
+		@Override
+		public Resource resolveResource(HttpServletRequest request, String requestPath,
+				List<? extends Resource> locations) {
+			return this.resource;
+		}
+
+		@Override
+		public String resolveUrlPath(String resourcePath,
+				List<? extends Resource> locations) {
+			return resourcePath;
+		}
+
+	}
+
+}
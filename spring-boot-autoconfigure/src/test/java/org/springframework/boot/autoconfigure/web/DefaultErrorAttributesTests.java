@@ -35,6 +35,7 @@ import org.springframework.web.servlet.ModelAndView;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.Matchers.startsWith;
@@ -190,6 +191,24 @@ public class DefaultErrorAttributesTests {
 		assertThat(attributes.get("trace"), nullValue());
 	}
 
+	@Test
+	public void traceRateLimited() throws Exception {
+		this.errorAttributes.setMaxStackTracesPerSecond(1);
+		RuntimeException ex = new RuntimeException("Test");
+		this.request.setAttribute("javax.servlet.error.exception", ex);
+		int traces = 0;
+		for (int i = 0; i < 10; i++) {
+			Map<String, Object> attributes = this.errorAttributes.getErrorAttributes(
+					this.requestAttributes, true);
+			if (attributes.containsKey("trace")) {
+				traces++;
+			}
+			assertThat(attributes.get("message"), equalTo((Object) "Test"));
+		}
+		// At most one per second (the loop may straddle a second boundary)
+		assertThat(traces, lessThanOrEqualTo(2));
+	}
+
 	@Test
 	public void path() throws Exception {
 		this.request.setAttribute("javax.servlet.error.request_uri", "path");
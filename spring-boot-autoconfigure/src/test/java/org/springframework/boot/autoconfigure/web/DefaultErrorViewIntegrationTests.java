@@ -90,6 +90,19 @@ public class DefaultErrorViewIntegrationTests {
 		assertTrue("Wrong content: " + content, content.contains("999"));
 	}
 
+	@Test
+	public void testErrorWithPlaceholderInMessage() throws Exception {
+		MvcResult response = this.mockMvc
+				.perform(
+						get("/error").requestAttr("javax.servlet.error.exception",
+								new RuntimeException("${status}")).accept(
+								MediaType.TEXT_HTML)).andExpect(status().isOk())
+				.andReturn();
+		String content = response.getResponse().getContentAsString();
+		assertTrue("Wrong content: " + content,
+				content.contains("<div>${status}</div>"));
+	}
+
 	@Target(ElementType.TYPE)
 	@Retention(RetentionPolicy.RUNTIME)
 	@Documented
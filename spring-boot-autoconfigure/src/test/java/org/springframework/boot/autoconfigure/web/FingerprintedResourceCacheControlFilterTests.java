@@ -0,0 +1,99 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.web;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.FileCopyUtils;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link FingerprintedResourceCacheControlFilter},
+ * {@link FingerprintVersionStrategy} and {@link ResourceFingerprints}.
+ *
+ * @author Agent
+ */
+public class FingerprintedResourceCacheControlFilterTests {
+
+	private static final String HASH = "900150983cd24fb0d6963f7d28e17f72";
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private ResourceFingerprints fingerprints;
+
+	@Before
+	public void setup() throws Exception {
+		File root = this.temp.newFolder();
+		File file = new File(root, ResourceFingerprints.LOCATION);
+		file.getParentFile().mkdirs();
+		FileCopyUtils.copy(("static/css/site.css=" + HASH + "\n").getBytes(), file);
+		URLClassLoader classLoader = new URLClassLoader(new URL[] { root.toURI()
+				.toURL() }, null);
+		this.fingerprints = ResourceFingerprints.load(classLoader);
+	}
+
+	@Test
+	public void fingerprintedRequest() throws Exception {
+		MockHttpServletResponse response = filter("/css/site-" + HASH + ".css");
+		assertThat(response.getHeader("Cache-Control"),
+				equalTo("max-age=31536000, public"));
+	}
+
+	@Test
+	public void wrongFingerprint() throws Exception {
+		MockHttpServletResponse response = filter("/css/site-abc.css");
+		assertThat(response.getHeader("Cache-Control"), nullValue());
+	}
+
+	@Test
+	public void unversionedRequest() throws Exception {
+		MockHttpServletResponse response = filter("/css/site.css");
+		assertThat(response.getHeader("Cache-Control"), nullValue());
+	}
+
+	@Test
+	public void versionStrategyUsesFingerprint() throws Exception {
+		FingerprintVersionStrategy strategy = new FingerprintVersionStrategy(
+				this.fingerprints);
+		Resource resource = new ClassPathResource("static/css/site.css");
+		assertThat(strategy.getResourceVersion(resource), equalTo(HASH));
+	}
+
+	private MockHttpServletResponse filter(String path) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		new FingerprintedResourceCacheControlFilter(this.fingerprints).doFilter(request,
+				response, new MockFilterChain());
+		return response;
+	}
+
+}
@@ -30,6 +30,7 @@ import org.springframework.boot.context.embedded.ConfigurableEmbeddedServletCont
 import org.springframework.boot.context.embedded.EmbeddedServletContainerCustomizer;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerCustomizerBeanPostProcessor;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerFactory;
+import org.springframework.boot.context.embedded.FilterRegistrationBean;
 import org.springframework.boot.context.embedded.jetty.JettyEmbeddedServletContainerFactory;
 import org.springframework.boot.context.embedded.tomcat.TomcatEmbeddedServletContainerFactory;
 import org.springframework.boot.context.embedded.undertow.UndertowEmbeddedServletContainerFactory;
@@ -38,8 +39,11 @@ import org.springframework.context.ApplicationContextException;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -98,6 +102,30 @@ public class ServerPropertiesAutoConfigurationTests {
 		verify(containerFactory).setPort(9000);
 	}
 
+	@Test
+	public void compressionFilterDisabledByDefault() throws Exception {
+		this.context = new AnnotationConfigEmbeddedWebApplicationContext();
+		this.context.register(Config.class, ServerPropertiesAutoConfiguration.class,
+				PropertyPlaceholderAutoConfiguration.class);
+		this.context.refresh();
+		assertFalse(this.context.containsBean("compressionFilter"));
+	}
+
+	@Test
+	public void compressionFilter() throws Exception {
+		this.context = new AnnotationConfigEmbeddedWebApplicationContext();
+		this.context.register(Config.class, ServerPropertiesAutoConfiguration.class,
+				PropertyPlaceholderAutoConfiguration.class);
+		EnvironmentTestUtils.addEnvironment(this.context,
+				"server.compression.enabled:true",
+				"server.compression.min-response-size:1024");
+		this.context.refresh();
+		assertThat(this.context.getBean("compressionFilter"),
+				instanceOf(FilterRegistrationBean.class));
+		assertEquals(1024, this.context.getBean(ServerProperties.class)
+				.getCompression().getMinResponseSize());
+	}
+
 	@Test
 	public void customizeWithJettyContainerFactory() throws Exception {
 		this.context = new AnnotationConfigEmbeddedWebApplicationContext();
@@ -58,15 +58,21 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter
 import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
 import org.springframework.web.servlet.i18n.FixedLocaleResolver;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.resource.CachingResourceResolver;
+import org.springframework.web.servlet.resource.GzipResourceResolver;
 import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
 import org.springframework.web.servlet.view.AbstractView;
 import org.springframework.web.servlet.view.ContentNegotiatingViewResolver;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -175,6 +181,57 @@ public class WebMvcAutoConfigurationTests {
 		assertThat(mappingLocations.size(), equalTo(0));
 	}
 
+	@Test
+	public void resourceHandlerChainEnabled() throws Exception {
+		this.context = new AnnotationConfigEmbeddedWebApplicationContext();
+		EnvironmentTestUtils.addEnvironment(this.context,
+				"spring.resources.chain.gzipped:true");
+		this.context.register(Config.class, WebMvcAutoConfiguration.class,
+				HttpMessageConvertersAutoConfiguration.class,
+				PropertyPlaceholderAutoConfiguration.class);
+		this.context.refresh();
+		List<ResourceResolver> resolvers = getResourceResolvers("/**");
+		assertThat(resolvers.get(0), instanceOf(ContentCachingResourceResolver.class));
+		assertThat(resolvers.get(1), instanceOf(CachingResourceResolver.class));
+		assertThat(resolvers.get(2), instanceOf(GzipResourceResolver.class));
+		List<ResourceResolver> webjarsResolvers = getResourceResolvers("/webjars/**");
+		assertThat(webjarsResolvers.get(0), sameInstance(resolvers.get(0)));
+		assertThat(webjarsResolvers.get(1), not(sameInstance(resolvers.get(1))));
+	}
+
+	@Test
+	public void resourceHandlerChainWithContentStrategy() throws Exception {
+		this.context = new AnnotationConfigEmbeddedWebApplicationContext();
+		EnvironmentTestUtils.addEnvironment(this.context,
+				"spring.resources.chain.strategy.content.enabled:true");
+		this.context.register(Config.class, WebMvcAutoConfiguration.class,
+				HttpMessageConvertersAutoConfiguration.class,
+				PropertyPlaceholderAutoConfiguration.class);
+		this.context.refresh();
+		List<ResourceResolver> resolvers = getResourceResolvers("/**");
+		assertThat(resolvers.get(2), instanceOf(VersionResourceResolver.class));
+		VersionResourceResolver versionResolver = (VersionResourceResolver) resolvers
+				.get(2);
+		assertThat(versionResolver.getStrategyMap().get("/**"),
+				instanceOf(FingerprintVersionStrategy.class));
+		assertThat(
+				this.context
+						.getBeansOfType(FingerprintedResourceCacheControlFilter.class)
+						.size(), equalTo(1));
+	}
+
+	@Test
+	public void resourceHandlerChainDisabledByDefault() throws Exception {
+		this.context = new AnnotationConfigEmbeddedWebApplicationContext();
+		this.context.register(Config.class, WebMvcAutoConfiguration.class,
+				HttpMessageConvertersAutoConfiguration.class,
+				PropertyPlaceholderAutoConfiguration.class);
+		this.context.refresh();
+		for (ResourceResolver resolver : getResourceResolvers("/**")) {
+			assertThat(resolver, not(instanceOf(ContentCachingResourceResolver.class)));
+		}
+	}
+
 	@Test
 	public void noLocaleResolver() throws Exception {
 		this.context = new AnnotationConfigEmbeddedWebApplicationContext();
@@ -279,6 +336,14 @@ public class WebMvcAutoConfigurationTests {
 		return getMappingLocations(mapping);
 	}
 
+	protected List<ResourceResolver> getResourceResolvers(String mapping) {
+		SimpleUrlHandlerMapping handlerMapping = (SimpleUrlHandlerMapping) this.context
+				.getBean("resourceHandlerMapping");
+		ResourceHttpRequestHandler handler = (ResourceHttpRequestHandler) handlerMapping
+				.getHandlerMap().get(mapping);
+		return handler.getResourceResolvers();
+	}
+
 	@SuppressWarnings("unchecked")
 	protected Map<String, List<Resource>> getMappingLocations(HandlerMapping mapping)
 			throws IllegalAccessException {
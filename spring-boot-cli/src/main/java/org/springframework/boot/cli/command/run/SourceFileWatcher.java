@@ -0,0 +1,119 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.cli.command.run;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.lang.UsesJava7;
+
+/**
+ * Watches source files for changes using a {@link WatchService}. Changes are reported
+ * once no further event has been received for a quiet period so that a burst of events
+ * (for instance an editor saving several files) only triggers a single reload.
+ *
+ * @author Agent
+ * @since 1.3.0
+ */
+@UsesJava7
+class SourceFileWatcher {
+
+	private final WatchService watchService;
+
+	private final Map<Path, File> files = new HashMap<Path, File>();
+
+	private final long quietPeriod;
+
+	/**
+	 * Create a new {@link SourceFileWatcher} instance.
+	 * @param files the files to watch
+	 * @param quietPeriod the time in milliseconds without any event that must elapse
+	 * before changes are reported
+	 * @throws IOException if the files cannot be watched
+	 */
+	SourceFileWatcher(List<File> files, long quietPeriod) throws IOException {
+		this.watchService = FileSystems.getDefault().newWatchService();
+		this.quietPeriod = quietPeriod;
+		Set<Path> directories = new HashSet<Path>();
+		for (File file : files) {
+			Path path = file.getAbsoluteFile().toPath().normalize();
+			this.files.put(path, file);
+			if (directories.add(path.getParent())) {
+				path.getParent().register(this.watchService,
+						StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_MODIFY,
+						StandardWatchEventKinds.ENTRY_DELETE);
+			}
+		}
+	}
+
+	/**
+	 * Wait until at least one of the watched files has changed.
+	 * @return the changed files
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public Set<File> waitForChanges() throws InterruptedException {
+		Set<File> changed = new LinkedHashSet<File>();
+		while (true) {
+			WatchKey key = (changed.isEmpty() ? this.watchService.take()
+					: this.watchService.poll(this.quietPeriod, TimeUnit.MILLISECONDS));
+			if (key == null) {
+				return changed;
+			}
+			collectChanges(key, changed);
+		}
+	}
+
+	private void collectChanges(WatchKey key, Set<File> changed) {
+		Path directory = (Path) key.watchable();
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				changed.addAll(this.files.values());
+			}
+			else {
+				File file = this.files.get(directory.resolve((Path) event.context()));
+				if (file != null) {
+					changed.add(file);
+				}
+			}
+		}
+		key.reset();
+	}
+
+	public void close() {
+		try {
+			this.watchService.close();
+		}
+		catch (IOException ex) {
+			// Ignore
+		}
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.boot.cli.command.run;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -28,6 +29,7 @@ import java.util.logging.Level;
 import org.springframework.boot.cli.app.SpringApplicationLauncher;
 import org.springframework.boot.cli.compiler.GroovyCompiler;
 import org.springframework.boot.cli.util.ResourceUtils;
+import org.springframework.util.ClassUtils;
 
 /**
  * Compiles Groovy code running the resulting classes using a {@code SpringApplication}.
@@ -39,6 +41,11 @@ import org.springframework.boot.cli.util.ResourceUtils;
  */
 public class SpringApplicationRunner {
 
+	private static final boolean WATCH_SERVICE_AVAILABLE = ClassUtils.isPresent(
+			"java.nio.file.WatchService", null);
+
+	private static final long WATCH_QUIET_PERIOD = 200;
+
 	private static int watcherCounter = 0;
 
 	private static int runnerCounter = 0;
@@ -177,7 +184,9 @@ public class SpringApplicationRunner {
 	}
 
 	/**
-	 * Thread to watch for file changes and trigger recompile/reload.
+	 * Thread to watch for file changes and trigger recompile/reload. Uses a
+	 * {@link SourceFileWatcher} when running on Java 7 or later and falls back to polling
+	 * otherwise.
 	 */
 	private class FileWatchThread extends Thread {
 
@@ -222,6 +231,39 @@ public class SpringApplicationRunner {
 
 		@Override
 		public void run() {
+			if (WATCH_SERVICE_AVAILABLE) {
+				try {
+					watch(new SourceFileWatcher(this.sources, WATCH_QUIET_PERIOD));
+					return;
+				}
+				catch (IOException ex) {
+					// Fall back to polling
+				}
+			}
+			poll();
+		}
+
+		private void watch(SourceFileWatcher watcher) {
+			try {
+				while (!isInterrupted()) {
+					watcher.waitForChanges();
+					try {
+						compileAndRun();
+					}
+					catch (Exception ex) {
+						// Swallow, will be reported by compileAndRun
+					}
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			finally {
+				watcher.close();
+			}
+		}
+
+		private void poll() {
 			while (true) {
 				try {
 					Thread.sleep(TimeUnit.SECONDS.toMillis(1));
@@ -147,6 +147,24 @@ public class ExtendedGroovyClassLoader extends GroovyClassLoader {
 		return this.configuration;
 	}
 
+	/**
+	 * Make a class compiled previously visible to subsequent compilations, typically
+	 * after {@link #clearCache()} has been called.
+	 * @param compiledClass the compiled class
+	 */
+	void registerCompiledClass(Class<?> compiledClass) {
+		setClassCacheEntry(compiledClass);
+	}
+
+	/**
+	 * Return the bytecode of a class compiled by this loader.
+	 * @param className the name of the class
+	 * @return the bytecode or {@code null}
+	 */
+	byte[] getCompiledClassBytes(String className) {
+		return this.classResources.get(className.replace(".", "/") + ".class");
+	}
+
 	/**
 	 * Inner collector class used to track as classes are added.
 	 */
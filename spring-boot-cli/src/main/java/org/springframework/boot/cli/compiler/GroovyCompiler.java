@@ -23,14 +23,22 @@ import groovy.lang.GroovyCodeSource;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.net.URL;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.zip.CRC32;
 
 import org.codehaus.groovy.ast.ASTNode;
 import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.ModuleNode;
 import org.codehaus.groovy.classgen.GeneratorContext;
 import org.codehaus.groovy.control.CompilationFailedException;
 import org.codehaus.groovy.control.CompilationUnit;
@@ -48,6 +56,9 @@ import org.springframework.boot.cli.compiler.grape.DependencyResolutionContext;
 import org.springframework.boot.cli.compiler.grape.GrapeEngineInstaller;
 import org.springframework.boot.cli.util.ResourceUtils;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
 
 /**
  * Compiler for Groovy sources. Primarily a simple Facade for
@@ -70,6 +81,8 @@ import org.springframework.core.annotation.AnnotationAwareOrderComparator;
  */
 public class GroovyCompiler {
 
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
 	private final GroovyCompilerConfiguration configuration;
 
 	private final ExtendedGroovyClassLoader loader;
@@ -78,6 +91,8 @@ public class GroovyCompiler {
 
 	private final List<ASTTransformation> transformations;
 
+	private final Map<String, CompiledSource> compiledSources = new HashMap<String, CompiledSource>();
+
 	/**
 	 * Create a new {@link GroovyCompiler} instance.
 	 * @param configuration the compiler configuration
@@ -168,6 +183,10 @@ public class GroovyCompiler {
 	 * Compile the specified Groovy sources, applying any
 	 * {@link CompilerAutoConfiguration}s. All classes defined in the sources will be
 	 * returned from this method.
+	 * <p>
+	 * When called more than once, only the sources whose content has changed since the
+	 * previous compilation, along with the sources that reference classes they define,
+	 * are recompiled. Classes of other sources are reused.
 	 * @param sources the sources to compile
 	 * @return compiled classes
 	 * @throws CompilationFailedException
@@ -176,8 +195,55 @@ public class GroovyCompiler {
 	public Class<?>[] compile(String... sources) throws CompilationFailedException,
 			IOException {
 
+		Set<String> paths = new LinkedHashSet<String>();
+		for (String source : sources) {
+			paths.addAll(ResourceUtils.getUrls(source, this.loader));
+		}
+		Map<String, Long> checksums = new HashMap<String, Long>();
+		for (String path : paths) {
+			checksums.put(path, getChecksum(path));
+		}
+		this.compiledSources.keySet().retainAll(paths);
+		Set<String> staleSources = getStaleSources(paths, checksums);
+
 		this.loader.clearCache();
+		for (Map.Entry<String, CompiledSource> entry : this.compiledSources.entrySet()) {
+			if (!staleSources.contains(entry.getKey())) {
+				for (Class<?> compiledClass : entry.getValue().getClasses()) {
+					this.loader.registerCompiledClass(compiledClass);
+				}
+			}
+		}
+		if (!staleSources.isEmpty()) {
+			compile(staleSources, checksums);
+		}
+
 		List<Class<?>> classes = new ArrayList<Class<?>>();
+		List<ClassNode> classNodes = new ArrayList<ClassNode>();
+		for (String path : paths) {
+			CompiledSource compiledSource = this.compiledSources.get(path);
+			classes.addAll(compiledSource.getClasses());
+			classNodes.addAll(compiledSource.getClassNodes());
+		}
+		ClassNode mainClassNode = getMainClass(classNodes);
+
+		Class<?> mainClass = null;
+		for (Class<?> loadedClass : classes) {
+			if (mainClassNode != null
+					&& mainClassNode.getName().equals(loadedClass.getName())) {
+				mainClass = loadedClass;
+			}
+		}
+		if (mainClass != null) {
+			classes.remove(mainClass);
+			classes.add(0, mainClass);
+		}
+
+		return classes.toArray(new Class<?>[classes.size()]);
+	}
+
+	private void compile(Set<String> paths, Map<String, Long> checksums)
+			throws CompilationFailedException, IOException {
 
 		CompilerConfiguration configuration = this.loader.getConfiguration();
 
@@ -186,33 +252,142 @@ public class GroovyCompiler {
 		ClassCollector collector = this.loader.createCollector(compilationUnit, null);
 		compilationUnit.setClassgenCallback(collector);
 
-		for (String source : sources) {
-			List<String> paths = ResourceUtils.getUrls(source, this.loader);
-			for (String path : paths) {
-				compilationUnit.addSource(new URL(path));
-			}
+		Map<SourceUnit, String> sourceUnits = new HashMap<SourceUnit, String>();
+		for (String path : paths) {
+			sourceUnits.put(compilationUnit.addSource(new URL(path)), path);
 		}
 
 		addAstTransformations(compilationUnit);
 
 		compilationUnit.compile(Phases.CLASS_GENERATION);
+
+		Map<String, String> classSources = new HashMap<String, String>();
+		MultiValueMap<String, ClassNode> classNodes = new LinkedMultiValueMap<String, ClassNode>();
+		for (Object moduleNode : compilationUnit.getAST().getModules()) {
+			ModuleNode module = (ModuleNode) moduleNode;
+			String path = sourceUnits.get(module.getContext());
+			for (ClassNode classNode : module.getClasses()) {
+				classSources.put(classNode.getName(), path);
+				classNodes.add(path, classNode);
+			}
+		}
+		MultiValueMap<String, Class<?>> classes = new LinkedMultiValueMap<String, Class<?>>();
 		for (Object loadedClass : collector.getLoadedClasses()) {
-			classes.add((Class<?>) loadedClass);
+			String name = ((Class<?>) loadedClass).getName();
+			String path = classSources.get(name);
+			if (path == null && name.contains("$")) {
+				// Generated classes such as closures belong to their outer class
+				path = classSources.get(name.substring(0, name.indexOf("$")));
+			}
+			classes.add(path != null ? path : paths.iterator().next(),
+					(Class<?>) loadedClass);
 		}
-		ClassNode mainClassNode = getMainClass(compilationUnit);
+		for (String path : paths) {
+			this.compiledSources.put(path, new CompiledSource(checksums.get(path),
+					classNodes.get(path), classes.get(path)));
+		}
+	}
 
-		Class<?> mainClass = null;
-		for (Class<?> loadedClass : classes) {
-			if (mainClassNode.getName().equals(loadedClass.getName())) {
-				mainClass = loadedClass;
+	private long getChecksum(String path) throws IOException {
+		CRC32 checksum = new CRC32();
+		checksum.update(FileCopyUtils.copyToByteArray(new URL(path).openStream()));
+		return checksum.getValue();
+	}
+
+	private Set<String> getStaleSources(Set<String> paths, Map<String, Long> checksums) {
+		Set<String> staleSources = new LinkedHashSet<String>();
+		for (String path : paths) {
+			CompiledSource compiledSource = this.compiledSources.get(path);
+			if (compiledSource == null
+					|| compiledSource.getChecksum() != checksums.get(path)) {
+				staleSources.add(path);
 			}
 		}
-		if (mainClass != null) {
-			classes.remove(mainClass);
-			classes.add(0, mainClass);
+		if (staleSources.isEmpty() || staleSources.size() == paths.size()) {
+			return staleSources;
 		}
+		// The application is launched with the class loader of the main class so it is
+		// always recompiled to avoid exposing stale classes
+		String mainSource = getMainSource(paths);
+		if (mainSource != null) {
+			staleSources.add(mainSource);
+		}
+		addDependentSources(paths, staleSources);
+		return staleSources;
+	}
 
-		return classes.toArray(new Class<?>[classes.size()]);
+	private String getMainSource(Set<String> paths) {
+		List<ClassNode> classNodes = new ArrayList<ClassNode>();
+		for (String path : paths) {
+			CompiledSource compiledSource = this.compiledSources.get(path);
+			if (compiledSource != null) {
+				classNodes.addAll(compiledSource.getClassNodes());
+			}
+		}
+		ClassNode mainClassNode = getMainClass(classNodes);
+		for (String path : paths) {
+			CompiledSource compiledSource = this.compiledSources.get(path);
+			if (compiledSource != null
+					&& compiledSource.getClassNodes().contains(mainClassNode)) {
+				return path;
+			}
+		}
+		return null;
+	}
+
+	private void addDependentSources(Set<String> paths, Set<String> staleSources) {
+		Set<String> changedClassNames = new HashSet<String>();
+		for (String path : staleSources) {
+			addInternalClassNames(path, changedClassNames);
+		}
+		boolean found = true;
+		while (found) {
+			found = false;
+			for (String path : paths) {
+				if (!staleSources.contains(path)
+						&& isReferencingAny(path, changedClassNames)) {
+					staleSources.add(path);
+					addInternalClassNames(path, changedClassNames);
+					found = true;
+				}
+			}
+		}
+	}
+
+	private void addInternalClassNames(String path, Set<String> classNames) {
+		CompiledSource compiledSource = this.compiledSources.get(path);
+		if (compiledSource != null) {
+			for (Class<?> compiledClass : compiledSource.getClasses()) {
+				classNames.add(compiledClass.getName().replace(".", "/"));
+			}
+		}
+	}
+
+	private boolean isReferencingAny(String path, Set<String> internalClassNames) {
+		for (Class<?> compiledClass : this.compiledSources.get(path).getClasses()) {
+			byte[] bytes = this.loader.getCompiledClassBytes(compiledClass.getName());
+			if (bytes == null) {
+				return true;
+			}
+			for (String internalClassName : internalClassNames) {
+				if (contains(bytes, internalClassName.getBytes(UTF_8))) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static boolean contains(byte[] bytes, byte[] candidate) {
+		outer: for (int i = 0; i <= bytes.length - candidate.length; i++) {
+			for (int j = 0; j < candidate.length; j++) {
+				if (bytes[i + j] != candidate[j]) {
+					continue outer;
+				}
+			}
+			return true;
+		}
+		return false;
 	}
 
 	@SuppressWarnings("rawtypes")
@@ -299,9 +474,37 @@ public class GroovyCompiler {
 
 	}
 
-	@SuppressWarnings("unchecked")
-	private static ClassNode getMainClass(CompilationUnit source) {
-		return getMainClass(source.getAST().getClasses());
+	/**
+	 * The classes compiled from a single source.
+	 */
+	private static class CompiledSource {
+
+		private final long checksum;
+
+		private final List<ClassNode> classNodes;
+
+		private final List<Class<?>> classes;
+
+		CompiledSource(long checksum, List<ClassNode> classNodes, List<Class<?>> classes) {
+			this.checksum = checksum;
+			this.classNodes = (classNodes != null ? classNodes : Collections
+					.<ClassNode>emptyList());
+			this.classes = (classes != null ? classes : Collections
+					.<Class<?>>emptyList());
+		}
+
+		public long getChecksum() {
+			return this.checksum;
+		}
+
+		public List<ClassNode> getClassNodes() {
+			return this.classNodes;
+		}
+
+		public List<Class<?>> getClasses() {
+			return this.classes;
+		}
+
 	}
 
 	private static ClassNode getMainClass(List<ClassNode> classes) {
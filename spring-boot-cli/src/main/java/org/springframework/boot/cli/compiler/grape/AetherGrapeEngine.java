@@ -193,23 +193,90 @@ public class AetherGrapeEngine implements GrapeEngine {
 		return (transitive == null ? true : transitive);
 	}
 
-	private List<Dependency> getDependencies(DependencyResult dependencyResult) {
-		List<Dependency> dependencies = new ArrayList<Dependency>();
+	private List<Artifact> getArtifacts(DependencyResult dependencyResult) {
+		List<Artifact> artifacts = new ArrayList<Artifact>();
 		for (ArtifactResult artifactResult : dependencyResult.getArtifactResults()) {
-			dependencies.add(new Dependency(artifactResult.getArtifact(),
-					JavaScopes.COMPILE));
+			artifacts.add(artifactResult.getArtifact());
+		}
+		return artifacts;
+	}
+
+	private List<Dependency> getDependencies(List<Artifact> artifacts) {
+		List<Dependency> dependencies = new ArrayList<Dependency>();
+		for (Artifact artifact : artifacts) {
+			dependencies.add(new Dependency(artifact, JavaScopes.COMPILE));
 		}
 		return dependencies;
 	}
 
-	private List<File> getFiles(DependencyResult dependencyResult) {
+	private List<File> getFiles(List<Artifact> artifacts) {
 		List<File> files = new ArrayList<File>();
-		for (ArtifactResult result : dependencyResult.getArtifactResults()) {
-			files.add(result.getArtifact().getFile());
+		for (Artifact artifact : artifacts) {
+			files.add(artifact.getFile());
 		}
 		return files;
 	}
 
+	/**
+	 * Return if the resolution of the given dependencies can be cached. Dependencies
+	 * with dynamic versions (snapshots, ranges, {@code LATEST} or {@code RELEASE}) may
+	 * resolve differently over time so are never cached.
+	 * @param dependencies the dependencies to resolve
+	 * @return if the resolution can be cached
+	 */
+	private boolean isCacheable(List<Dependency> dependencies) {
+		for (Dependency dependency : dependencies) {
+			Artifact artifact = dependency.getArtifact();
+			String version = artifact.getVersion();
+			if (artifact.isSnapshot() || version.startsWith("[")
+					|| version.startsWith("(") || version.contains(",")
+					|| version.endsWith("+") || "LATEST".equals(version)
+					|| "RELEASE".equals(version)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean containsSnapshot(List<Artifact> artifacts) {
+		for (Artifact artifact : artifacts) {
+			if (artifact.isSnapshot()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Return a key identifying the resolution of the given dependencies: the requested
+	 * dependencies, the managed dependencies that apply to them and the repositories
+	 * from which they can be resolved.
+	 * @param dependencies the dependencies to resolve
+	 * @return the cache key
+	 */
+	private String getCacheKey(List<Dependency> dependencies) {
+		StringBuilder key = new StringBuilder();
+		for (Dependency dependency : dependencies) {
+			key.append(dependency.getArtifact()).append(",");
+			key.append(dependency.getOptional()).append(",");
+			for (Exclusion exclusion : dependency.getExclusions()) {
+				key.append(exclusion).append(",");
+			}
+			key.append(";");
+		}
+		key.append("managed:");
+		for (Dependency dependency : this.resolutionContext.getManagedDependencies()) {
+			key.append(dependency.getArtifact()).append(",");
+		}
+		key.append("repositories:");
+		for (RemoteRepository repository : this.repositories) {
+			key.append(repository.getUrl()).append(",");
+		}
+		key.append("local:").append(
+				this.session.getLocalRepository().getBasedir().getAbsolutePath());
+		return key.toString();
+	}
+
 	private GroovyClassLoader getClassLoader(Map args) {
 		GroovyClassLoader classLoader = (GroovyClassLoader) args.get("classLoader");
 		return (classLoader == null ? this.classLoader : classLoader);
@@ -292,13 +359,27 @@ public class AetherGrapeEngine implements GrapeEngine {
 
 	private List<File> resolve(List<Dependency> dependencies)
 			throws ArtifactResolutionException {
+		ResolutionCache cache = (isCacheable(dependencies) ? this.resolutionContext
+				.getResolutionCache() : null);
+		String cacheKey = (cache != null ? getCacheKey(dependencies) : null);
+		if (cache != null) {
+			List<Artifact> artifacts = cache.get(cacheKey);
+			if (artifacts != null) {
+				addManagedDependencies(artifacts);
+				return getFiles(artifacts);
+			}
+		}
 		try {
 			CollectRequest collectRequest = getCollectRequest(dependencies);
 			DependencyRequest dependencyRequest = getDependencyRequest(collectRequest);
 			DependencyResult result = this.repositorySystem.resolveDependencies(
 					this.session, dependencyRequest);
-			addManagedDependencies(result);
-			return getFiles(result);
+			List<Artifact> artifacts = getArtifacts(result);
+			addManagedDependencies(artifacts);
+			if (cache != null && !containsSnapshot(artifacts)) {
+				cache.put(cacheKey, artifacts);
+			}
+			return getFiles(artifacts);
 		}
 		catch (Exception ex) {
 			throw new DependencyResolutionFailedException(ex);
@@ -323,8 +404,9 @@ public class AetherGrapeEngine implements GrapeEngine {
 		return dependencyRequest;
 	}
 
-	private void addManagedDependencies(DependencyResult result) {
-		this.resolutionContext.getManagedDependencies().addAll(getDependencies(result));
+	private void addManagedDependencies(List<Artifact> artifacts) {
+		this.resolutionContext.getManagedDependencies().addAll(
+				getDependencies(artifacts));
 	}
 
 	@Override
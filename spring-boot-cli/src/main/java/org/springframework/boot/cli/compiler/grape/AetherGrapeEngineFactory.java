@@ -18,6 +18,7 @@ package org.springframework.boot.cli.compiler.grape;
 
 import groovy.lang.GroovyClassLoader;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ServiceLoader;
@@ -63,6 +64,12 @@ public abstract class AetherGrapeEngineFactory {
 		new DefaultRepositorySystemSessionAutoConfiguration().apply(
 				repositorySystemSession, repositorySystem);
 
+		if (dependencyResolutionContext.getResolutionCache() == null
+				&& "true".equals(System.getProperty("grape.resolution.cache"))) {
+			dependencyResolutionContext.setResolutionCache(new ResolutionCache(new File(
+					System.getProperty("user.home"), ".spring-boot-cli/resolution-cache")));
+		}
+
 		return new AetherGrapeEngine(classLoader, repositorySystem,
 				repositorySystemSession, createRepositories(repositoryConfigurations),
 				dependencyResolutionContext);
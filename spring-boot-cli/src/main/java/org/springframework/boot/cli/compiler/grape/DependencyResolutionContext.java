@@ -36,6 +36,8 @@ public class DependencyResolutionContext {
 
 	private List<Dependency> managedDependencies = new ArrayList<Dependency>();
 
+	private ResolutionCache resolutionCache;
+
 	public DependencyResolutionContext() {
 		this(new ManagedDependenciesArtifactCoordinatesResolver());
 	}
@@ -62,4 +64,19 @@ public class DependencyResolutionContext {
 	public List<Dependency> getManagedDependencies() {
 		return this.managedDependencies;
 	}
+
+	/**
+	 * Set the {@link ResolutionCache} used to skip dependency resolution when the same
+	 * dependencies have already been resolved with the same managed dependencies.
+	 * @param resolutionCache the resolution cache or {@code null}
+	 * @since 1.3.0
+	 */
+	public void setResolutionCache(ResolutionCache resolutionCache) {
+		this.resolutionCache = resolutionCache;
+	}
+
+	public ResolutionCache getResolutionCache() {
+		return this.resolutionCache;
+	}
+
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.cli.compiler.grape;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+
+/**
+ * A persistent cache of dependency resolution results. Each entry maps a key describing
+ * a resolution request (typically the requested coordinates and the managed
+ * dependencies) to the resolved artifacts and is stored in a file named after the
+ * digest of the key. An entry is only used if all of its files still exist.
+ *
+ * @author Agent
+ * @since 1.3.0
+ */
+public class ResolutionCache {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final String SEPARATOR = "=";
+
+	private final File directory;
+
+	/**
+	 * Create a new {@link ResolutionCache} that stores entries in the given directory.
+	 * @param directory the cache directory
+	 */
+	public ResolutionCache(File directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Return the artifacts, with their files, resolved for the given key.
+	 * @param key the resolution key
+	 * @return the resolved artifacts or {@code null} if the entry is missing or stale
+	 */
+	public List<Artifact> get(String key) {
+		File file = getFile(key);
+		if (!file.isFile()) {
+			return null;
+		}
+		try {
+			List<Artifact> artifacts = new ArrayList<Artifact>();
+			BufferedReader reader = new BufferedReader(new InputStreamReader(
+					new FileInputStream(file), UTF_8));
+			try {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					int index = line.indexOf(SEPARATOR);
+					if (index < 0) {
+						return null;
+					}
+					File artifactFile = new File(line.substring(index + 1));
+					if (!artifactFile.isFile()) {
+						return null;
+					}
+					artifacts.add(new DefaultArtifact(line.substring(0, index))
+							.setFile(artifactFile));
+				}
+				return artifacts;
+			}
+			finally {
+				reader.close();
+			}
+		}
+		catch (Exception ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Store the artifacts resolved for the given key. Failures to write the entry are
+	 * ignored.
+	 * @param key the resolution key
+	 * @param artifacts the resolved artifacts
+	 */
+	public void put(String key, List<Artifact> artifacts) {
+		try {
+			this.directory.mkdirs();
+			File file = getFile(key);
+			File temp = new File(file.getPath() + ".tmp");
+			Writer writer = new OutputStreamWriter(new FileOutputStream(temp), UTF_8);
+			try {
+				for (Artifact artifact : artifacts) {
+					writer.write(artifact.toString() + SEPARATOR
+							+ artifact.getFile().getAbsolutePath() + "\n");
+				}
+			}
+			finally {
+				writer.close();
+			}
+			if (!temp.renameTo(file)) {
+				file.delete();
+				temp.renameTo(file);
+			}
+		}
+		catch (IOException ex) {
+			// Continue without caching
+		}
+	}
+
+	private File getFile(String key) {
+		return new File(this.directory, digest(key));
+	}
+
+	private String digest(String key) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-1").digest(
+					key.getBytes(UTF_8));
+			StringBuilder result = new StringBuilder();
+			for (byte b : digest) {
+				result.append(String.format("%02x", b & 0xff));
+			}
+			return result.toString();
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
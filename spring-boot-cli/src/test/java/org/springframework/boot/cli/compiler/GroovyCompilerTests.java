@@ -0,0 +1,140 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.cli.compiler;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.boot.cli.compiler.grape.RepositoryConfiguration;
+import org.springframework.util.FileCopyUtils;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link GroovyCompiler}.
+ *
+ * @author Agent
+ */
+public class GroovyCompilerTests {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private GroovyCompiler compiler;
+
+	private File main;
+
+	private File other;
+
+	private File dependent;
+
+	@Before
+	public void setup() throws Exception {
+		this.compiler = new GroovyCompiler(new TestGroovyCompilerConfiguration());
+		this.main = write("Main.groovy", "class Main { }");
+		this.other = write("Other.groovy", "class Other { }");
+		this.dependent = write("Dependent.groovy",
+				"class Dependent { Other other = new Other() }");
+	}
+
+	@Test
+	public void recompileOnlyChangedSources() throws Exception {
+		Map<String, Class<?>> first = compile();
+		assertThat(first.size(), equalTo(3));
+		Map<String, Class<?>> unchanged = compile();
+		assertThat(unchanged.get("Main"), sameInstance(first.get("Main")));
+		assertThat(unchanged.get("Other"), sameInstance(first.get("Other")));
+		assertThat(unchanged.get("Dependent"), sameInstance(first.get("Dependent")));
+		write("Main.groovy", "class Main { String name }");
+		Map<String, Class<?>> changed = compile();
+		assertThat(changed.get("Main"), not(sameInstance(first.get("Main"))));
+		assertThat(changed.get("Other"), sameInstance(first.get("Other")));
+		assertThat(changed.get("Dependent"), sameInstance(first.get("Dependent")));
+	}
+
+	@Test
+	public void recompileDependentSources() throws Exception {
+		Map<String, Class<?>> first = compile();
+		write("Other.groovy", "class Other { String name }");
+		Map<String, Class<?>> changed = compile();
+		assertThat(changed.get("Other"), not(sameInstance(first.get("Other"))));
+		assertThat(changed.get("Dependent"), not(sameInstance(first.get("Dependent"))));
+		assertThat(changed.get("Dependent").getDeclaredField("other").getType(),
+				sameInstance((Object) changed.get("Other")));
+	}
+
+	private Map<String, Class<?>> compile() throws Exception {
+		Map<String, Class<?>> classes = new HashMap<String, Class<?>>();
+		for (Class<?> compiled : this.compiler.compile(this.main.getPath(),
+				this.other.getPath(), this.dependent.getPath())) {
+			classes.put(compiled.getName(), compiled);
+		}
+		return classes;
+	}
+
+	private File write(String name, String content) throws Exception {
+		File file = new File(this.temp.getRoot(), name);
+		FileCopyUtils.copy(content.getBytes("UTF-8"), file);
+		return file;
+	}
+
+	private static class TestGroovyCompilerConfiguration implements
+			GroovyCompilerConfiguration {
+
+		@Override
+		public GroovyCompilerScope getScope() {
+			return GroovyCompilerScope.DEFAULT;
+		}
+
+		@Override
+		public boolean isGuessImports() {
+			return false;
+		}
+
+		@Override
+		public boolean isGuessDependencies() {
+			return false;
+		}
+
+		@Override
+		public boolean isAutoconfigure() {
+			return false;
+		}
+
+		@Override
+		public String[] getClasspath() {
+			return DEFAULT_CLASSPATH;
+		}
+
+		@Override
+		public List<RepositoryConfiguration> getRepositoryConfiguration() {
+			return Collections.emptyList();
+		}
+
+	}
+
+}
@@ -28,14 +28,19 @@ import java.util.List;
 import java.util.Map;
 
 import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.repository.Authentication;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 /**
  * Tests for {@link AetherGrapeEngine}.
@@ -44,15 +49,24 @@ import static org.junit.Assert.assertTrue;
  */
 public class AetherGrapeEngineTests {
 
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
 	private final GroovyClassLoader groovyClassLoader = new GroovyClassLoader();
 
 	private final AetherGrapeEngine grapeEngine = createGrapeEngine();
 
 	private AetherGrapeEngine createGrapeEngine() {
-		return AetherGrapeEngineFactory.create(this.groovyClassLoader, Arrays
+		return createGrapeEngine(this.groovyClassLoader,
+				new DependencyResolutionContext());
+	}
+
+	private AetherGrapeEngine createGrapeEngine(GroovyClassLoader classLoader,
+			DependencyResolutionContext dependencyResolutionContext) {
+		return AetherGrapeEngineFactory.create(classLoader, Arrays
 				.asList(new RepositoryConfiguration("central", URI
 						.create("http://repo1.maven.org/maven2"), false)),
-				new DependencyResolutionContext());
+				dependencyResolutionContext);
 	}
 
 	@Test
@@ -65,6 +79,28 @@ public class AetherGrapeEngineTests {
 		assertEquals(5, this.groovyClassLoader.getURLs().length);
 	}
 
+	@Test
+	public void dependencyResolutionFromCache() throws Exception {
+		ResolutionCache cache = new ResolutionCache(this.temp.newFolder());
+		DependencyResolutionContext context = new DependencyResolutionContext();
+		context.setResolutionCache(cache);
+		createGrapeEngine(this.groovyClassLoader, context).grab(
+				new HashMap<String, Object>(),
+				createDependency("org.springframework", "spring-jdbc", "3.2.4.RELEASE"));
+
+		GroovyClassLoader cachedClassLoader = new GroovyClassLoader();
+		context = new DependencyResolutionContext();
+		context.setResolutionCache(cache);
+		AetherGrapeEngine grapeEngine = createGrapeEngine(cachedClassLoader, context);
+		RepositorySystem repositorySystem = mock(RepositorySystem.class);
+		ReflectionTestUtils.setField(grapeEngine, "repositorySystem", repositorySystem);
+		grapeEngine.grab(new HashMap<String, Object>(),
+				createDependency("org.springframework", "spring-jdbc", "3.2.4.RELEASE"));
+
+		verifyZeroInteractions(repositorySystem);
+		assertEquals(5, cachedClassLoader.getURLs().length);
+	}
+
 	@Test
 	public void proxySelector() {
 		doWithCustomUserHome(new Runnable() {
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.cli.compiler.grape;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link ResolutionCache}.
+ *
+ * @author Agent
+ */
+public class ResolutionCacheTests {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	@Test
+	public void missingEntry() throws Exception {
+		ResolutionCache cache = new ResolutionCache(this.temp.newFolder());
+		assertThat(cache.get("key"), nullValue());
+	}
+
+	@Test
+	public void putAndGet() throws Exception {
+		File directory = this.temp.newFolder();
+		ResolutionCache cache = new ResolutionCache(directory);
+		File jar = this.temp.newFile("spring-core-4.1.1.RELEASE.jar");
+		cache.put("key", Arrays.<Artifact>asList(new DefaultArtifact(
+				"org.springframework:spring-core:4.1.1.RELEASE").setFile(jar)));
+		List<Artifact> artifacts = new ResolutionCache(directory).get("key");
+		assertThat(artifacts, hasSize(1));
+		assertThat(artifacts.get(0).getArtifactId(), equalTo("spring-core"));
+		assertThat(artifacts.get(0).getVersion(), equalTo("4.1.1.RELEASE"));
+		assertThat(artifacts.get(0).getFile(), equalTo(jar.getAbsoluteFile()));
+		assertThat(cache.get("other"), nullValue());
+	}
+
+	@Test
+	public void entryWithMissingFileIsIgnored() throws Exception {
+		ResolutionCache cache = new ResolutionCache(this.temp.newFolder());
+		File jar = this.temp.newFile("spring-core-4.1.1.RELEASE.jar");
+		cache.put("key", Arrays.<Artifact>asList(new DefaultArtifact(
+				"org.springframework:spring-core:4.1.1.RELEASE").setFile(jar)));
+		jar.delete();
+		assertThat(cache.get("key"), nullValue());
+	}
+
+}
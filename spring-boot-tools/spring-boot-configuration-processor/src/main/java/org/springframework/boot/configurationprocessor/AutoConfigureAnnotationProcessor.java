@@ -0,0 +1,246 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.configurationprocessor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation {@link Processor} that writes an index of the class-level conditions and
+ * ordering of auto-configuration classes to
+ * {@code META-INF/spring-autoconfigure-metadata.properties}. The index allows
+ * auto-configuration classes that cannot match to be filtered out, and the remaining
+ * ones to be sorted, without reading their bytecode.
+ * <p>
+ * Each processed class has an entry with an empty value and one
+ * {@code <class name>.<annotation simple name>} entry per annotation holding a
+ * comma-separated list of values.
+ *
+ * @author Agent
+ * @since 1.3.0
+ */
+@SupportedAnnotationTypes({ "*" })
+public class AutoConfigureAnnotationProcessor extends AbstractProcessor {
+
+	static final String PROPERTIES_PATH = "META-INF/spring-autoconfigure-metadata.properties";
+
+	private final Map<String, String> annotations;
+
+	private final TreeMap<String, String> properties = new TreeMap<String, String>();
+
+	private boolean hasEntries;
+
+	public AutoConfigureAnnotationProcessor() {
+		Map<String, String> annotations = new LinkedHashMap<String, String>();
+		addAnnotations(annotations);
+		this.annotations = Collections.unmodifiableMap(annotations);
+	}
+
+	/**
+	 * Add the annotations to index, keyed by the name used in the index.
+	 * @param annotations the annotations to populate
+	 */
+	protected void addAnnotations(Map<String, String> annotations) {
+		annotations.put("ConditionalOnClass", "org.springframework.boot."
+				+ "autoconfigure.condition.ConditionalOnClass");
+		annotations.put("ConditionalOnMissingClass", "org.springframework.boot."
+				+ "autoconfigure.condition.ConditionalOnMissingClass");
+		annotations.put("AutoConfigureBefore", "org.springframework.boot."
+				+ "autoconfigure.AutoConfigureBefore");
+		annotations.put("AutoConfigureAfter", "org.springframework.boot."
+				+ "autoconfigure.AutoConfigureAfter");
+		annotations.put("AutoConfigureOrder", "org.springframework.boot."
+				+ "autoconfigure.AutoConfigureOrder");
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public synchronized void init(ProcessingEnvironment env) {
+		super.init(env);
+		readExistingProperties();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations,
+			RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getRootElements()) {
+			if (element instanceof TypeElement) {
+				processElement((TypeElement) element);
+			}
+		}
+		if (roundEnv.processingOver()) {
+			writeProperties();
+		}
+		return false;
+	}
+
+	private void processElement(TypeElement element) {
+		String className = this.processingEnv.getElementUtils().getBinaryName(element)
+				.toString();
+		// Remove what a previous (incremental) compilation may have recorded
+		removeEntries(className);
+		for (Map.Entry<String, String> entry : this.annotations.entrySet()) {
+			AnnotationMirror annotation = getAnnotation(element, entry.getValue());
+			if (annotation != null) {
+				List<String> values = getValues(annotation);
+				this.properties.put(className, "");
+				if (!values.isEmpty()) {
+					this.properties.put(className + "." + entry.getKey(),
+							join(values));
+				}
+				this.hasEntries = true;
+			}
+		}
+	}
+
+	private void removeEntries(String className) {
+		Map<String, String> entries = this.properties.subMap(className + ".",
+				className + "/");
+		if (this.properties.remove(className) != null || !entries.isEmpty()) {
+			entries.clear();
+			this.hasEntries = true;
+		}
+	}
+
+	private AnnotationMirror getAnnotation(Element element, String type) {
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			if (type.equals(annotation.getAnnotationType().toString())) {
+				return annotation;
+			}
+		}
+		return null;
+	}
+
+	private List<String> getValues(AnnotationMirror annotation) {
+		List<String> values = new ArrayList<String>();
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation
+				.getElementValues().entrySet()) {
+			String name = entry.getKey().getSimpleName().toString();
+			if ("value".equals(name) || "name".equals(name)) {
+				addValue(values, entry.getValue().getValue());
+			}
+		}
+		return values;
+	}
+
+	private void addValue(List<String> values, Object value) {
+		if (value instanceof List) {
+			for (Object item : (List<?>) value) {
+				addValue(values, ((AnnotationValue) item).getValue());
+			}
+		}
+		else if (value instanceof DeclaredType) {
+			Elements elementUtils = this.processingEnv.getElementUtils();
+			values.add(elementUtils.getBinaryName(
+					(TypeElement) ((DeclaredType) value).asElement()).toString());
+		}
+		else if (value instanceof TypeMirror) {
+			values.add(value.toString());
+		}
+		else {
+			values.add(String.valueOf(value));
+		}
+	}
+
+	private String join(List<String> values) {
+		StringBuilder result = new StringBuilder();
+		for (String value : values) {
+			result.append(result.length() == 0 ? "" : ",").append(value);
+		}
+		return result.toString();
+	}
+
+	private void readExistingProperties() {
+		try {
+			FileObject resource = this.processingEnv.getFiler().getResource(
+					StandardLocation.CLASS_OUTPUT, "", PROPERTIES_PATH);
+			InputStream inputStream = resource.openInputStream();
+			try {
+				Properties properties = new Properties();
+				properties.load(inputStream);
+				for (String key : properties.stringPropertyNames()) {
+					this.properties.put(key, properties.getProperty(key));
+				}
+			}
+			finally {
+				inputStream.close();
+			}
+		}
+		catch (Exception ex) {
+			// No existing index
+		}
+	}
+
+	protected void writeProperties() {
+		if (!this.hasEntries) {
+			return;
+		}
+		try {
+			FileObject resource = this.processingEnv.getFiler().createResource(
+					StandardLocation.CLASS_OUTPUT, "", PROPERTIES_PATH);
+			OutputStream outputStream = resource.openOutputStream();
+			try {
+				// Written without a timestamp so that builds are reproducible
+				Writer writer = new OutputStreamWriter(outputStream, "ISO-8859-1");
+				for (Map.Entry<String, String> entry : this.properties.entrySet()) {
+					writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+				}
+				writer.flush();
+			}
+			finally {
+				outputStream.close();
+			}
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to write auto-configuration "
+					+ "metadata", ex);
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.configurationprocessor;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.boot.configurationsample.autoconfigure.SampleAutoConfiguration;
+import org.springframework.boot.configurationsample.simple.NotAnnotated;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link AutoConfigureAnnotationProcessor}.
+ *
+ * @author Agent
+ */
+public class AutoConfigureAnnotationProcessorTests {
+
+	private static final String SAMPLE = SampleAutoConfiguration.class.getName();
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void annotatedClass() throws Exception {
+		Properties properties = compile(SampleAutoConfiguration.class);
+		assertThat(properties.getProperty(SAMPLE), equalTo(""));
+		assertThat(properties.getProperty(SAMPLE + ".ConditionalOnClass"),
+				equalTo("java.lang.String,java.io.InputStream"));
+		assertThat(properties.getProperty(SAMPLE + ".ConditionalOnMissingClass"),
+				equalTo("com.example.Missing"));
+		assertThat(properties.getProperty(SAMPLE + ".AutoConfigureBefore"),
+				equalTo("com.example.Before"));
+		assertThat(properties.getProperty(SAMPLE + ".AutoConfigureAfter"),
+				equalTo(SAMPLE + "$Nested"));
+		assertThat(properties.getProperty(SAMPLE + ".AutoConfigureOrder"),
+				equalTo("123"));
+	}
+
+	@Test
+	public void notAnnotatedClass() throws Exception {
+		TestCompiler compiler = new TestCompiler(this.temporaryFolder);
+		compiler.getTask(NotAnnotated.class).call(new TestAutoConfigureAnnotationProcessor());
+		assertFalse(getPropertiesFile(compiler).exists());
+	}
+
+	@Test
+	public void nestedClassIsNotIndexed() throws Exception {
+		Properties properties = compile(SampleAutoConfiguration.class);
+		assertThat(properties.getProperty(SAMPLE + "$Nested"), nullValue());
+	}
+
+	private Properties compile(Class<?>... types) throws Exception {
+		TestCompiler compiler = new TestCompiler(this.temporaryFolder);
+		compiler.getTask(types).call(new TestAutoConfigureAnnotationProcessor());
+		Properties properties = new Properties();
+		InputStream inputStream = new FileInputStream(getPropertiesFile(compiler));
+		try {
+			properties.load(inputStream);
+		}
+		finally {
+			inputStream.close();
+		}
+		return properties;
+	}
+
+	private File getPropertiesFile(TestCompiler compiler) {
+		return new File(compiler.getOutputLocation(),
+				AutoConfigureAnnotationProcessor.PROPERTIES_PATH);
+	}
+
+	private static class TestAutoConfigureAnnotationProcessor extends
+			AutoConfigureAnnotationProcessor {
+
+		private static final String PACKAGE = "org.springframework.boot."
+				+ "configurationsample.autoconfigure.";
+
+		@Override
+		protected void addAnnotations(Map<String, String> annotations) {
+			annotations.put("ConditionalOnClass", PACKAGE + "ConditionalOnClass");
+			annotations.put("ConditionalOnMissingClass", PACKAGE
+					+ "ConditionalOnMissingClass");
+			annotations.put("AutoConfigureBefore", PACKAGE + "AutoConfigureBefore");
+			annotations.put("AutoConfigureAfter", PACKAGE + "AutoConfigureAfter");
+			annotations.put("AutoConfigureOrder", PACKAGE + "AutoConfigureOrder");
+		}
+
+	}
+
+}
@@ -150,4 +150,11 @@ public class SpringBootPluginExtension {
 	 */
 	Map<String,String> embeddedLaunchScriptProperties;
 
+	/**
+	 * If a content hash should be calculated for each static web resource and stored in
+	 * the archive so that fingerprinted resource URLs can be served without reading
+	 * resources at runtime.
+	 */
+	boolean fingerprintResources = false;
+
 }
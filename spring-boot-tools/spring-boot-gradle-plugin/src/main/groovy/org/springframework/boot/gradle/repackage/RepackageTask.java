@@ -175,6 +175,7 @@ public class RepackageTask extends DefaultTask {
 				repackager.setLayout(this.extension.convertLayout());
 			}
 			repackager.setBackupSource(this.extension.isBackupSource());
+			repackager.setFingerprintResources(this.extension.isFingerprintResources());
 			try {
 				LaunchScript launchScript = getLaunchScript();
 				repackager.repackage(file, this.libraries, launchScript);
@@ -16,12 +16,19 @@
 
 package org.springframework.boot.loader.tools;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.Properties;
 import java.util.Set;
+import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 
@@ -42,10 +49,17 @@ public class Repackager {
 
 	private static final byte[] ZIP_FILE_HEADER = new byte[] { 'P', 'K', 3, 4 };
 
+	private static final String RESOURCE_FINGERPRINTS = "META-INF/resource-fingerprints.properties";
+
+	private static final String[] STATIC_RESOURCE_LOCATIONS = { "META-INF/resources/",
+			"resources/", "static/", "public/" };
+
 	private String mainClass;
 
 	private boolean backupSource = true;
 
+	private boolean fingerprintResources;
+
 	private final File source;
 
 	private Layout layout;
@@ -76,6 +90,19 @@ public class Repackager {
 		this.backupSource = backupSource;
 	}
 
+	/**
+	 * Sets if a content hash should be calculated for each static web resource (any
+	 * resource under {@code META-INF/resources/}, {@code resources/}, {@code static/} or
+	 * {@code public/}) and stored in {@value #RESOURCE_FINGERPRINTS}. Applications can
+	 * use the hashes to serve fingerprinted URLs without reading every resource at
+	 * runtime.
+	 * @param fingerprintResources if resource fingerprints should be generated
+	 * @since 1.3.0
+	 */
+	public void setFingerprintResources(boolean fingerprintResources) {
+		this.fingerprintResources = fingerprintResources;
+	}
+
 	/**
 	 * Sets the layout to use for the jar. Defaults to {@link Layouts#forFile(File)}.
 	 * @param layout the layout
@@ -170,6 +197,9 @@ public class Repackager {
 		try {
 			final Set<String> seen = new HashSet<String>();
 			writer.writeManifest(buildManifest(sourceJar));
+			if (this.fingerprintResources) {
+				writeResourceFingerprints(sourceJar, writer);
+			}
 			libraries.doWithLibraries(new LibraryCallback() {
 				@Override
 				public void library(Library library) throws IOException {
@@ -203,6 +233,61 @@ public class Repackager {
 		}
 	}
 
+	private void writeResourceFingerprints(JarFile sourceJar, JarWriter writer)
+			throws IOException {
+		String classesLocation = this.layout.getClassesLocation();
+		Properties fingerprints = new Properties();
+		Enumeration<JarEntry> entries = sourceJar.entries();
+		while (entries.hasMoreElements()) {
+			JarEntry entry = entries.nextElement();
+			String name = entry.getName();
+			if (!entry.isDirectory() && name.startsWith(classesLocation)) {
+				String path = name.substring(classesLocation.length());
+				if (isStaticResource(path)) {
+					fingerprints.setProperty(path,
+							getFingerprint(sourceJar.getInputStream(entry)));
+				}
+			}
+		}
+		if (!fingerprints.isEmpty()) {
+			ByteArrayOutputStream content = new ByteArrayOutputStream();
+			fingerprints.store(content, "Static resource content hashes");
+			writer.writeEntry(classesLocation + RESOURCE_FINGERPRINTS,
+					new ByteArrayInputStream(content.toByteArray()));
+		}
+	}
+
+	private boolean isStaticResource(String path) {
+		for (String location : STATIC_RESOURCE_LOCATIONS) {
+			if (path.startsWith(location)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private String getFingerprint(InputStream inputStream) throws IOException {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("MD5");
+			byte[] buffer = new byte[4096];
+			int bytesRead;
+			while ((bytesRead = inputStream.read(buffer)) != -1) {
+				digest.update(buffer, 0, bytesRead);
+			}
+			StringBuilder hex = new StringBuilder();
+			for (byte b : digest.digest()) {
+				hex.append(String.format("%02x", b & 0xFF));
+			}
+			return hex.toString();
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+		finally {
+			inputStream.close();
+		}
+	}
+
 	private boolean isZip(File file) {
 		try {
 			FileInputStream fileInputStream = new FileInputStream(file);
@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.attribute.PosixFilePermission;
 import java.util.Calendar;
+import java.util.Properties;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -429,6 +430,45 @@ public class RepackagerTests {
 		}
 	}
 
+	@Test
+	public void fingerprintResources() throws Exception {
+		File css = this.temporaryFolder.newFile("test.css");
+		FileCopyUtils.copy("abc".getBytes(), css);
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		this.testJarFile.addFile("static/css/test.css", css);
+		this.testJarFile.addFile("public/test.css", css);
+		this.testJarFile.addFile("config/test.css", css);
+		File file = this.testJarFile.getFile();
+		Repackager repackager = new Repackager(file);
+		repackager.setFingerprintResources(true);
+		repackager.repackage(NO_LIBRARIES);
+		Properties fingerprints = new Properties();
+		JarFile jarFile = new JarFile(file);
+		try {
+			fingerprints.load(jarFile.getInputStream(jarFile
+					.getEntry("META-INF/resource-fingerprints.properties")));
+		}
+		finally {
+			jarFile.close();
+		}
+		assertThat(fingerprints.size(), equalTo(2));
+		assertThat(fingerprints.getProperty("static/css/test.css"),
+				equalTo("900150983cd24fb0d6963f7d28e17f72"));
+		assertThat(fingerprints.getProperty("public/test.css"),
+				equalTo("900150983cd24fb0d6963f7d28e17f72"));
+	}
+
+	@Test
+	public void noFingerprintsByDefault() throws Exception {
+		File css = this.temporaryFolder.newFile("test.css");
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		this.testJarFile.addFile("static/test.css", css);
+		File file = this.testJarFile.getFile();
+		new Repackager(file).repackage(NO_LIBRARIES);
+		assertThat(hasEntry(file, "META-INF/resource-fingerprints.properties"),
+				equalTo(false));
+	}
+
 	private boolean hasLauncherClasses(File file) throws IOException {
 		return hasEntry(file, "org/springframework/boot/")
 				&& hasEntry(file, "org/springframework/boot/loader/JarLauncher.class");
@@ -150,6 +150,15 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 	@Parameter
 	private Properties embeddedLaunchScriptProperties;
 
+	/**
+	 * Calculate a content hash for each static web resource and store them in the
+	 * archive so that fingerprinted resource URLs can be served without reading
+	 * resources at runtime.
+	 * @since 1.3
+	 */
+	@Parameter(defaultValue = "false")
+	private boolean fingerprintResources;
+
 	@Override
 	public void execute() throws MojoExecutionException, MojoFailureException {
 		if (this.project.getPackaging().equals("pom")) {
@@ -182,6 +191,7 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 			}
 		};
 		repackager.setMainClass(this.mainClass);
+		repackager.setFingerprintResources(this.fingerprintResources);
 		if (this.layout != null) {
 			getLog().info("Layout: " + this.layout);
 			repackager.setLayout(this.layout.layout());
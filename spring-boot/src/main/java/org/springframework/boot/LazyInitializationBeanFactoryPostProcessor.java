@@ -0,0 +1,163 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link BeanFactoryPostProcessor} to set the lazy attribute on bean definitions that
+ * don't need to be created eagerly. Infrastructure beans, {@code SmartLifecycle} beans,
+ * servlet context initializers (including servlet and filter registrations) and beans
+ * with {@code @Scheduled} methods are left untouched.
+ *
+ * @author Agent
+ * @see SpringApplication#setLazyInitialization(boolean)
+ */
+class LazyInitializationBeanFactoryPostProcessor implements BeanFactoryPostProcessor {
+
+	private static final String[] EAGER_TYPES = {
+			"org.springframework.context.SmartLifecycle",
+			"org.springframework.boot.context.embedded.ServletContextInitializer" };
+
+	private static final String SCHEDULED_ANNOTATION = "org.springframework.scheduling.annotation.Scheduled";
+
+	private static final Log logger = LogFactory
+			.getLog(LazyInitializationBeanFactoryPostProcessor.class);
+
+	private final List<String> deferredBeanNames = new ArrayList<String>();
+
+	@Override
+	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory)
+			throws BeansException {
+		ClassLoader classLoader = beanFactory.getBeanClassLoader();
+		List<Class<?>> eagerTypes = getEagerTypes(classLoader);
+		Class<? extends Annotation> scheduled = getScheduledAnnotation(classLoader);
+		for (String beanName : beanFactory.getBeanDefinitionNames()) {
+			BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+			if (beanDefinition instanceof AbstractBeanDefinition
+					&& isDeferrable(beanFactory, beanName, beanDefinition, eagerTypes,
+							scheduled)) {
+				((AbstractBeanDefinition) beanDefinition).setLazyInit(true);
+				this.deferredBeanNames.add(beanName);
+			}
+		}
+		logDeferredBeans();
+	}
+
+	private boolean isDeferrable(ConfigurableListableBeanFactory beanFactory,
+			String beanName, BeanDefinition beanDefinition, List<Class<?>> eagerTypes,
+			Class<? extends Annotation> scheduled) {
+		if (beanDefinition.isLazyInit() || beanDefinition.isAbstract()
+				|| !beanDefinition.isSingleton()
+				|| beanDefinition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+			return false;
+		}
+		if (beanFactory.isFactoryBean(beanName)) {
+			return true;
+		}
+		Class<?> beanType = getBeanType(beanFactory, beanName);
+		if (beanType == null) {
+			return false;
+		}
+		for (Class<?> eagerType : eagerTypes) {
+			if (eagerType.isAssignableFrom(beanType)) {
+				return false;
+			}
+		}
+		return (scheduled == null || !hasScheduledMethods(beanType, scheduled));
+	}
+
+	private Class<?> getBeanType(ConfigurableListableBeanFactory beanFactory,
+			String beanName) {
+		try {
+			return beanFactory.getType(beanName);
+		}
+		catch (Throwable ex) {
+			// Leave beans that can't be inspected as they were
+			return null;
+		}
+	}
+
+	private boolean hasScheduledMethods(Class<?> beanType,
+			Class<? extends Annotation> scheduled) {
+		for (Method method : ReflectionUtils.getUniqueDeclaredMethods(ClassUtils
+				.getUserClass(beanType))) {
+			if (AnnotationUtils.findAnnotation(method, scheduled) != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private List<Class<?>> getEagerTypes(ClassLoader classLoader) {
+		List<Class<?>> eagerTypes = new ArrayList<Class<?>>();
+		for (String eagerType : EAGER_TYPES) {
+			Class<?> type = resolve(eagerType, classLoader);
+			if (type != null) {
+				eagerTypes.add(type);
+			}
+		}
+		return eagerTypes;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Class<? extends Annotation> getScheduledAnnotation(ClassLoader classLoader) {
+		return (Class<? extends Annotation>) resolve(SCHEDULED_ANNOTATION, classLoader);
+	}
+
+	private Class<?> resolve(String className, ClassLoader classLoader) {
+		if (ClassUtils.isPresent(className, classLoader)) {
+			return ClassUtils.resolveClassName(className, classLoader);
+		}
+		return null;
+	}
+
+	private void logDeferredBeans() {
+		if (logger.isInfoEnabled()) {
+			logger.info("Lazy initialization enabled, deferred creation of "
+					+ this.deferredBeanNames.size() + " beans");
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Deferred beans: "
+					+ StringUtils.collectionToCommaDelimitedString(this.deferredBeanNames));
+		}
+	}
+
+	/**
+	 * Return the names of the beans that were marked as lazy.
+	 * @return the deferred bean names
+	 */
+	public List<String> getDeferredBeanNames() {
+		return this.deferredBeanNames;
+	}
+
+}
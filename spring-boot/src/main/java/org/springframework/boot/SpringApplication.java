@@ -33,10 +33,14 @@ import java.util.Set;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.groovy.GroovyBeanDefinitionReader;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.BeanNameGenerator;
 import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.boot.context.startup.StartupTimeline;
+import org.springframework.boot.context.startup.StartupTimeline.Step;
+import org.springframework.boot.context.startup.StartupTimelineBeanPostProcessor;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ApplicationListener;
@@ -61,7 +65,6 @@ import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
-import org.springframework.core.io.support.SpringFactoriesLoader;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
@@ -186,6 +189,10 @@ public class SpringApplication {
 
 	private boolean registerShutdownHook = true;
 
+	private boolean recordStartupTimeline;
+
+	private boolean lazyInitialization;
+
 	private List<ApplicationContextInitializer<?>> initializers;
 
 	private List<ApplicationListener<?>> listeners;
@@ -273,24 +280,37 @@ public class SpringApplication {
 				System.getProperty(SYSTEM_PROPERTY_JAVA_AWT_HEADLESS,
 						Boolean.toString(this.headless)));
 
+		StartupTimeline timeline = (this.recordStartupTimeline ? StartupTimeline
+				.activate() : null);
 		Collection<SpringApplicationRunListener> runListeners = getRunListeners(args);
 		for (SpringApplicationRunListener runListener : runListeners) {
 			runListener.started();
 		}
 
+		Step step = null;
 		try {
 			// Create and configure the environment
+			step = StartupTimeline.start("application.environment.prepare");
 			ConfigurableEnvironment environment = getOrCreateEnvironment();
 			configureEnvironment(environment, args);
 			for (SpringApplicationRunListener runListener : runListeners) {
 				runListener.environmentPrepared(environment);
 			}
+			step.end();
 			if (this.showBanner) {
 				printBanner(environment);
 			}
 
 			// Create, load, refresh and run the ApplicationContext
+			step = StartupTimeline.start("application.context.prepare");
 			context = createApplicationContext();
+			if (timeline != null) {
+				registerStartupTimeline(context, timeline);
+			}
+			if (this.lazyInitialization) {
+				context.addBeanFactoryPostProcessor(
+						new LazyInitializationBeanFactoryPostProcessor());
+			}
 			if (this.registerShutdownHook) {
 				try {
 					context.registerShutdownHook();
@@ -305,21 +325,29 @@ public class SpringApplication {
 			for (SpringApplicationRunListener runListener : runListeners) {
 				runListener.contextPrepared(context);
 			}
+			step.end();
 			if (this.logStartupInfo) {
 				logStartupInfo(context.getParent() == null);
 			}
 
 			// Load the sources
+			step = StartupTimeline.start("application.context.load");
 			Set<Object> sources = getSources();
 			Assert.notEmpty(sources, "Sources must not be empty");
 			load(context, sources.toArray(new Object[sources.size()]));
 			for (SpringApplicationRunListener runListener : runListeners) {
 				runListener.contextLoaded(context);
 			}
+			step.end();
 
 			// Refresh the context
+			step = StartupTimeline.start("application.context.refresh");
 			refresh(context);
+			step.end();
+			step = StartupTimeline.start("application.after-refresh");
 			afterRefresh(context, args);
+			step.end();
+			StartupTimeline.deactivate(timeline);
 			for (SpringApplicationRunListener runListener : runListeners) {
 				runListener.finished(context, null);
 			}
@@ -332,6 +360,7 @@ public class SpringApplication {
 			return context;
 		}
 		catch (Throwable ex) {
+			endStartupTimeline(timeline, step);
 			try {
 				for (SpringApplicationRunListener runListener : runListeners) {
 					finishWithException(runListener, context, ex);
@@ -346,6 +375,16 @@ public class SpringApplication {
 			ReflectionUtils.rethrowRuntimeException(ex);
 			return context;
 		}
+		finally {
+			endStartupTimeline(timeline, step);
+		}
+	}
+
+	private void endStartupTimeline(StartupTimeline timeline, Step step) {
+		if (step != null) {
+			step.end();
+		}
+		StartupTimeline.deactivate(timeline);
 	}
 
 	private Collection<SpringApplicationRunListener> getRunListeners(String[] args) {
@@ -366,7 +405,7 @@ public class SpringApplication {
 
 		// Use names and ensure unique to protect against duplicates
 		Set<String> names = new LinkedHashSet<String>(
-				SpringFactoriesLoader.loadFactoryNames(type, classLoader));
+				SpringFactoriesCache.loadFactoryNames(type, classLoader));
 		List<T> instances = new ArrayList<T>(names.size());
 
 		// Create instances from the names
@@ -565,7 +604,24 @@ public class SpringApplication {
 			Class<?> requiredType = GenericTypeResolver.resolveTypeArgument(
 					initializer.getClass(), ApplicationContextInitializer.class);
 			Assert.isInstanceOf(requiredType, context, "Unable to call initializer.");
-			initializer.initialize(context);
+			Step step = StartupTimeline.start("application.context.initializer").tag(
+					"class", initializer.getClass().getName());
+			try {
+				initializer.initialize(context);
+			}
+			finally {
+				step.end();
+			}
+		}
+	}
+
+	private void registerStartupTimeline(ConfigurableApplicationContext context,
+			StartupTimeline timeline) {
+		if (context instanceof GenericApplicationContext) {
+			ConfigurableListableBeanFactory beanFactory = ((GenericApplicationContext) context)
+					.getBeanFactory();
+			beanFactory.registerSingleton(StartupTimeline.BEAN_NAME, timeline);
+			beanFactory.addBeanPostProcessor(new StartupTimelineBeanPostProcessor());
 		}
 	}
 
@@ -755,6 +811,30 @@ public class SpringApplication {
 		this.banner = banner;
 	}
 
+	/**
+	 * Sets if a {@link StartupTimeline} should be recorded while the application runs.
+	 * When enabled the timeline is registered with the application context as a bean
+	 * named {@value StartupTimeline#BEAN_NAME} before it is refreshed, so that
+	 * {@link SpringApplicationRunListener#finished finished} callbacks and the
+	 * application itself can inspect it. Defaults to {@code false}.
+	 * @param recordStartupTimeline if the startup timeline should be recorded
+	 */
+	public void setRecordStartupTimeline(boolean recordStartupTimeline) {
+		this.recordStartupTimeline = recordStartupTimeline;
+	}
+
+	/**
+	 * Sets if beans should be initialized lazily. When {@code true}, bean definitions are
+	 * marked as lazy so that beans are only created when they are first needed. Beans
+	 * that must be created eagerly, such as {@code SmartLifecycle} beans, servlet and
+	 * filter registrations and beans with {@code @Scheduled} methods, are not affected.
+	 * Defaults to {@code false}.
+	 * @param lazyInitialization if initialization should be lazy
+	 */
+	public void setLazyInitialization(boolean lazyInitialization) {
+		this.lazyInitialization = lazyInitialization;
+	}
+
 	/**
 	 * Sets if the Spring banner should be displayed when the application runs. Defaults
 	 * to {@code true}.
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.StringUtils;
+
+/**
+ * Process-wide cache of the {@code META-INF/spring.factories} files visible to a
+ * {@link ClassLoader}. Offers the same operations as {@link SpringFactoriesLoader} but
+ * only enumerates and parses the factories files once per class loader, rather than once
+ * per lookup.
+ *
+ * @author Agent
+ * @since 1.3.0
+ * @see SpringFactoriesLoader
+ */
+public abstract class SpringFactoriesCache {
+
+	private static final Map<ClassLoader, Map<String, List<String>>> cache = new ConcurrentReferenceHashMap<ClassLoader, Map<String, List<String>>>();
+
+	/**
+	 * Load the fully qualified class names of factory implementations of the given type
+	 * from {@value SpringFactoriesLoader#FACTORIES_RESOURCE_LOCATION}, using the given
+	 * class loader.
+	 * @param factoryClass the interface or abstract class representing the factory
+	 * @param classLoader the ClassLoader to use for loading resources; can be
+	 * {@code null} to use the system class loader
+	 * @return the factory names
+	 * @see SpringFactoriesLoader#loadFactoryNames(Class, ClassLoader)
+	 */
+	public static List<String> loadFactoryNames(Class<?> factoryClass,
+			ClassLoader classLoader) {
+		Assert.notNull(factoryClass, "FactoryClass must not be null");
+		List<String> names = getFactories(classLoader).get(factoryClass.getName());
+		return (names == null ? new ArrayList<String>() : new ArrayList<String>(names));
+	}
+
+	/**
+	 * Load and instantiate the factory implementations of the given type from
+	 * {@value SpringFactoriesLoader#FACTORIES_RESOURCE_LOCATION}, using the given class
+	 * loader. The returned factories are sorted using
+	 * {@link AnnotationAwareOrderComparator}.
+	 * @param factoryClass the interface or abstract class representing the factory
+	 * @param classLoader the ClassLoader to use for loading (can be {@code null} to use
+	 * the default)
+	 * @return the factory instances
+	 * @see SpringFactoriesLoader#loadFactories(Class, ClassLoader)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> List<T> loadFactories(Class<T> factoryClass, ClassLoader classLoader) {
+		Assert.notNull(factoryClass, "FactoryClass must not be null");
+		ClassLoader classLoaderToUse = (classLoader != null ? classLoader
+				: SpringFactoriesCache.class.getClassLoader());
+		List<String> names = loadFactoryNames(factoryClass, classLoaderToUse);
+		List<T> result = new ArrayList<T>(names.size());
+		for (String name : names) {
+			try {
+				Class<?> instanceClass = ClassUtils.forName(name, classLoaderToUse);
+				Assert.isAssignable(factoryClass, instanceClass);
+				result.add((T) instanceClass.newInstance());
+			}
+			catch (Throwable ex) {
+				throw new IllegalArgumentException("Cannot instantiate factory class: "
+						+ factoryClass.getName(), ex);
+			}
+		}
+		AnnotationAwareOrderComparator.sort(result);
+		return result;
+	}
+
+	/**
+	 * Clear the cache, forcing factories files to be read again on the next lookup.
+	 */
+	public static void clearCache() {
+		cache.clear();
+	}
+
+	private static Map<String, List<String>> getFactories(ClassLoader classLoader) {
+		Map<String, List<String>> factories = cache.get(classLoader);
+		if (factories == null) {
+			factories = loadFactories(classLoader);
+			cache.put(classLoader, factories);
+		}
+		return factories;
+	}
+
+	private static Map<String, List<String>> loadFactories(ClassLoader classLoader) {
+		String location = SpringFactoriesLoader.FACTORIES_RESOURCE_LOCATION;
+		try {
+			Enumeration<URL> urls = (classLoader != null ? classLoader
+					.getResources(location) : ClassLoader.getSystemResources(location));
+			Map<String, List<String>> factories = new LinkedHashMap<String, List<String>>();
+			while (urls.hasMoreElements()) {
+				URL url = urls.nextElement();
+				Properties properties = PropertiesLoaderUtils
+						.loadProperties(new UrlResource(url));
+				for (String key : properties.stringPropertyNames()) {
+					List<String> names = factories.get(key);
+					if (names == null) {
+						names = new ArrayList<String>();
+						factories.put(key, names);
+					}
+					Collections.addAll(names, StringUtils
+							.commaDelimitedListToStringArray(properties.getProperty(key)));
+				}
+			}
+			return Collections.unmodifiableMap(factories);
+		}
+		catch (IOException ex) {
+			throw new IllegalArgumentException("Unable to load factories from location ["
+					+ location + "]", ex);
+		}
+	}
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.bind;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.PropertySources;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * A compiled form of a {@code String} containing <code>${...}</code> placeholders.
+ * Templates are parsed once and cached so that repeated resolution only needs to look
+ * up the referenced properties. Resolution follows the same rules as Spring's
+ * {@code PropertyPlaceholderHelper}: placeholders may be nested, may declare a default
+ * value after a {@code ':'} and resolved values are themselves resolved recursively.
+ *
+ * @author Agent
+ */
+final class PlaceholderTemplate {
+
+	private static final String PREFIX = "${";
+
+	private static final String SUFFIX = "}";
+
+	private static final String SIMPLE_PREFIX = "{";
+
+	private static final String VALUE_SEPARATOR = ":";
+
+	private static final Map<String, PlaceholderTemplate> cache = new ConcurrentReferenceHashMap<String, PlaceholderTemplate>();
+
+	private final String text;
+
+	private final List<Object> parts;
+
+	private PlaceholderTemplate(String text, List<Object> parts) {
+		this.text = text;
+		this.parts = parts;
+	}
+
+	/**
+	 * Resolve all placeholders in this template against the given property sources.
+	 * @param propertySources the property sources used to resolve placeholders
+	 * @return the resolved text
+	 * @throws IllegalArgumentException if a placeholder cannot be resolved or if
+	 * placeholders are circular
+	 */
+	public String resolve(PropertySources propertySources) {
+		return resolve(propertySources, new HashSet<String>());
+	}
+
+	private String resolve(PropertySources propertySources, Set<String> visited) {
+		StringBuilder result = new StringBuilder();
+		for (Object part : this.parts) {
+			if (part instanceof Placeholder) {
+				result.append(((Placeholder) part).resolve(propertySources, visited,
+						this.text));
+			}
+			else {
+				result.append(part);
+			}
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Resolve the given value, which may contain placeholders, against the specified
+	 * property sources.
+	 * @param value the value to resolve
+	 * @param propertySources the property sources used to resolve placeholders
+	 * @return the resolved value
+	 */
+	public static String resolve(String value, PropertySources propertySources) {
+		return resolve(value, propertySources, new HashSet<String>());
+	}
+
+	private static String resolve(String value, PropertySources propertySources,
+			Set<String> visited) {
+		if (value.indexOf(PREFIX) == -1) {
+			return value;
+		}
+		return compile(value).resolve(propertySources, visited);
+	}
+
+	/**
+	 * Return the value of the named property from the first property source that
+	 * contains it with any placeholders resolved.
+	 * @param propertySources the property sources to search
+	 * @param name the property name
+	 * @return the resolved value or {@code null}
+	 */
+	public static Object getProperty(PropertySources propertySources, String name) {
+		Object value = getRawProperty(propertySources, name);
+		if (value instanceof String) {
+			return resolve((String) value, propertySources);
+		}
+		return value;
+	}
+
+	private static Object getRawProperty(PropertySources propertySources, String name) {
+		for (PropertySource<?> source : propertySources) {
+			Object value = source.getProperty(name);
+			if (value != null) {
+				return value;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Return a (possibly cached) template for the given text.
+	 * @param text the source text
+	 * @return the compiled template
+	 */
+	public static PlaceholderTemplate compile(String text) {
+		PlaceholderTemplate template = cache.get(text);
+		if (template == null) {
+			template = new PlaceholderTemplate(text, parse(text));
+			cache.put(text, template);
+		}
+		return template;
+	}
+
+	private static List<Object> parse(String text) {
+		List<Object> parts = new ArrayList<Object>();
+		int start = 0;
+		int index = text.indexOf(PREFIX);
+		while (index != -1) {
+			int end = findPlaceholderEndIndex(text, index);
+			if (end == -1) {
+				break;
+			}
+			if (index > start) {
+				parts.add(text.substring(start, index));
+			}
+			String content = text.substring(index + PREFIX.length(), end);
+			parts.add(new Placeholder(content, compile(content)));
+			start = end + SUFFIX.length();
+			index = text.indexOf(PREFIX, start);
+		}
+		if (start < text.length()) {
+			parts.add(text.substring(start));
+		}
+		return Collections.unmodifiableList(parts);
+	}
+
+	private static int findPlaceholderEndIndex(CharSequence text, int startIndex) {
+		int index = startIndex + PREFIX.length();
+		int withinNestedPlaceholder = 0;
+		while (index < text.length()) {
+			if (matches(text, index, SUFFIX)) {
+				if (withinNestedPlaceholder == 0) {
+					return index;
+				}
+				withinNestedPlaceholder--;
+				index += SUFFIX.length();
+			}
+			else if (matches(text, index, SIMPLE_PREFIX)) {
+				withinNestedPlaceholder++;
+				index += SIMPLE_PREFIX.length();
+			}
+			else {
+				index++;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean matches(CharSequence text, int index, String substring) {
+		for (int i = 0; i < substring.length(); i++) {
+			int j = index + i;
+			if (j >= text.length() || text.charAt(j) != substring.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * A single placeholder within a template.
+	 */
+	private static final class Placeholder {
+
+		private final String content;
+
+		private final PlaceholderTemplate key;
+
+		Placeholder(String content, PlaceholderTemplate key) {
+			this.content = content;
+			this.key = key;
+		}
+
+		public String resolve(PropertySources propertySources, Set<String> visited,
+				String text) {
+			if (!visited.add(this.content)) {
+				throw new IllegalArgumentException("Circular placeholder reference '"
+						+ this.content + "' in property definitions");
+			}
+			try {
+				String key = this.key.resolve(propertySources, visited);
+				String value = getRawString(propertySources, key);
+				if (value == null) {
+					int separatorIndex = key.indexOf(VALUE_SEPARATOR);
+					if (separatorIndex != -1) {
+						value = getRawString(propertySources,
+								key.substring(0, separatorIndex));
+						if (value == null) {
+							value = key.substring(separatorIndex
+									+ VALUE_SEPARATOR.length());
+						}
+					}
+				}
+				if (value == null) {
+					throw new IllegalArgumentException("Could not resolve placeholder '"
+							+ key + "' in string value \"" + text + "\"");
+				}
+				return PlaceholderTemplate.resolve(value, propertySources, visited);
+			}
+			finally {
+				visited.remove(this.content);
+			}
+		}
+
+		private String getRawString(PropertySources propertySources, String name) {
+			Object value = getRawProperty(propertySources, name);
+			return (value == null ? null : value.toString());
+		}
+
+	}
+
+}
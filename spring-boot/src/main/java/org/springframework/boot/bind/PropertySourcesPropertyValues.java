@@ -29,7 +29,6 @@ import org.springframework.core.env.CompositePropertySource;
 import org.springframework.core.env.EnumerablePropertySource;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.env.PropertySources;
-import org.springframework.core.env.PropertySourcesPropertyResolver;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.validation.DataBinder;
 
@@ -88,33 +87,30 @@ public class PropertySourcesPropertyValues implements PropertyValues {
 		if (names == null) {
 			names = Collections.emptySet();
 		}
-		PropertySourcesPropertyResolver resolver = new PropertySourcesPropertyResolver(
-				propertySources);
 		for (PropertySource<?> source : propertySources) {
-			processPropertySource(source, resolver, includes, names);
+			processPropertySource(source, includes, names);
 		}
 	}
 
 	private void processPropertySource(PropertySource<?> source,
-			PropertySourcesPropertyResolver resolver,
 			PropertyNamePatternsMatcher includes, Collection<String> exacts) {
 		if (source instanceof CompositePropertySource) {
-			processCompositePropertySource((CompositePropertySource) source, resolver,
-					includes, exacts);
+			processCompositePropertySource((CompositePropertySource) source, includes,
+					exacts);
 		}
 		else if (source instanceof EnumerablePropertySource) {
 			processEnumerablePropertySource((EnumerablePropertySource<?>) source,
-					resolver, includes);
+					includes);
 		}
 		else {
 			// We can only do exact matches for non-enumerable property names, but
 			// that's better than nothing...
-			processDefaultPropertySource(source, resolver, includes, exacts);
+			processDefaultPropertySource(source, includes, exacts);
 		}
 	}
 
 	private void processEnumerablePropertySource(EnumerablePropertySource<?> source,
-			PropertySourcesPropertyResolver resolver, PropertyNamePatternsMatcher includes) {
+			PropertyNamePatternsMatcher includes) {
 		if (source.getPropertyNames().length > 0) {
 			for (String propertyName : source.getPropertyNames()) {
 				if (PropertySourcesPropertyValues.PATTERN_MATCHED_PROPERTY_SOURCES
@@ -123,7 +119,7 @@ public class PropertySourcesPropertyValues implements PropertyValues {
 				}
 				Object value = null;
 				try {
-					value = resolver.getProperty(propertyName, Object.class);
+					value = getResolvedProperty(propertyName);
 				}
 				catch (RuntimeException ex) {
 					// Probably could not resolve placeholders, ignore it here
@@ -140,20 +136,18 @@ public class PropertySourcesPropertyValues implements PropertyValues {
 	}
 
 	private void processCompositePropertySource(CompositePropertySource source,
-			PropertySourcesPropertyResolver resolver,
 			PropertyNamePatternsMatcher includes, Collection<String> exacts) {
 		for (PropertySource<?> nested : source.getPropertySources()) {
-			processPropertySource(nested, resolver, includes, exacts);
+			processPropertySource(nested, includes, exacts);
 		}
 	}
 
 	private void processDefaultPropertySource(PropertySource<?> source,
-			PropertySourcesPropertyResolver resolver,
 			PropertyNamePatternsMatcher includes, Collection<String> exacts) {
 		for (String propertyName : exacts) {
 			Object value = null;
 			try {
-				value = resolver.getProperty(propertyName, Object.class);
+				value = getResolvedProperty(propertyName);
 			}
 			catch (RuntimeException ex) {
 				// Probably could not convert to Object, weird, but ignoreable
@@ -169,6 +163,11 @@ public class PropertySourcesPropertyValues implements PropertyValues {
 		}
 	}
 
+	private Object getResolvedProperty(String propertyName) {
+		// Placeholder templates are compiled once and shared across binders
+		return PlaceholderTemplate.getProperty(this.propertySources, propertyName);
+	}
+
 	@Override
 	public PropertyValue[] getPropertyValues() {
 		Collection<PropertyValue> values = this.propertyValues.values();
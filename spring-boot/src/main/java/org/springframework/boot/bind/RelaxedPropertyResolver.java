@@ -16,23 +16,36 @@
 
 package org.springframework.boot.bind;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.PropertyResolver;
 import org.springframework.core.env.PropertySources;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
 
 import static java.lang.String.format;
 
 /**
  * {@link PropertyResolver} that attempts to resolve values using {@link RelaxedNames}.
+ * <p>
+ * The relaxed variants of each prefix and key are generated once and cached. Which
+ * variant matches is deliberately not memoized: property sources can change in place
+ * (for example a system property being set) without any signal that could be used to
+ * invalidate such a cache, so they are consulted on every call and changes to them are
+ * always visible.
  *
  * @author Phillip Webb
  * @see RelaxedNames
  */
 public class RelaxedPropertyResolver implements PropertyResolver {
 
+	private static final Map<String, String[]> relaxedNamesCache = new ConcurrentReferenceHashMap<String, String[]>(
+			64, ReferenceType.SOFT);
+
 	private final PropertyResolver resolver;
 
 	private final String prefix;
@@ -77,45 +90,53 @@ public class RelaxedPropertyResolver implements PropertyResolver {
 
 	@Override
 	public <T> T getProperty(String key, Class<T> targetType, T defaultValue) {
-		RelaxedNames prefixes = new RelaxedNames(this.prefix);
-		RelaxedNames keys = new RelaxedNames(key);
-		for (String prefix : prefixes) {
-			for (String relaxedKey : keys) {
-				if (this.resolver.containsProperty(prefix + relaxedKey)) {
-					return this.resolver.getProperty(prefix + relaxedKey, targetType);
-				}
-			}
+		String name = getPropertyName(key);
+		if (name == null) {
+			return defaultValue;
 		}
-		return defaultValue;
+		return this.resolver.getProperty(name, targetType);
 	}
 
 	@Override
 	public <T> Class<T> getPropertyAsClass(String key, Class<T> targetType) {
-		RelaxedNames prefixes = new RelaxedNames(this.prefix);
-		RelaxedNames keys = new RelaxedNames(key);
-		for (String prefix : prefixes) {
-			for (String relaxedKey : keys) {
+		String name = getPropertyName(key);
+		return (name == null ? null : this.resolver.getPropertyAsClass(name,
+				targetType));
+	}
+
+	@Override
+	public boolean containsProperty(String key) {
+		return getPropertyName(key) != null;
+	}
+
+	/**
+	 * Return the first relaxed variant of the given key that is contained in the
+	 * underlying resolver.
+	 * @param key the key to find
+	 * @return the actual property name or {@code null}
+	 */
+	private String getPropertyName(String key) {
+		for (String prefix : getRelaxedNames(this.prefix)) {
+			for (String relaxedKey : getRelaxedNames(key)) {
 				if (this.resolver.containsProperty(prefix + relaxedKey)) {
-					return this.resolver.getPropertyAsClass(prefix + relaxedKey,
-							targetType);
+					return prefix + relaxedKey;
 				}
 			}
 		}
 		return null;
 	}
 
-	@Override
-	public boolean containsProperty(String key) {
-		RelaxedNames prefixes = new RelaxedNames(this.prefix);
-		RelaxedNames keys = new RelaxedNames(key);
-		for (String prefix : prefixes) {
-			for (String relaxedKey : keys) {
-				if (this.resolver.containsProperty(prefix + relaxedKey)) {
-					return true;
-				}
+	private static String[] getRelaxedNames(String name) {
+		String[] names = relaxedNamesCache.get(name);
+		if (names == null) {
+			List<String> list = new ArrayList<String>();
+			for (String relaxedName : new RelaxedNames(name)) {
+				list.add(relaxedName);
 			}
+			names = list.toArray(new String[list.size()]);
+			relaxedNamesCache.put(name, names);
 		}
-		return false;
+		return names;
 	}
 
 	@Override
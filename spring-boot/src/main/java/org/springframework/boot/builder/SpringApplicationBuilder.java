@@ -295,6 +295,28 @@ public class SpringApplicationBuilder {
 		return this;
 	}
 
+	/**
+	 * Flag to indicate that beans should be initialized lazily.
+	 * @param lazyInitialization the flag to set. Default false.
+	 * @return the current builder
+	 * @see SpringApplication#setLazyInitialization(boolean)
+	 */
+	public SpringApplicationBuilder lazyInitialization(boolean lazyInitialization) {
+		this.application.setLazyInitialization(lazyInitialization);
+		return this;
+	}
+
+	/**
+	 * Flag to indicate that a startup timeline should be recorded.
+	 * @param recordStartupTimeline the flag to set. Default false.
+	 * @return the current builder
+	 * @see SpringApplication#setRecordStartupTimeline(boolean)
+	 */
+	public SpringApplicationBuilder recordStartupTimeline(boolean recordStartupTimeline) {
+		this.application.setRecordStartupTimeline(recordStartupTimeline);
+		return this;
+	}
+
 	/**
 	 * Sets the {@link Banner} instance which will be used to print the banner when no
 	 * static banner file is provided.
@@ -0,0 +1,385 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.cache;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.util.Assert;
+
+/**
+ * Dependency-free {@link Cache} implementation that holds at most a given number of
+ * entries, evicting the least recently used ones first. Entries can optionally expire a
+ * fixed amount of time after they have been written.
+ * <p>
+ * Entries are held in a {@link ConcurrentHashMap}. Reads never block: accesses are
+ * recorded in a lossy buffer that is applied to the recency order by whichever thread
+ * manages to acquire the eviction lock. As a consequence, the eviction order is an
+ * approximation of a strict LRU under heavy concurrent load.
+ *
+ * @author Agent
+ * @since 1.3.0
+ * @see BoundedCacheManager
+ */
+public class BoundedCache implements Cache {
+
+	private static final Object NULL_HOLDER = new NullHolder();
+
+	private static final int READ_BUFFER_SIZE = 128;
+
+	private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+
+	private static final int READ_BUFFER_DRAIN_THRESHOLD = 32;
+
+	private final String name;
+
+	private final long maximumSize;
+
+	private final long timeToLive;
+
+	private final boolean allowNullValues;
+
+	private final ConcurrentMap<Object, Node> store = new ConcurrentHashMap<Object, Node>();
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	private final AtomicReferenceArray<Node> readBuffer = new AtomicReferenceArray<Node>(
+			READ_BUFFER_SIZE);
+
+	private final AtomicLong readCount = new AtomicLong();
+
+	/**
+	 * Sentinel of the doubly linked list that keeps entries in access order, the head
+	 * being the least recently used. Guarded by the eviction lock.
+	 */
+	private final Node head = new Node(null, null, 0);
+
+	private long linkedCount;
+
+	/**
+	 * Create a new {@link BoundedCache} that does not expire entries.
+	 * @param name the name of the cache
+	 * @param maximumSize the maximum number of entries
+	 */
+	public BoundedCache(String name, long maximumSize) {
+		this(name, maximumSize, 0, true);
+	}
+
+	/**
+	 * Create a new {@link BoundedCache} instance.
+	 * @param name the name of the cache
+	 * @param maximumSize the maximum number of entries
+	 * @param timeToLive the time in milliseconds after which an entry expires once it
+	 * has been written or {@code 0} to never expire entries
+	 * @param allowNullValues whether to accept and convert {@code null} values
+	 */
+	public BoundedCache(String name, long maximumSize, long timeToLive,
+			boolean allowNullValues) {
+		Assert.notNull(name, "Name must not be null");
+		Assert.isTrue(maximumSize > 0, "MaximumSize must be positive");
+		Assert.isTrue(timeToLive >= 0, "TimeToLive must not be negative");
+		this.name = name;
+		this.maximumSize = maximumSize;
+		this.timeToLive = TimeUnit.MILLISECONDS.toNanos(timeToLive);
+		this.allowNullValues = allowNullValues;
+		this.head.previous = this.head;
+		this.head.next = this.head;
+	}
+
+	@Override
+	public final String getName() {
+		return this.name;
+	}
+
+	@Override
+	public final BoundedCache getNativeCache() {
+		return this;
+	}
+
+	public final long getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	/**
+	 * Return the time in milliseconds after which an entry expires once it has been
+	 * written or {@code 0} if entries never expire.
+	 * @return the time to live
+	 */
+	public final long getTimeToLive() {
+		return TimeUnit.NANOSECONDS.toMillis(this.timeToLive);
+	}
+
+	public final boolean isAllowNullValues() {
+		return this.allowNullValues;
+	}
+
+	/**
+	 * Return the number of entries held by the cache, including those that have expired
+	 * but have not been removed yet.
+	 * @return the size of the cache
+	 */
+	public int size() {
+		return this.store.size();
+	}
+
+	/**
+	 * Return a read-only view of the keys held by the cache, including those of entries
+	 * that have expired but have not been removed yet.
+	 * @return the keys of the cache
+	 */
+	public Set<Object> keySet() {
+		return Collections.unmodifiableSet(this.store.keySet());
+	}
+
+	@Override
+	public ValueWrapper get(Object key) {
+		Node node = getNode(key);
+		return (node != null ? toWrapper(node.value) : null);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Class<T> type) {
+		Node node = getNode(key);
+		Object value = (node != null ? fromStoreValue(node.value) : null);
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException("Cached value is not of required type ["
+					+ type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		Node node = new Node(key, toStoreValue(value), System.nanoTime());
+		Node previous = this.store.put(key, node);
+		onWrite(node, previous);
+	}
+
+	@Override
+	public ValueWrapper putIfAbsent(Object key, Object value) {
+		Node node = new Node(key, toStoreValue(value), System.nanoTime());
+		while (true) {
+			Node existing = this.store.putIfAbsent(key, node);
+			if (existing == null) {
+				onWrite(node, null);
+				return null;
+			}
+			if (!isExpired(existing)) {
+				recordRead(existing);
+				return toWrapper(existing.value);
+			}
+			if (this.store.remove(key, existing)) {
+				onRemove(existing);
+			}
+		}
+	}
+
+	@Override
+	public void evict(Object key) {
+		Node node = this.store.remove(key);
+		if (node != null) {
+			onRemove(node);
+		}
+	}
+
+	@Override
+	public void clear() {
+		this.evictionLock.lock();
+		try {
+			this.store.clear();
+			for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+				this.readBuffer.set(i, null);
+			}
+			Node node = this.head.next;
+			while (node != this.head) {
+				Node next = node.next;
+				node.previous = null;
+				node.next = null;
+				node = next;
+			}
+			this.head.previous = this.head;
+			this.head.next = this.head;
+			this.linkedCount = 0;
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	private Node getNode(Object key) {
+		Node node = this.store.get(key);
+		if (node == null) {
+			return null;
+		}
+		if (isExpired(node)) {
+			if (this.store.remove(key, node)) {
+				// Unlink straight away, the lossy read buffer may drop the node
+				onRemove(node);
+			}
+			return null;
+		}
+		recordRead(node);
+		return node;
+	}
+
+	private boolean isExpired(Node node) {
+		return (this.timeToLive > 0 && System.nanoTime() - node.writeTime >= this.timeToLive);
+	}
+
+	private void recordRead(Node node) {
+		long count = this.readCount.getAndIncrement();
+		this.readBuffer.lazySet((int) (count & READ_BUFFER_MASK), node);
+		if ((count % READ_BUFFER_DRAIN_THRESHOLD) == 0 && this.evictionLock.tryLock()) {
+			try {
+				drainReadBuffer();
+			}
+			finally {
+				this.evictionLock.unlock();
+			}
+		}
+	}
+
+	private void onWrite(Node node, Node previous) {
+		this.evictionLock.lock();
+		try {
+			drainReadBuffer();
+			if (previous != null) {
+				unlink(previous);
+			}
+			if (this.store.get(node.key) == node) {
+				linkLast(node);
+			}
+			evictIfNecessary();
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	private void onRemove(Node node) {
+		this.evictionLock.lock();
+		try {
+			unlink(node);
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	private void drainReadBuffer() {
+		for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+			Node node = this.readBuffer.getAndSet(i, null);
+			if (node != null && node.next != null) {
+				if (this.store.get(node.key) == node) {
+					unlink(node);
+					linkLast(node);
+				}
+				else {
+					unlink(node);
+				}
+			}
+		}
+	}
+
+	private void evictIfNecessary() {
+		while (this.linkedCount > this.maximumSize) {
+			Node eldest = this.head.next;
+			unlink(eldest);
+			this.store.remove(eldest.key, eldest);
+		}
+	}
+
+	private void linkLast(Node node) {
+		if (node.next != null) {
+			return;
+		}
+		Node last = this.head.previous;
+		node.previous = last;
+		node.next = this.head;
+		last.next = node;
+		this.head.previous = node;
+		this.linkedCount++;
+	}
+
+	private void unlink(Node node) {
+		if (node.next == null) {
+			return;
+		}
+		node.previous.next = node.next;
+		node.next.previous = node.previous;
+		node.previous = null;
+		node.next = null;
+		this.linkedCount--;
+	}
+
+	private Object toStoreValue(Object userValue) {
+		if (userValue == null) {
+			Assert.state(this.allowNullValues, "Cache '" + this.name
+					+ "' is configured to not allow null values but null was provided");
+			return NULL_HOLDER;
+		}
+		return userValue;
+	}
+
+	private Object fromStoreValue(Object storeValue) {
+		return (storeValue == NULL_HOLDER ? null : storeValue);
+	}
+
+	private ValueWrapper toWrapper(Object storeValue) {
+		return new SimpleValueWrapper(fromStoreValue(storeValue));
+	}
+
+	/**
+	 * An entry of the cache. Links are guarded by the eviction lock, a {@code null}
+	 * {@code next} link indicating that the node is not part of the access order.
+	 */
+	private static final class Node {
+
+		private final Object key;
+
+		private final Object value;
+
+		private final long writeTime;
+
+		private Node previous;
+
+		private Node next;
+
+		Node(Object key, Object value, long writeTime) {
+			this.key = key;
+			this.value = value;
+			this.writeTime = writeTime;
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private static class NullHolder implements Serializable {
+
+	}
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.cache;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * {@link CacheManager} implementation that lazily builds {@link BoundedCache} instances
+ * for each {@link #getCache} request, unless a fixed set of cache names has been
+ * specified. The maximum size and time to live of each cache can be customized by name.
+ *
+ * @author Agent
+ * @since 1.3.0
+ */
+public class BoundedCacheManager implements CacheManager {
+
+	/**
+	 * Default maximum number of entries of a cache.
+	 */
+	public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+
+	private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<String, Cache>(
+			16);
+
+	private final Map<String, long[]> cacheSettings = new ConcurrentHashMap<String, long[]>();
+
+	private boolean dynamic = true;
+
+	private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+	private long timeToLive;
+
+	private boolean allowNullValues = true;
+
+	/**
+	 * Construct a dynamic {@link BoundedCacheManager}, lazily creating cache instances
+	 * as they are being requested.
+	 */
+	public BoundedCacheManager() {
+	}
+
+	/**
+	 * Construct a static {@link BoundedCacheManager}, managing caches for the specified
+	 * cache names only.
+	 * @param cacheNames the names of the caches
+	 */
+	public BoundedCacheManager(String... cacheNames) {
+		setCacheNames(Arrays.asList(cacheNames));
+	}
+
+	/**
+	 * Specify the set of cache names for this CacheManager's 'static' mode.
+	 * <p>
+	 * The number of caches and their names will be fixed after a call to this method,
+	 * with no creation of further cache regions at runtime. Calling this with a
+	 * {@code null} collection argument resets the mode to 'dynamic', allowing for
+	 * further creation of caches again.
+	 * @param cacheNames the names of the caches
+	 */
+	public void setCacheNames(Collection<String> cacheNames) {
+		if (cacheNames != null) {
+			for (String name : cacheNames) {
+				this.caches.put(name, createBoundedCache(name));
+			}
+			this.dynamic = false;
+		}
+		else {
+			this.dynamic = true;
+		}
+	}
+
+	/**
+	 * Set the maximum number of entries of caches that have no specific settings.
+	 * @param maximumSize the maximum size
+	 */
+	public void setMaximumSize(long maximumSize) {
+		if (this.maximumSize != maximumSize) {
+			this.maximumSize = maximumSize;
+			refreshKnownCaches();
+		}
+	}
+
+	/**
+	 * Set the time in milliseconds after which entries of caches that have no specific
+	 * settings expire once they have been written. {@code 0} (the default) means that
+	 * entries never expire.
+	 * @param timeToLive the time to live
+	 */
+	public void setTimeToLive(long timeToLive) {
+		if (this.timeToLive != timeToLive) {
+			this.timeToLive = timeToLive;
+			refreshKnownCaches();
+		}
+	}
+
+	/**
+	 * Specify whether to accept and convert {@code null} values for all caches in this
+	 * cache manager. Default is "true".
+	 * @param allowNullValues whether null values are allowed
+	 */
+	public void setAllowNullValues(boolean allowNullValues) {
+		if (this.allowNullValues != allowNullValues) {
+			this.allowNullValues = allowNullValues;
+			refreshKnownCaches();
+		}
+	}
+
+	/**
+	 * Customize the settings of the cache with the specified name.
+	 * @param name the name of the cache
+	 * @param maximumSize the maximum number of entries
+	 * @param timeToLive the time in milliseconds after which an entry expires once it
+	 * has been written or {@code 0} to never expire entries
+	 */
+	public void setCacheSettings(String name, long maximumSize, long timeToLive) {
+		this.cacheSettings.put(name, new long[] { maximumSize, timeToLive });
+		if (this.caches.containsKey(name)) {
+			this.caches.put(name, createBoundedCache(name));
+		}
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return Collections.unmodifiableSet(this.caches.keySet());
+	}
+
+	@Override
+	public Cache getCache(String name) {
+		Cache cache = this.caches.get(name);
+		if (cache == null && this.dynamic) {
+			synchronized (this.caches) {
+				cache = this.caches.get(name);
+				if (cache == null) {
+					cache = createBoundedCache(name);
+					this.caches.put(name, cache);
+				}
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * Create a new {@link BoundedCache} instance for the specified cache name.
+	 * @param name the name of the cache
+	 * @return the bounded cache
+	 */
+	protected Cache createBoundedCache(String name) {
+		long[] settings = this.cacheSettings.get(name);
+		long maximumSize = (settings != null ? settings[0] : this.maximumSize);
+		long timeToLive = (settings != null ? settings[1] : this.timeToLive);
+		return new BoundedCache(name, maximumSize, timeToLive, this.allowNullValues);
+	}
+
+	private void refreshKnownCaches() {
+		for (Map.Entry<String, Cache> entry : this.caches.entrySet()) {
+			entry.setValue(createBoundedCache(entry.getKey()));
+		}
+	}
+
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Cache} decorator that records hits, misses, puts, evictions and the time taken
+ * by read and write operations of the {@link Cache} it wraps.
+ *
+ * @author Agent
+ * @since 1.3.0
+ * @see InstrumentedCacheManager
+ */
+public class InstrumentedCache implements Cache {
+
+	private final Cache target;
+
+	private final StripedCounter hits = new StripedCounter();
+
+	private final StripedCounter misses = new StripedCounter();
+
+	private final StripedCounter puts = new StripedCounter();
+
+	private final StripedCounter evictions = new StripedCounter();
+
+	private final LatencyHistogram getTime = new LatencyHistogram();
+
+	private final LatencyHistogram putTime = new LatencyHistogram();
+
+	/**
+	 * Create a new {@link InstrumentedCache} instance.
+	 * @param target the cache to instrument
+	 */
+	public InstrumentedCache(Cache target) {
+		Assert.notNull(target, "Target must not be null");
+		this.target = target;
+	}
+
+	public Cache getTarget() {
+		return this.target;
+	}
+
+	@Override
+	public String getName() {
+		return this.target.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return this.target.getNativeCache();
+	}
+
+	@Override
+	public ValueWrapper get(Object key) {
+		long start = System.nanoTime();
+		ValueWrapper value = this.target.get(key);
+		this.getTime.record(System.nanoTime() - start);
+		(value != null ? this.hits : this.misses).increment();
+		return value;
+	}
+
+	@Override
+	public <T> T get(Object key, Class<T> type) {
+		long start = System.nanoTime();
+		T value = this.target.get(key, type);
+		this.getTime.record(System.nanoTime() - start);
+		(value != null ? this.hits : this.misses).increment();
+		return value;
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		long start = System.nanoTime();
+		this.target.put(key, value);
+		this.putTime.record(System.nanoTime() - start);
+		this.puts.increment();
+	}
+
+	@Override
+	public ValueWrapper putIfAbsent(Object key, Object value) {
+		long start = System.nanoTime();
+		ValueWrapper existing = this.target.putIfAbsent(key, value);
+		this.putTime.record(System.nanoTime() - start);
+		(existing != null ? this.hits : this.puts).increment();
+		return existing;
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.target.evict(key);
+		this.evictions.increment();
+	}
+
+	@Override
+	public void clear() {
+		this.target.clear();
+	}
+
+	/**
+	 * Return a snapshot of the statistics recorded so far.
+	 * @return the statistics
+	 */
+	public Statistics getStatistics() {
+		return new Statistics(this.hits.get(), this.misses.get(), this.puts.get(),
+				this.evictions.get(), new Timing(this.getTime.getSnapshot()),
+				new Timing(this.putTime.getSnapshot()));
+	}
+
+	/**
+	 * Point in time statistics of an {@link InstrumentedCache}.
+	 */
+	public static class Statistics {
+
+		private final long hits;
+
+		private final long misses;
+
+		private final long puts;
+
+		private final long evictions;
+
+		private final Timing getTiming;
+
+		private final Timing putTiming;
+
+		Statistics(long hits, long misses, long puts, long evictions, Timing getTiming,
+				Timing putTiming) {
+			this.hits = hits;
+			this.misses = misses;
+			this.puts = puts;
+			this.evictions = evictions;
+			this.getTiming = getTiming;
+			this.putTiming = putTiming;
+		}
+
+		public long getHits() {
+			return this.hits;
+		}
+
+		public long getMisses() {
+			return this.misses;
+		}
+
+		public long getPuts() {
+			return this.puts;
+		}
+
+		public long getEvictions() {
+			return this.evictions;
+		}
+
+		/**
+		 * Return the timing of read operations.
+		 * @return the read timing
+		 */
+		public Timing getGetTiming() {
+			return this.getTiming;
+		}
+
+		/**
+		 * Return the timing of write operations.
+		 * @return the write timing
+		 */
+		public Timing getPutTiming() {
+			return this.putTiming;
+		}
+
+	}
+
+	/**
+	 * Timing of a cache operation. All durations are in nanoseconds, percentiles are
+	 * approximate.
+	 */
+	public static class Timing {
+
+		private final long count;
+
+		private final long mean;
+
+		private final long max;
+
+		private final long median;
+
+		private final long percentile99;
+
+		Timing(LatencyHistogram.Snapshot snapshot) {
+			this.count = snapshot.getCount();
+			this.mean = snapshot.getMean();
+			this.max = snapshot.getMax();
+			this.median = snapshot.getPercentile(0.5);
+			this.percentile99 = snapshot.getPercentile(0.99);
+		}
+
+		public long getCount() {
+			return this.count;
+		}
+
+		public long getMean() {
+			return this.mean;
+		}
+
+		public long getMax() {
+			return this.max;
+		}
+
+		public long getMedian() {
+			return this.median;
+		}
+
+		public long getPercentile99() {
+			return this.percentile99;
+		}
+
+	}
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.cache;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheManager} decorator that wraps the caches of another {@link CacheManager} in
+ * {@link InstrumentedCache} instances. Use {@link #createProxy(CacheManager)} when the
+ * instrumented cache manager must keep the type of the original one.
+ *
+ * @author Agent
+ * @since 1.3.0
+ */
+public class InstrumentedCacheManager implements CacheManager {
+
+	private final CacheManager target;
+
+	private final ConcurrentMap<String, InstrumentedCache> caches = new ConcurrentHashMap<String, InstrumentedCache>();
+
+	/**
+	 * Create a new {@link InstrumentedCacheManager} instance.
+	 * @param target the cache manager to instrument
+	 */
+	public InstrumentedCacheManager(CacheManager target) {
+		Assert.notNull(target, "Target must not be null");
+		this.target = target;
+	}
+
+	public CacheManager getTarget() {
+		return this.target;
+	}
+
+	@Override
+	public Cache getCache(String name) {
+		Cache cache = this.target.getCache(name);
+		if (cache == null) {
+			return null;
+		}
+		InstrumentedCache instrumented = this.caches.get(name);
+		while (instrumented == null || instrumented.getTarget() != cache) {
+			// Not seen before or recreated by the target, which replaces the old entry
+			InstrumentedCache candidate = new InstrumentedCache(cache);
+			boolean stored = (instrumented == null
+					? this.caches.putIfAbsent(name, candidate) == null
+					: this.caches.replace(name, instrumented, candidate));
+			instrumented = (stored ? candidate : this.caches.get(name));
+		}
+		return instrumented;
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return this.target.getCacheNames();
+	}
+
+	/**
+	 * Create a proxy of the given {@link CacheManager} that returns instrumented caches.
+	 * Unless the class of the cache manager is final, the proxy is a subclass of it so
+	 * that it can still be injected and looked up by its concrete type.
+	 * @param cacheManager the cache manager to instrument
+	 * @return an instrumenting proxy of the cache manager
+	 */
+	public static CacheManager createProxy(CacheManager cacheManager) {
+		ProxyFactory proxyFactory = new ProxyFactory(cacheManager);
+		proxyFactory.setProxyTargetClass(!Modifier.isFinal(cacheManager.getClass()
+				.getModifiers()));
+		proxyFactory.addAdvice(new GetCacheInterceptor(new InstrumentedCacheManager(
+				cacheManager)));
+		return (CacheManager) proxyFactory.getProxy(cacheManager.getClass()
+				.getClassLoader());
+	}
+
+	/**
+	 * Return the cache manager instrumented by the given {@link InstrumentedCacheManager}
+	 * or {@link #createProxy(CacheManager) proxy}.
+	 * @param cacheManager the cache manager to inspect
+	 * @return the instrumented target or {@code null} if the cache manager is not
+	 * instrumented
+	 */
+	public static CacheManager getInstrumentedTarget(CacheManager cacheManager) {
+		if (cacheManager instanceof InstrumentedCacheManager) {
+			return ((InstrumentedCacheManager) cacheManager).getTarget();
+		}
+		if (cacheManager instanceof Advised) {
+			for (Advisor advisor : ((Advised) cacheManager).getAdvisors()) {
+				if (advisor.getAdvice() instanceof GetCacheInterceptor) {
+					return ((GetCacheInterceptor) advisor.getAdvice()).cacheManager
+							.getTarget();
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * {@link MethodInterceptor} returning the caches of an
+	 * {@link InstrumentedCacheManager} from {@link CacheManager#getCache(String)}.
+	 */
+	private static class GetCacheInterceptor implements MethodInterceptor {
+
+		private final InstrumentedCacheManager cacheManager;
+
+		GetCacheInterceptor(InstrumentedCacheManager cacheManager) {
+			this.cacheManager = cacheManager;
+		}
+
+		@Override
+		public Object invoke(MethodInvocation invocation) throws Throwable {
+			Method method = invocation.getMethod();
+			if ("getCache".equals(method.getName())
+					&& Arrays.equals(method.getParameterTypes(),
+							new Class<?>[] { String.class })) {
+				return this.cacheManager.getCache((String) invocation.getArguments()[0]);
+			}
+			return invocation.proceed();
+		}
+
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of durations recorded in nanoseconds. Durations are counted in power of two
+ * buckets so recording is cheap and percentiles are approximate (reported as the upper
+ * bound of the bucket that contains them).
+ *
+ * @author Agent
+ */
+class LatencyHistogram {
+
+	private static final int BUCKETS = 64;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+	private final StripedCounter total = new StripedCounter();
+
+	private final AtomicLong max = new AtomicLong();
+
+	public void record(long nanos) {
+		nanos = Math.max(0, nanos);
+		this.buckets.incrementAndGet(Math.min(BUCKETS - 1,
+				BUCKETS - Long.numberOfLeadingZeros(nanos)));
+		this.total.add(nanos);
+		long current = this.max.get();
+		while (nanos > current && !this.max.compareAndSet(current, nanos)) {
+			current = this.max.get();
+		}
+	}
+
+	public Snapshot getSnapshot() {
+		long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = this.buckets.get(i);
+		}
+		return new Snapshot(counts, this.total.get(), this.max.get());
+	}
+
+	/**
+	 * Point in time copy of a {@link LatencyHistogram}.
+	 */
+	static class Snapshot {
+
+		private final long[] counts;
+
+		private final long count;
+
+		private final long total;
+
+		private final long max;
+
+		Snapshot(long[] counts, long total, long max) {
+			long count = 0;
+			for (long bucketCount : counts) {
+				count += bucketCount;
+			}
+			this.counts = counts;
+			this.count = count;
+			this.total = total;
+			this.max = max;
+		}
+
+		public long getCount() {
+			return this.count;
+		}
+
+		public long getMean() {
+			return (this.count == 0 ? 0 : this.total / this.count);
+		}
+
+		public long getMax() {
+			return this.max;
+		}
+
+		public long getPercentile(double percentile) {
+			long threshold = (long) Math.ceil(percentile * this.count);
+			long cumulative = 0;
+			for (int i = 0; i < this.counts.length; i++) {
+				cumulative += this.counts[i];
+				if (cumulative >= threshold && cumulative > 0) {
+					return Math.min(this.max, (i == 0 ? 0 : (1L << i) - 1));
+				}
+			}
+			return this.max;
+		}
+
+	}
+
+}
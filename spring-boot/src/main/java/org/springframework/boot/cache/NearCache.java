@@ -0,0 +1,133 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.cache;
+
+import org.springframework.boot.cache.NearCacheManager.InvalidationPublisher;
+import org.springframework.cache.Cache;
+
+/**
+ * {@link Cache} used by {@link NearCacheManager} that serves reads from a local cache
+ * and falls back to (and writes through to) a remote cache.
+ *
+ * @author Agent
+ * @since 1.3.0
+ */
+public class NearCache implements Cache {
+
+	private final Cache localCache;
+
+	private final Cache remoteCache;
+
+	private final InvalidationPublisher invalidationPublisher;
+
+	/**
+	 * Create a new {@link NearCache} instance.
+	 * @param localCache the local cache
+	 * @param remoteCache the remote cache
+	 * @param invalidationPublisher the publisher to notify of changes (may be
+	 * {@code null})
+	 */
+	public NearCache(Cache localCache, Cache remoteCache,
+			InvalidationPublisher invalidationPublisher) {
+		this.localCache = localCache;
+		this.remoteCache = remoteCache;
+		this.invalidationPublisher = invalidationPublisher;
+	}
+
+	@Override
+	public String getName() {
+		return this.remoteCache.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return this.remoteCache.getNativeCache();
+	}
+
+	public Cache getLocalCache() {
+		return this.localCache;
+	}
+
+	public Cache getRemoteCache() {
+		return this.remoteCache;
+	}
+
+	@Override
+	public ValueWrapper get(Object key) {
+		ValueWrapper value = this.localCache.get(key);
+		if (value == null) {
+			value = this.remoteCache.get(key);
+			if (value != null) {
+				this.localCache.put(key, value.get());
+			}
+		}
+		return value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Class<T> type) {
+		ValueWrapper wrapper = get(key);
+		Object value = (wrapper != null ? wrapper.get() : null);
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException("Cached value is not of required type ["
+					+ type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		this.remoteCache.put(key, value);
+		this.localCache.put(key, value);
+		publish(key);
+	}
+
+	@Override
+	public ValueWrapper putIfAbsent(Object key, Object value) {
+		ValueWrapper existing = this.remoteCache.putIfAbsent(key, value);
+		if (existing == null) {
+			this.localCache.put(key, value);
+			publish(key);
+		}
+		else {
+			this.localCache.put(key, existing.get());
+		}
+		return existing;
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.remoteCache.evict(key);
+		this.localCache.evict(key);
+		publish(key);
+	}
+
+	@Override
+	public void clear() {
+		this.remoteCache.clear();
+		this.localCache.clear();
+		publish(null);
+	}
+
+	private void publish(Object key) {
+		if (this.invalidationPublisher != null) {
+			this.invalidationPublisher.publish(getName(), key);
+		}
+	}
+
+}
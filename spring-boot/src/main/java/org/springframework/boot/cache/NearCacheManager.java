@@ -0,0 +1,139 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.cache;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.util.Assert;
+
+/**
+ * Two-level {@link CacheManager} that layers the caches of a local (typically bounded,
+ * in-memory) {@link CacheManager} in front of the caches of a remote one. Reads are
+ * served from the local cache when possible and fall back to the remote cache, writes
+ * go to both.
+ * <p>
+ * Local entries are only refreshed when they expire unless an
+ * {@link InvalidationPublisher} is used to notify other instances of updates (which
+ * should then call {@link #evictLocal(String, Object)}).
+ *
+ * @author Agent
+ * @since 1.3.0
+ * @see NearCache
+ */
+public class NearCacheManager implements CacheManager {
+
+	private final CacheManager localCacheManager;
+
+	private final CacheManager remoteCacheManager;
+
+	private final ConcurrentMap<String, NearCache> caches = new ConcurrentHashMap<String, NearCache>();
+
+	private InvalidationPublisher invalidationPublisher;
+
+	/**
+	 * Create a new {@link NearCacheManager} instance.
+	 * @param localCacheManager the cache manager providing the local caches
+	 * @param remoteCacheManager the cache manager providing the remote caches
+	 */
+	public NearCacheManager(CacheManager localCacheManager,
+			CacheManager remoteCacheManager) {
+		Assert.notNull(localCacheManager, "LocalCacheManager must not be null");
+		Assert.notNull(remoteCacheManager, "RemoteCacheManager must not be null");
+		this.localCacheManager = localCacheManager;
+		this.remoteCacheManager = remoteCacheManager;
+	}
+
+	/**
+	 * Set the {@link InvalidationPublisher} that should be notified whenever an entry is
+	 * updated or evicted.
+	 * @param invalidationPublisher the invalidation publisher (may be {@code null})
+	 */
+	public void setInvalidationPublisher(InvalidationPublisher invalidationPublisher) {
+		this.invalidationPublisher = invalidationPublisher;
+	}
+
+	public CacheManager getLocalCacheManager() {
+		return this.localCacheManager;
+	}
+
+	public CacheManager getRemoteCacheManager() {
+		return this.remoteCacheManager;
+	}
+
+	@Override
+	public Cache getCache(String name) {
+		NearCache cache = this.caches.get(name);
+		if (cache != null) {
+			return cache;
+		}
+		Cache remoteCache = this.remoteCacheManager.getCache(name);
+		if (remoteCache == null) {
+			return null;
+		}
+		Cache localCache = this.localCacheManager.getCache(name);
+		if (localCache == null) {
+			return remoteCache;
+		}
+		cache = new NearCache(localCache, remoteCache, this.invalidationPublisher);
+		NearCache existing = this.caches.putIfAbsent(name, cache);
+		return (existing != null ? existing : cache);
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return this.remoteCacheManager.getCacheNames();
+	}
+
+	/**
+	 * Evict an entry from the local cache only, typically following a notification that
+	 * it was changed by another instance.
+	 * @param cacheName the name of the cache
+	 * @param key the key to evict or {@code null} to clear the whole local cache
+	 */
+	public void evictLocal(String cacheName, Object key) {
+		Cache localCache = this.localCacheManager.getCache(cacheName);
+		if (localCache != null) {
+			if (key == null) {
+				localCache.clear();
+			}
+			else {
+				localCache.evict(key);
+			}
+		}
+	}
+
+	/**
+	 * Callback interface used to notify other instances that an entry has changed so
+	 * that their local copy can be evicted.
+	 */
+	public interface InvalidationPublisher {
+
+		/**
+		 * Publish that the entry with the given key has changed.
+		 * @param cacheName the name of the cache
+		 * @param key the key of the entry or {@code null} if the whole cache has been
+		 * cleared
+		 */
+		void publish(String cacheName, Object key);
+
+	}
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counter that spreads updates over several cells, selected by thread, to reduce
+ * contention between threads that update it concurrently.
+ *
+ * @author Agent
+ */
+class StripedCounter {
+
+	/**
+	 * Number of longs between cells so that each cell uses its own cache line.
+	 */
+	private static final int PADDING = 8;
+
+	private static final int MAX_STRIPES = 64;
+
+	private final int mask;
+
+	private final AtomicLongArray cells;
+
+	StripedCounter() {
+		int processors = Runtime.getRuntime().availableProcessors();
+		int stripes = 1;
+		while (stripes < Math.min(MAX_STRIPES, processors * 2)) {
+			stripes <<= 1;
+		}
+		this.mask = stripes - 1;
+		this.cells = new AtomicLongArray(stripes * PADDING);
+	}
+
+	public void increment() {
+		add(1);
+	}
+
+	public void add(long value) {
+		int cell = (int) (Thread.currentThread().getId() & this.mask);
+		this.cells.addAndGet(cell * PADDING, value);
+	}
+
+	public long get() {
+		long sum = 0;
+		for (int i = 0; i < this.cells.length(); i += PADDING) {
+			sum += this.cells.get(i);
+		}
+		return sum;
+	}
+
+}
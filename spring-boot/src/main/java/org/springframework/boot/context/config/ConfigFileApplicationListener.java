@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -36,6 +37,8 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.bind.PropertiesConfigurationFactory;
 import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
 import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.boot.context.startup.StartupTimeline;
+import org.springframework.boot.context.startup.StartupTimeline.Step;
 import org.springframework.boot.env.EnumerableCompositePropertySource;
 import org.springframework.boot.env.PropertySourcesLoader;
 import org.springframework.context.ApplicationEvent;
@@ -291,6 +294,8 @@ public class ConfigFileApplicationListener implements
 
 		private boolean activatedProfiles;
 
+		private Set<String> missingLocations;
+
 		private final List<Object> debug = ConfigFileApplicationListener.this.debug;
 
 		public Loader(ConfigurableEnvironment environment, ResourceLoader resourceLoader) {
@@ -303,6 +308,7 @@ public class ConfigFileApplicationListener implements
 			this.propertiesLoader = new PropertySourcesLoader();
 			this.profiles = Collections.asLifoQueue(new LinkedList<String>());
 			this.activatedProfiles = false;
+			this.missingLocations = new HashSet<String>();
 			if (this.environment.containsProperty(ACTIVE_PROFILES_PROPERTY)) {
 				// Any pre-existing active profiles set via property sources (e.g. System
 				// properties) take precedence over those added in config files.
@@ -373,13 +379,20 @@ public class ConfigFileApplicationListener implements
 
 		private PropertySource<?> loadIntoGroup(String identifier, String location,
 				String profile) throws IOException {
-			Resource resource = this.resourceLoader.getResource(location);
+			Resource resource = getResource(location);
 			PropertySource<?> propertySource = null;
 			if (resource != null) {
+				Step step = StartupTimeline.start("config.load").tag("location",
+						location);
 				String name = "applicationConfig: [" + location + "]";
 				String group = "applicationConfig: [" + identifier + "]";
-				propertySource = this.propertiesLoader.load(resource, group, name,
-						profile);
+				try {
+					propertySource = this.propertiesLoader.load(resource, group, name,
+							profile);
+				}
+				finally {
+					step.tag("profile", profile).end();
+				}
 				if (propertySource != null) {
 					maybeActivateProfiles(propertySource
 							.getProperty(ACTIVE_PROFILES_PROPERTY));
@@ -399,6 +412,20 @@ public class ConfigFileApplicationListener implements
 			return propertySource;
 		}
 
+		private Resource getResource(String location) {
+			// The same locations are probed for every profile, only check missing ones
+			// once
+			if (this.missingLocations.contains(location)) {
+				return null;
+			}
+			Resource resource = this.resourceLoader.getResource(location);
+			if (resource == null || !resource.exists()) {
+				this.missingLocations.add(location);
+				return null;
+			}
+			return resource;
+		}
+
 		private void maybeActivateProfiles(Object value) {
 			if (this.activatedProfiles) {
 				if (value != null) {
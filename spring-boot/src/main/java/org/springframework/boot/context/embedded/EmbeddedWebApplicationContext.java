@@ -35,6 +35,8 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.Scope;
+import org.springframework.boot.context.startup.StartupTimeline;
+import org.springframework.boot.context.startup.StartupTimeline.Step;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextException;
 import org.springframework.core.io.Resource;
@@ -153,9 +155,16 @@ public class EmbeddedWebApplicationContext extends GenericWebApplicationContext
 
 	private synchronized void createEmbeddedServletContainer() {
 		if (this.embeddedServletContainer == null && getServletContext() == null) {
-			EmbeddedServletContainerFactory containerFactory = getEmbeddedServletContainerFactory();
-			this.embeddedServletContainer = containerFactory
-					.getEmbeddedServletContainer(getSelfInitializer());
+			Step step = StartupTimeline.start("embedded-container.create");
+			try {
+				EmbeddedServletContainerFactory containerFactory = getEmbeddedServletContainerFactory();
+				step.tag("factory", containerFactory.getClass().getName());
+				this.embeddedServletContainer = containerFactory
+						.getEmbeddedServletContainer(getSelfInitializer());
+			}
+			finally {
+				step.end();
+			}
 		}
 		else if (getServletContext() != null) {
 			try {
@@ -285,7 +294,13 @@ public class EmbeddedWebApplicationContext extends GenericWebApplicationContext
 
 	private void startEmbeddedServletContainer() {
 		if (this.embeddedServletContainer != null) {
-			this.embeddedServletContainer.start();
+			Step step = StartupTimeline.start("embedded-container.start");
+			try {
+				this.embeddedServletContainer.start();
+			}
+			finally {
+				step.end();
+			}
 		}
 	}
 
@@ -45,8 +45,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 
 import javax.net.ssl.KeyManager;
 import javax.net.ssl.KeyManagerFactory;
@@ -448,12 +454,19 @@ public class UndertowEmbeddedServletContainerFactory extends
 	}
 
 	/**
-	 * Undertow {@link ResourceManager} for JAR resources.
+	 * Undertow {@link ResourceManager} for JAR resources. Entry names, and the names of
+	 * the directories that contain them, are indexed the first time a resource is
+	 * requested so that lookups for missing resources never need to touch the archive
+	 * and each existing resource is only created once.
 	 */
 	private static class JarResourcemanager implements ResourceManager {
 
 		private final String jarPath;
 
+		private final ConcurrentMap<String, Resource> resources = new ConcurrentHashMap<String, Resource>();
+
+		private volatile Set<String> entries;
+
 		public JarResourcemanager(File jarFile) {
 			this(jarFile.getAbsolutePath());
 		}
@@ -464,14 +477,59 @@ public class UndertowEmbeddedServletContainerFactory extends
 
 		@Override
 		public Resource getResource(String path) throws IOException {
-			URL url = new URL("jar:file:" + this.jarPath + "!" + path);
-			URLResource resource = new URLResource(url, url.openConnection(), path);
-			if (resource.getContentLength() < 0) {
+			if (!path.startsWith("/")) {
+				path = "/" + path;
+			}
+			if (!getEntries().contains(path)) {
 				return null;
 			}
+			Resource resource = this.resources.get(path);
+			if (resource == null) {
+				URL url = new URL("jar:file:" + this.jarPath + "!" + path);
+				resource = new URLResource(url, url.openConnection(), path);
+				if (resource.getContentLength() < 0) {
+					return null;
+				}
+				Resource existing = this.resources.putIfAbsent(path, resource);
+				resource = (existing == null ? resource : existing);
+			}
 			return resource;
 		}
 
+		private Set<String> getEntries() throws IOException {
+			Set<String> entries = this.entries;
+			if (entries == null) {
+				entries = new HashSet<String>();
+				entries.add("/");
+				JarFile jarFile = new JarFile(this.jarPath);
+				try {
+					Enumeration<JarEntry> jarEntries = jarFile.entries();
+					while (jarEntries.hasMoreElements()) {
+						addEntry(entries, "/" + jarEntries.nextElement().getName());
+					}
+				}
+				finally {
+					jarFile.close();
+				}
+				this.entries = entries;
+			}
+			return entries;
+		}
+
+		private void addEntry(Set<String> entries, String name) {
+			if (!entries.add(name)) {
+				return;
+			}
+			if (name.endsWith("/")) {
+				// Directories can be requested with or without a trailing slash
+				entries.add(name.substring(0, name.length() - 1));
+			}
+			int lastSlash = name.lastIndexOf('/', name.length() - 2);
+			if (lastSlash > 0) {
+				addEntry(entries, name.substring(0, lastSlash + 1));
+			}
+		}
+
 		@Override
 		public boolean isResourceChangeListenerSupported() {
 			return false;
@@ -490,6 +548,7 @@ public class UndertowEmbeddedServletContainerFactory extends
 
 		@Override
 		public void close() throws IOException {
+			this.resources.clear();
 		}
 
 	}
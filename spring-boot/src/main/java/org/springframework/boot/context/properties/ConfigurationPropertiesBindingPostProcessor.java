@@ -30,6 +30,8 @@ import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.bind.PropertiesConfigurationFactory;
+import org.springframework.boot.context.startup.StartupTimeline;
+import org.springframework.boot.context.startup.StartupTimeline.Step;
 import org.springframework.boot.env.PropertySourcesLoader;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -292,6 +294,8 @@ public class ConfigurationPropertiesBindingPostProcessor implements BeanPostProc
 				factory.setTargetName(targetName);
 			}
 		}
+		Step step = StartupTimeline.start("configuration-properties.bind").tag("bean",
+				beanName);
 		try {
 			factory.bindPropertiesToTarget();
 		}
@@ -303,6 +307,9 @@ public class ConfigurationPropertiesBindingPostProcessor implements BeanPostProc
 			throw new BeanCreationException(beanName, "Could not bind properties to "
 					+ targetClass + " (" + getAnnotationDetails(annotation) + ")", ex);
 		}
+		finally {
+			step.end();
+		}
 	}
 
 	private String getAnnotationDetails(ConfigurationProperties annotation) {
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.startup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.util.Assert;
+
+/**
+ * Records a timeline of the steps performed while a
+ * {@link org.springframework.boot.SpringApplication} starts. Each {@link Step} has a
+ * monotonic duration (based on {@link System#nanoTime()}) and a reference to the step
+ * that was in progress on the same thread when it started, so the timeline can be
+ * rendered as a tree.
+ * <p>
+ * Instrumented code calls the static {@link #start(String)} method. A timeline is
+ * {@link #activate() activated} for the thread that runs the application, so
+ * applications starting concurrently in the same JVM never record into each other's
+ * timeline. Steps started on other threads are not recorded. When no timeline is active
+ * anywhere a shared no-op step is returned, so the cost of recording when disabled is a
+ * single volatile read.
+ *
+ * @author Agent
+ * @since 1.3.0
+ */
+public class StartupTimeline {
+
+	/**
+	 * The name of the bean under which the timeline is registered with the application
+	 * context.
+	 */
+	public static final String BEAN_NAME = "springApplicationStartupTimeline";
+
+	private static final Step NO_OP_STEP = new Step(null, 0, null, null, 0);
+
+	private static final ThreadLocal<StartupTimeline> active = new ThreadLocal<StartupTimeline>();
+
+	private static final AtomicInteger activeCount = new AtomicInteger();
+
+	private final StartupTimeline previous;
+
+	private final AtomicBoolean recording = new AtomicBoolean(true);
+
+	private final long startTime = System.nanoTime();
+
+	private final AtomicInteger ids = new AtomicInteger();
+
+	private final List<Step> steps = new ArrayList<Step>();
+
+	private final ThreadLocal<Step> current = new ThreadLocal<Step>();
+
+	/**
+	 * Start a new step on the {@link #activate() active} timeline.
+	 * @param name the name of the step
+	 * @return the started step, call {@link Step#end()} once it has completed
+	 */
+	public static Step start(String name) {
+		StartupTimeline timeline = getActive();
+		return (timeline == null ? NO_OP_STEP : timeline.startStep(name));
+	}
+
+	/**
+	 * Create a new timeline and make it the active one for the current thread. Any
+	 * timeline that was already active on the thread is restored when the new one is
+	 * {@link #deactivate(StartupTimeline) deactivated}.
+	 * @return the activated timeline
+	 */
+	public static StartupTimeline activate() {
+		StartupTimeline timeline = new StartupTimeline(active.get());
+		activeCount.incrementAndGet();
+		active.set(timeline);
+		return timeline;
+	}
+
+	/**
+	 * Stop recording to the given timeline. Has no effect if the timeline is
+	 * {@code null} or has already been deactivated.
+	 * @param timeline the timeline to deactivate
+	 */
+	public static void deactivate(StartupTimeline timeline) {
+		if (timeline == null || !timeline.recording.compareAndSet(true, false)) {
+			return;
+		}
+		activeCount.decrementAndGet();
+		if (active.get() == timeline) {
+			StartupTimeline previous = timeline.previous;
+			while (previous != null && !previous.recording.get()) {
+				previous = previous.previous;
+			}
+			if (previous != null) {
+				active.set(previous);
+			}
+			else {
+				active.remove();
+			}
+		}
+	}
+
+	/**
+	 * Return if a timeline is being recorded for the current thread.
+	 * @return {@code true} if a timeline is active
+	 */
+	public static boolean isActive() {
+		return getActive() != null;
+	}
+
+	private static StartupTimeline getActive() {
+		if (activeCount.get() == 0) {
+			return null;
+		}
+		StartupTimeline timeline = active.get();
+		return (timeline == null || !timeline.recording.get() ? null : timeline);
+	}
+
+	/**
+	 * Create a new timeline that is not {@link #activate() active}. Steps can be
+	 * recorded using {@link #startStep(String)}.
+	 */
+	public StartupTimeline() {
+		this(null);
+	}
+
+	private StartupTimeline(StartupTimeline previous) {
+		this.previous = previous;
+	}
+
+	/**
+	 * Start a new step on this timeline.
+	 * @param name the name of the step
+	 * @return the started step
+	 */
+	public Step startStep(String name) {
+		Assert.hasLength(name, "Name must not be empty");
+		Step parent = this.current.get();
+		Step step = new Step(this, this.ids.incrementAndGet(), parent, name,
+				System.nanoTime() - this.startTime);
+		synchronized (this.steps) {
+			this.steps.add(step);
+		}
+		this.current.set(step);
+		return step;
+	}
+
+	private void ended(Step step) {
+		// Steps nested inside the ended step that are still open are abandoned
+		Step candidate = this.current.get();
+		while (candidate != null) {
+			if (candidate == step) {
+				if (step.parent != null) {
+					this.current.set(step.parent);
+				}
+				else {
+					this.current.remove();
+				}
+				return;
+			}
+			candidate = candidate.parent;
+		}
+	}
+
+	/**
+	 * Return the steps recorded so far, in the order that they were started.
+	 * @return the recorded steps
+	 */
+	public List<Step> getSteps() {
+		synchronized (this.steps) {
+			return Collections.unmodifiableList(new ArrayList<Step>(this.steps));
+		}
+	}
+
+	/**
+	 * Return the recorded steps as a JSON array. Each element contains the {@code id},
+	 * {@code parentId}, {@code name}, {@code tags}, {@code startTime} and
+	 * {@code duration} of the step, with times in nanoseconds relative to the start of
+	 * the timeline. Steps that have not ended have a duration of {@code -1}.
+	 * @return the JSON representation of the timeline
+	 */
+	public String toJson() {
+		StringBuilder json = new StringBuilder("[");
+		List<Step> steps = getSteps();
+		for (int i = 0; i < steps.size(); i++) {
+			Step step = steps.get(i);
+			json.append(i == 0 ? "" : ",").append("{\"id\":").append(step.getId());
+			json.append(",\"parentId\":").append(step.getParentId());
+			json.append(",\"name\":");
+			appendJsonString(json, step.getName());
+			json.append(",\"tags\":{");
+			boolean first = true;
+			for (Map.Entry<String, String> tag : step.getTags().entrySet()) {
+				json.append(first ? "" : ",");
+				appendJsonString(json, tag.getKey());
+				json.append(":");
+				appendJsonString(json, tag.getValue());
+				first = false;
+			}
+			json.append("},\"startTime\":").append(step.getStartTime());
+			json.append(",\"duration\":").append(step.getDuration()).append("}");
+		}
+		return json.append("]").toString();
+	}
+
+	private void appendJsonString(StringBuilder json, String value) {
+		json.append('"');
+		for (char c : value.toCharArray()) {
+			if (c == '"' || c == '\\') {
+				json.append('\\').append(c);
+			}
+			else if (c < 0x20) {
+				json.append(String.format("\\u%04x", (int) c));
+			}
+			else {
+				json.append(c);
+			}
+		}
+		json.append('"');
+	}
+
+	/**
+	 * A single step recorded on a {@link StartupTimeline}.
+	 */
+	public static final class Step {
+
+		private final StartupTimeline timeline;
+
+		private final int id;
+
+		private final Step parent;
+
+		private final String name;
+
+		private final long startTime;
+
+		private volatile Map<String, String> tags = Collections.emptyMap();
+
+		private volatile long duration = -1;
+
+		private Step(StartupTimeline timeline, int id, Step parent, String name,
+				long startTime) {
+			this.timeline = timeline;
+			this.id = id;
+			this.parent = parent;
+			this.name = name;
+			this.startTime = startTime;
+		}
+
+		/**
+		 * Add a tag providing additional information about this step.
+		 * @param key the tag key
+		 * @param value the tag value (converted using {@code toString()})
+		 * @return this step
+		 */
+		public Step tag(String key, Object value) {
+			if (this.timeline != null) {
+				Map<String, String> tags = new LinkedHashMap<String, String>(this.tags);
+				tags.put(key, String.valueOf(value));
+				this.tags = Collections.unmodifiableMap(tags);
+			}
+			return this;
+		}
+
+		/**
+		 * Mark this step as having completed.
+		 */
+		public void end() {
+			if (this.timeline != null && this.duration == -1) {
+				this.duration = System.nanoTime() - this.timeline.startTime
+						- this.startTime;
+				this.timeline.ended(this);
+			}
+		}
+
+		public int getId() {
+			return this.id;
+		}
+
+		/**
+		 * Return the id of the step that was in progress when this step started or
+		 * {@code 0} if this is a top level step.
+		 * @return the parent id
+		 */
+		public int getParentId() {
+			return (this.parent == null ? 0 : this.parent.id);
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public Map<String, String> getTags() {
+			return this.tags;
+		}
+
+		/**
+		 * Return the time that the step started, in nanoseconds relative to the start of
+		 * the timeline.
+		 * @return the start time
+		 */
+		public long getStartTime() {
+			return this.startTime;
+		}
+
+		/**
+		 * Return the duration of the step in nanoseconds or {@code -1} if it has not
+		 * ended.
+		 * @return the duration
+		 */
+		public long getDuration() {
+			return this.duration;
+		}
+
+		/**
+		 * Return if the step has ended.
+		 * @return {@code true} if the step has ended
+		 */
+		public boolean isEnded() {
+			return this.duration != -1;
+		}
+
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.startup;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessorAdapter;
+import org.springframework.boot.context.startup.StartupTimeline.Step;
+
+/**
+ * {@link org.springframework.beans.factory.config.BeanPostProcessor} that records a
+ * {@link StartupTimeline} step for the creation of each bean, from just before it is
+ * instantiated until it has been initialized.
+ *
+ * @author Agent
+ * @since 1.3.0
+ */
+public class StartupTimelineBeanPostProcessor extends
+		InstantiationAwareBeanPostProcessorAdapter {
+
+	private final ConcurrentMap<String, Step> steps = new ConcurrentHashMap<String, Step>();
+
+	@Override
+	public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName)
+			throws BeansException {
+		if (beanName != null && StartupTimeline.isActive()) {
+			this.steps.put(beanName, StartupTimeline.start("bean.create")
+					.tag("name", beanName).tag("class", beanClass.getName()));
+		}
+		return null;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName)
+			throws BeansException {
+		Step step = (beanName == null ? null : this.steps.remove(beanName));
+		if (step != null) {
+			step.end();
+		}
+		return bean;
+	}
+
+}
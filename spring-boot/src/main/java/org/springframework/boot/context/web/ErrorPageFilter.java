@@ -19,6 +19,7 @@ package org.springframework.boot.context.web;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
@@ -71,13 +72,17 @@ public class ErrorPageFilter extends AbstractConfigurableEmbeddedServletContaine
 
 	private static final String ERROR_STATUS_CODE = "javax.servlet.error.status_code";
 
+	private static final Object NO_EXCEPTION_PAGE = new Object();
+
 	private String global;
 
 	private final Map<Integer, String> statuses = new HashMap<Integer, String>();
 
 	private final Map<Class<?>, String> exceptions = new HashMap<Class<?>, String>();
 
-	private final Map<Class<?>, Class<?>> subtypes = new HashMap<Class<?>, Class<?>>();
+	private final Map<Class<?>, Object> exceptionPathCache = new ConcurrentHashMap<Class<?>, Object>();
+
+	private boolean flushSuccessfulResponses = true;
 
 	private final OncePerRequestFilter delegate = new OncePerRequestFilter() {
 
@@ -108,6 +113,12 @@ public class ErrorPageFilter extends AbstractConfigurableEmbeddedServletContaine
 
 	private void doFilter(HttpServletRequest request, HttpServletResponse response,
 			FilterChain chain) throws IOException, ServletException {
+		// Errors sent by the chain can only be intercepted through the wrapper, so it can
+		// only be skipped if there is no error page to forward them to
+		if (!this.flushSuccessfulResponses && !hasErrorPages()) {
+			chain.doFilter(request, response);
+			return;
+		}
 		ErrorWrapperResponse wrapped = new ErrorWrapperResponse(response);
 		try {
 			chain.doFilter(request, wrapped);
@@ -116,7 +127,8 @@ public class ErrorPageFilter extends AbstractConfigurableEmbeddedServletContaine
 				handleErrorStatus(request, response, status, wrapped.getMessage());
 				response.flushBuffer();
 			}
-			else if (!request.isAsyncStarted() && !response.isCommitted()) {
+			else if (this.flushSuccessfulResponses && !request.isAsyncStarted()
+					&& !response.isCommitted()) {
 				response.flushBuffer();
 			}
 		}
@@ -208,21 +220,29 @@ public class ErrorPageFilter extends AbstractConfigurableEmbeddedServletContaine
 	}
 
 	private String getErrorPath(Class<?> type) {
-		if (this.exceptions.containsKey(type)) {
-			return this.exceptions.get(type);
-		}
-		if (this.subtypes.containsKey(type)) {
-			return this.exceptions.get(this.subtypes.get(type));
+		Object path = this.exceptionPathCache.get(type);
+		if (path == null) {
+			path = findExceptionPath(type);
+			this.exceptionPathCache.put(type, path);
 		}
-		Class<?> subtype = type;
-		while (subtype != Object.class) {
-			subtype = subtype.getSuperclass();
-			if (this.exceptions.containsKey(subtype)) {
-				this.subtypes.put(subtype, type);
-				return this.exceptions.get(subtype);
+		return (path == NO_EXCEPTION_PAGE ? this.global : (String) path);
+	}
+
+	private Object findExceptionPath(Class<?> type) {
+		Class<?> candidate = type;
+		while (candidate != null && candidate != Object.class) {
+			String path = this.exceptions.get(candidate);
+			if (path != null) {
+				return path;
 			}
+			candidate = candidate.getSuperclass();
 		}
-		return this.global;
+		return NO_EXCEPTION_PAGE;
+	}
+
+	private boolean hasErrorPages() {
+		return (this.global != null || !this.statuses.isEmpty() || !this.exceptions
+				.isEmpty());
 	}
 
 	private void setErrorAttributes(ServletRequest request, int status, String message) {
@@ -259,6 +279,26 @@ public class ErrorPageFilter extends AbstractConfigurableEmbeddedServletContaine
 				this.exceptions.put(errorPage.getException(), errorPage.getPath());
 			}
 		}
+		this.exceptionPathCache.clear();
+	}
+
+	/**
+	 * Set if successful responses should be flushed (and so committed) before the filter
+	 * returns. Defaults to {@code true}. When {@code false} the container is free to
+	 * buffer the response (for example to calculate a {@code Content-Length}).
+	 * <p>
+	 * This setting only controls flushing. The response is still wrapped so that errors
+	 * sent with {@code sendError} can be forwarded to an error page, which is always the
+	 * case in a typical application since a global error page is registered by the
+	 * error MVC auto-configuration. Only when no error pages at all have been registered
+	 * is the request passed down the chain with the original response. May be set from
+	 * an {@link EmbeddedServletContainerCustomizer} when the container is an
+	 * {@code ErrorPageFilter}.
+	 * @param flushSuccessfulResponses if successful responses should be flushed
+	 * @since 1.3.0
+	 */
+	public void setFlushSuccessfulResponses(boolean flushSuccessfulResponses) {
+		this.flushSuccessfulResponses = flushSuccessfulResponses;
 	}
 
 	@Override
@@ -24,10 +24,10 @@ import java.util.Set;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.boot.SpringFactoriesCache;
 import org.springframework.core.env.MutablePropertySources;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.support.SpringFactoriesLoader;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
@@ -61,7 +61,7 @@ public class PropertySourcesLoader {
 	public PropertySourcesLoader(MutablePropertySources propertySources) {
 		Assert.notNull(propertySources, "PropertySources must not be null");
 		this.propertySources = propertySources;
-		this.loaders = SpringFactoriesLoader.loadFactories(PropertySourceLoader.class,
+		this.loaders = SpringFactoriesCache.loadFactories(PropertySourceLoader.class,
 				null);
 	}
 
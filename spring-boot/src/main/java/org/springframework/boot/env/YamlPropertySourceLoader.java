@@ -17,12 +17,17 @@
 package org.springframework.boot.env;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import org.springframework.beans.factory.config.YamlProcessor;
+import org.springframework.beans.factory.config.YamlProcessor.DocumentMatcher;
+import org.springframework.beans.factory.config.YamlProcessor.MatchStatus;
 import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
 import org.springframework.boot.yaml.SpringProfileDocumentMatcher;
 import org.springframework.core.env.MapPropertySource;
@@ -44,6 +49,8 @@ import org.yaml.snakeyaml.resolver.Resolver;
  */
 public class YamlPropertySourceLoader implements PropertySourceLoader {
 
+	private final Map<Resource, Documents> documentsCache = new ConcurrentHashMap<Resource, Documents>();
+
 	@Override
 	public String[] getFileExtensions() {
 		return new String[] { "yml", "yaml" };
@@ -53,8 +60,7 @@ public class YamlPropertySourceLoader implements PropertySourceLoader {
 	public PropertySource<?> load(String name, Resource resource, String profile)
 			throws IOException {
 		if (ClassUtils.isPresent("org.yaml.snakeyaml.Yaml", null)) {
-			Processor processor = new Processor(resource, profile);
-			Map<String, Object> source = processor.process();
+			Map<String, Object> source = getDocuments(resource).getSource(profile);
 			if (!source.isEmpty()) {
 				return new MapPropertySource(name, source);
 			}
@@ -63,20 +69,37 @@ public class YamlPropertySourceLoader implements PropertySourceLoader {
 	}
 
 	/**
-	 * {@link YamlProcessor} to create a {@link Map} containing the property values.
-	 * Similar to {@link YamlPropertiesFactoryBean} but retains the order of entries.
+	 * Return the parsed documents of the given resource. Each resource is parsed once and
+	 * the documents are then projected for every profile that is loaded, rather than
+	 * parsing the file again for each profile.
+	 */
+	private Documents getDocuments(Resource resource) {
+		long lastModified = getLastModified(resource);
+		Documents documents = this.documentsCache.get(resource);
+		if (documents == null || documents.getLastModified() != lastModified) {
+			documents = new Documents(new Processor(resource).process(), lastModified);
+			this.documentsCache.put(resource, documents);
+		}
+		return documents;
+	}
+
+	private long getLastModified(Resource resource) {
+		try {
+			return resource.lastModified();
+		}
+		catch (IOException ex) {
+			return -1;
+		}
+	}
+
+	/**
+	 * {@link YamlProcessor} to create a {@link Document} for each YAML document in a
+	 * resource. Similar to {@link YamlPropertiesFactoryBean} but retains the order of
+	 * entries.
 	 */
 	private static class Processor extends YamlProcessor {
 
-		public Processor(Resource resource, String profile) {
-			if (profile == null) {
-				setMatchDefault(true);
-				setDocumentMatchers(new SpringProfileDocumentMatcher());
-			}
-			else {
-				setMatchDefault(false);
-				setDocumentMatchers(new SpringProfileDocumentMatcher(profile));
-			}
+		public Processor(Resource resource) {
 			setResources(new Resource[] { resource });
 		}
 
@@ -95,12 +118,12 @@ public class YamlPropertySourceLoader implements PropertySourceLoader {
 					});
 		}
 
-		public Map<String, Object> process() {
-			final Map<String, Object> result = new LinkedHashMap<String, Object>();
+		public List<Document> process() {
+			final List<Document> result = new ArrayList<Document>();
 			process(new MatchCallback() {
 				@Override
 				public void process(Properties properties, Map<String, Object> map) {
-					result.putAll(getFlattenedMap(map));
+					result.add(new Document(properties, getFlattenedMap(map)));
 				}
 			});
 			return result;
@@ -108,4 +131,68 @@ public class YamlPropertySourceLoader implements PropertySourceLoader {
 
 	}
 
+	/**
+	 * The parsed documents of a single resource.
+	 */
+	private static class Documents {
+
+		private final List<Document> documents;
+
+		private final long lastModified;
+
+		Documents(List<Document> documents, long lastModified) {
+			this.documents = documents;
+			this.lastModified = lastModified;
+		}
+
+		public long getLastModified() {
+			return this.lastModified;
+		}
+
+		/**
+		 * Merge the documents that apply to the given profile, using the same rules as a
+		 * {@link YamlProcessor} configured with a {@link SpringProfileDocumentMatcher}.
+		 * @param profile the profile or {@code null} for the default documents
+		 * @return the merged source
+		 */
+		public Map<String, Object> getSource(String profile) {
+			DocumentMatcher matcher = (profile == null ? new SpringProfileDocumentMatcher()
+					: new SpringProfileDocumentMatcher(profile));
+			Map<String, Object> source = new LinkedHashMap<String, Object>();
+			for (Document document : this.documents) {
+				MatchStatus status = matcher.matches(document.getProperties());
+				if (status == MatchStatus.FOUND
+						|| (profile == null && status == MatchStatus.ABSTAIN)) {
+					source.putAll(document.getSource());
+				}
+			}
+			return source;
+		}
+
+	}
+
+	/**
+	 * A single parsed YAML document.
+	 */
+	private static class Document {
+
+		private final Properties properties;
+
+		private final Map<String, Object> source;
+
+		Document(Properties properties, Map<String, Object> source) {
+			this.properties = properties;
+			this.source = source;
+		}
+
+		public Properties getProperties() {
+			return this.properties;
+		}
+
+		public Map<String, Object> getSource() {
+			return this.source;
+		}
+
+	}
+
 }
@@ -24,33 +24,42 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.BeanNameGenerator;
 import org.springframework.beans.factory.support.DefaultBeanNameGenerator;
 import org.springframework.boot.context.embedded.AnnotationConfigEmbeddedWebApplicationContext;
+import org.springframework.boot.context.embedded.ServletContextInitializer;
 import org.springframework.boot.context.embedded.jetty.JettyEmbeddedServletContainerFactory;
 import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
 import org.springframework.boot.context.event.ApplicationPreparedEvent;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.startup.StartupTimeline;
+import org.springframework.boot.test.OutputCapture;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.AnnotationConfigUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.context.support.AbstractApplicationContext;
 import org.springframework.context.support.StaticApplicationContext;
 import org.springframework.core.Ordered;
 import org.springframework.core.env.CommandLinePropertySource;
@@ -62,13 +71,17 @@ import org.springframework.core.env.PropertySource;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.util.StringUtils;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.isA;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.assertArrayEquals;
@@ -99,6 +112,9 @@ public class SpringApplicationTests {
 	@Rule
 	public ExpectedException thrown = ExpectedException.none();
 
+	@Rule
+	public OutputCapture output = new OutputCapture();
+
 	private ConfigurableApplicationContext context;
 
 	private Environment getEnvironment() {
@@ -189,6 +205,87 @@ public class SpringApplicationTests {
 		verify(application, never()).printBanner();
 	}
 
+	@Test
+	public void lazyInitialization() throws Exception {
+		LazyBean.created = false;
+		SpringApplication application = new SpringApplication(LazyConfig.class);
+		application.setWebEnvironment(false);
+		this.context = application.run("--spring.main.lazy-initialization=true");
+		assertFalse(LazyBean.created);
+		this.context.getBean("lazyBean");
+		assertTrue(LazyBean.created);
+	}
+
+	@Test
+	public void lazyInitializationKeepsSmartLifecycleBeansEager() throws Exception {
+		runWithLazyInitialization(EagerConfig.class);
+		assertTrue(EagerLifecycle.created);
+	}
+
+	@Test
+	public void lazyInitializationKeepsServletContextInitializersEager()
+			throws Exception {
+		runWithLazyInitialization(EagerConfig.class);
+		assertTrue(EagerServletContextInitializer.created);
+	}
+
+	@Test
+	public void lazyInitializationKeepsScheduledBeansEager() throws Exception {
+		runWithLazyInitialization(EagerConfig.class);
+		assertTrue(EagerScheduledBean.created);
+	}
+
+	@Test
+	public void lazyInitializationReportsDeferredBeans() throws Exception {
+		runWithLazyInitialization(LazyConfig.class, EagerConfig.class);
+		LazyInitializationBeanFactoryPostProcessor postProcessor = null;
+		AbstractApplicationContext context = (AbstractApplicationContext) this.context;
+		for (BeanFactoryPostProcessor candidate : context.getBeanFactoryPostProcessors()) {
+			if (candidate instanceof LazyInitializationBeanFactoryPostProcessor) {
+				postProcessor = (LazyInitializationBeanFactoryPostProcessor) candidate;
+			}
+		}
+		assertNotNull(postProcessor);
+		List<String> deferred = postProcessor.getDeferredBeanNames();
+		assertThat(deferred, hasItem("lazyBean"));
+		assertThat(deferred, not(hasItem("eagerLifecycle")));
+		assertThat(deferred, not(hasItem("eagerServletContextInitializer")));
+		assertThat(deferred, not(hasItem("eagerScheduledBean")));
+		assertThat(this.output.toString(),
+				containsString("Lazy initialization enabled, deferred creation of "
+						+ deferred.size() + " beans"));
+	}
+
+	private void runWithLazyInitialization(Object... sources) {
+		LazyBean.created = false;
+		EagerLifecycle.created = false;
+		EagerServletContextInitializer.created = false;
+		EagerScheduledBean.created = false;
+		SpringApplication application = new SpringApplication(sources);
+		application.setWebEnvironment(false);
+		application.setLazyInitialization(true);
+		this.context = application.run();
+		assertFalse(LazyBean.created);
+	}
+
+	@Test
+	public void recordStartupTimeline() throws Exception {
+		SpringApplication application = new SpringApplication(ExampleConfig.class);
+		application.setWebEnvironment(false);
+		application.setRecordStartupTimeline(true);
+		this.context = application.run();
+		StartupTimeline timeline = this.context.getBean(StartupTimeline.BEAN_NAME,
+				StartupTimeline.class);
+		List<String> names = new ArrayList<String>();
+		for (StartupTimeline.Step step : timeline.getSteps()) {
+			names.add(step.getName());
+		}
+		assertThat(names, hasItems("application.environment.prepare",
+				"application.context.initializer", "application.context.refresh",
+				"bean.create"));
+		assertFalse(StartupTimeline.isActive());
+	}
+
 	@Test
 	public void customId() throws Exception {
 		SpringApplication application = new SpringApplication(ExampleConfig.class);
@@ -683,6 +780,117 @@ public class SpringApplicationTests {
 
 	}
 
+	@Configuration
+	static class LazyConfig {
+
+		@Bean
+		public LazyBean lazyBean() {
+			return new LazyBean();
+		}
+
+	}
+
+	static class LazyBean {
+
+		private static boolean created;
+
+		LazyBean() {
+			created = true;
+		}
+
+	}
+
+	@Configuration
+	static class EagerConfig {
+
+		@Bean
+		public EagerLifecycle eagerLifecycle() {
+			return new EagerLifecycle();
+		}
+
+		@Bean
+		public EagerServletContextInitializer eagerServletContextInitializer() {
+			return new EagerServletContextInitializer();
+		}
+
+		@Bean
+		public EagerScheduledBean eagerScheduledBean() {
+			return new EagerScheduledBean();
+		}
+
+	}
+
+	static class EagerLifecycle implements SmartLifecycle {
+
+		private static boolean created;
+
+		private boolean running;
+
+		EagerLifecycle() {
+			created = true;
+		}
+
+		@Override
+		public void start() {
+			this.running = true;
+		}
+
+		@Override
+		public void stop() {
+			this.running = false;
+		}
+
+		@Override
+		public boolean isRunning() {
+			return this.running;
+		}
+
+		@Override
+		public int getPhase() {
+			return 0;
+		}
+
+		@Override
+		public boolean isAutoStartup() {
+			return true;
+		}
+
+		@Override
+		public void stop(Runnable callback) {
+			stop();
+			callback.run();
+		}
+
+	}
+
+	static class EagerServletContextInitializer implements ServletContextInitializer {
+
+		private static boolean created;
+
+		EagerServletContextInitializer() {
+			created = true;
+		}
+
+		@Override
+		public void onStartup(ServletContext servletContext) throws ServletException {
+		}
+
+	}
+
+	static class EagerScheduledBean {
+
+		private static boolean created;
+
+		EagerScheduledBean() {
+			created = true;
+		}
+
+		@Scheduled(fixedDelay = 1000)
+		public void run() {
+		}
+
+	}
+
 	@Configuration
 	static class ExampleConfig {
 
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link SpringFactoriesCache}.
+ *
+ * @author Agent
+ */
+public class SpringFactoriesCacheTests {
+
+	private final ClassLoader classLoader = getClass().getClassLoader();
+
+	@After
+	public void clearCache() {
+		SpringFactoriesCache.clearCache();
+	}
+
+	@Test
+	public void loadFactoryNamesMatchesSpringFactoriesLoader() {
+		assertThat(SpringFactoriesCache.loadFactoryNames(
+				SpringApplicationRunListener.class, this.classLoader),
+				equalTo(SpringFactoriesLoader.loadFactoryNames(
+						SpringApplicationRunListener.class, this.classLoader)));
+	}
+
+	@Test
+	public void loadFactoryNamesReturnsCopy() {
+		List<String> names = SpringFactoriesCache.loadFactoryNames(
+				PropertySourceLoader.class, this.classLoader);
+		names.clear();
+		assertThat(SpringFactoriesCache.loadFactoryNames(PropertySourceLoader.class,
+				this.classLoader), not(hasSize(0)));
+	}
+
+	@Test
+	public void loadFactoryNamesForUnknownType() {
+		assertThat(
+				SpringFactoriesCache.loadFactoryNames(SpringFactoriesCacheTests.class,
+						this.classLoader), hasSize(0));
+	}
+
+	@Test
+	public void loadFactories() {
+		List<PropertySourceLoader> loaders = SpringFactoriesCache.loadFactories(
+				PropertySourceLoader.class, null);
+		assertThat(loaders, hasSize(SpringFactoriesLoader.loadFactories(
+				PropertySourceLoader.class, null).size()));
+		assertThat(
+				SpringFactoriesCache.loadFactories(PropertySourceLoader.class, null).get(0),
+				not(sameInstance(loaders.get(0))));
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.bind;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link PlaceholderTemplate}.
+ *
+ * @author Agent
+ */
+public class PlaceholderTemplateTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private final MutablePropertySources propertySources = new MutablePropertySources();
+
+	private final Map<String, Object> source = new LinkedHashMap<String, Object>();
+
+	@Before
+	public void setup() {
+		this.source.put("a", "A");
+		this.source.put("b", "${a}-B");
+		this.source.put("key", "a");
+		this.source.put("number", 3);
+		this.source.put("x.a", "XA");
+		this.propertySources.addFirst(new MapPropertySource("test", this.source));
+	}
+
+	@Test
+	public void compileIsCached() throws Exception {
+		assertThat(PlaceholderTemplate.compile("${a}"),
+				sameInstance(PlaceholderTemplate.compile("${a}")));
+	}
+
+	@Test
+	public void resolve() throws Exception {
+		assertThat(resolve("plain"), equalTo("plain"));
+		assertThat(resolve("${a}"), equalTo("A"));
+		assertThat(resolve("x${b}y${number}"), equalTo("xA-By3"));
+	}
+
+	@Test
+	public void resolveWithDefault() throws Exception {
+		assertThat(resolve("${missing:default}"), equalTo("default"));
+		assertThat(resolve("${missing:${a}}"), equalTo("A"));
+		assertThat(resolve("${a:default}"), equalTo("A"));
+	}
+
+	@Test
+	public void resolveNested() throws Exception {
+		assertThat(resolve("${x.${key}}"), equalTo("XA"));
+		assertThat(resolve("{${a}}"), equalTo("{A}"));
+	}
+
+	@Test
+	public void resolveUnclosed() throws Exception {
+		assertThat(resolve("${a}${b"), equalTo("A${b"));
+	}
+
+	@Test
+	public void resolveUnresolvable() throws Exception {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Could not resolve placeholder 'missing'");
+		resolve("${missing}");
+	}
+
+	@Test
+	public void resolveCircular() throws Exception {
+		this.source.put("c", "${d}");
+		this.source.put("d", "${c}");
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Circular placeholder reference");
+		resolve("${c}");
+	}
+
+	@Test
+	public void getProperty() throws Exception {
+		assertThat(PlaceholderTemplate.getProperty(this.propertySources, "b"),
+				equalTo((Object) "A-B"));
+		assertThat(PlaceholderTemplate.getProperty(this.propertySources, "number"),
+				equalTo((Object) 3));
+	}
+
+	private String resolve(String text) {
+		return PlaceholderTemplate.resolve(text, this.propertySources);
+	}
+
+}
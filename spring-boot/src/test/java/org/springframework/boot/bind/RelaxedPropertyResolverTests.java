@@ -135,6 +135,43 @@ public class RelaxedPropertyResolverTests {
 		assertThat(this.resolver.containsProperty("my-missing"), equalTo(false));
 	}
 
+	@Test
+	public void getPropertyWithPlaceholder() throws Exception {
+		this.source.put("my-placeholder", "${myString}-${my-missing:default}");
+		this.source.put("my-number", "${myInteger}0");
+		assertThat(this.resolver.getProperty("my-placeholder"),
+				equalTo("value-default"));
+		assertThat(this.resolver.getProperty("my-number", Integer.class),
+				equalTo(1230));
+	}
+
+	@Test
+	public void getPropertyWithUnresolvablePlaceholder() throws Exception {
+		this.source.put("my-placeholder", "${my-missing}");
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Could not resolve placeholder 'my-missing'");
+		this.resolver.getProperty("my-placeholder");
+	}
+
+	@Test
+	public void seesChangesToPropertySource() throws Exception {
+		assertThat(this.resolver.getProperty("my-missing"), nullValue());
+		this.source.put("my-missing", "found");
+		assertThat(this.resolver.getProperty("my-missing"), equalTo("found"));
+	}
+
+	@Test
+	public void seesAddedPropertySource() throws Exception {
+		assertThat(this.resolver.getProperty("my-string"), equalTo("value"));
+		Map<String, Object> override = new LinkedHashMap<String, Object>();
+		override.put("my-string", "override");
+		this.environment.getPropertySources().addFirst(
+				new MapPropertySource("override", override));
+		assertThat(this.resolver.getProperty("my-string"), equalTo("override"));
+		this.environment.getPropertySources().remove("override");
+		assertThat(this.resolver.getProperty("my-string"), equalTo("value"));
+	}
+
 	@Test
 	public void resolverPlaceholder() throws Exception {
 		this.thrown.expect(UnsupportedOperationException.class);
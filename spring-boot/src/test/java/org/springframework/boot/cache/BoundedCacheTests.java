@@ -0,0 +1,158 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.cache;
+
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link BoundedCache}.
+ *
+ * @author Agent
+ */
+public class BoundedCacheTests {
+
+	@Test
+	public void evictLeastRecentlyUsed() {
+		BoundedCache cache = new BoundedCache("test", 2);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		assertThat(cache.get("a"), notNullValue());
+		cache.put("c", "3");
+		assertThat(cache.size(), equalTo(2));
+		assertThat(cache.get("b"), nullValue());
+		assertThat(cache.get("a", String.class), equalTo("1"));
+		assertThat(cache.get("c", String.class), equalTo("3"));
+	}
+
+	@Test
+	public void replaceDoesNotEvict() {
+		BoundedCache cache = new BoundedCache("test", 2);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.put("a", "3");
+		assertThat(cache.size(), equalTo(2));
+		assertThat(cache.get("a", String.class), equalTo("3"));
+		assertThat(cache.get("b", String.class), equalTo("2"));
+	}
+
+	@Test
+	public void expireAfterWrite() throws Exception {
+		BoundedCache cache = new BoundedCache("test", 10, 50, true);
+		cache.put("a", "1");
+		assertThat(cache.get("a", String.class), equalTo("1"));
+		Thread.sleep(100);
+		assertThat(cache.get("a"), nullValue());
+		assertThat(cache.putIfAbsent("a", "2"), nullValue());
+		assertThat(cache.get("a", String.class), equalTo("2"));
+	}
+
+	@Test
+	public void putIfAbsent() {
+		BoundedCache cache = new BoundedCache("test", 10);
+		assertThat(cache.putIfAbsent("a", "1"), nullValue());
+		assertThat(cache.putIfAbsent("a", "2").get(), equalTo((Object) "1"));
+	}
+
+	@Test
+	public void nullValues() {
+		BoundedCache cache = new BoundedCache("test", 10);
+		cache.put("a", null);
+		assertThat(cache.get("a"), notNullValue());
+		assertThat(cache.get("a").get(), nullValue());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void nullValuesNotAllowed() {
+		BoundedCache cache = new BoundedCache("test", 10, 0, false);
+		cache.put("a", null);
+	}
+
+	@Test
+	public void evictAndClear() {
+		BoundedCache cache = new BoundedCache("test", 10);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.evict("a");
+		assertThat(cache.get("a"), nullValue());
+		assertThat(cache.size(), equalTo(1));
+		cache.clear();
+		assertThat(cache.size(), equalTo(0));
+		cache.put("c", "3");
+		assertThat(cache.get("c", String.class), equalTo("3"));
+	}
+
+	@Test
+	public void sizeIsBoundedUnderConcurrentLoad() throws Exception {
+		final BoundedCache cache = new BoundedCache("test", 100);
+		Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++) {
+			final int offset = i * 10000;
+			threads[i] = new Thread() {
+
+				@Override
+				public void run() {
+					for (int j = 0; j < 10000; j++) {
+						cache.put(offset + j, j);
+						cache.get(offset + j / 2);
+					}
+				}
+
+			};
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertThat(cache.size() <= 100, equalTo(true));
+	}
+
+	@Test
+	public void expiredEntriesAreUnlinkedUnderConcurrentLoad() throws Exception {
+		final BoundedCache cache = new BoundedCache("test", 10000, 50, true);
+		for (int i = 0; i < 10000; i++) {
+			cache.put(i, i);
+		}
+		Thread.sleep(100);
+		Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread() {
+
+				@Override
+				public void run() {
+					for (int j = 0; j < 10000; j++) {
+						cache.get(j);
+					}
+				}
+
+			};
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertThat(cache.size(), equalTo(0));
+		assertThat(ReflectionTestUtils.getField(cache, "linkedCount"),
+				equalTo((Object) 0L));
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.cache;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.boot.cache.InstrumentedCache.Statistics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link InstrumentedCacheManager}.
+ *
+ * @author Agent
+ */
+public class InstrumentedCacheManagerTests {
+
+	private final ConcurrentMapCacheManager targetCacheManager = new ConcurrentMapCacheManager(
+			"foo");
+
+	private final InstrumentedCacheManager cacheManager = new InstrumentedCacheManager(
+			this.targetCacheManager);
+
+	@Test
+	public void cacheIsInstrumented() {
+		Cache cache = this.cacheManager.getCache("foo");
+		assertThat(cache, instanceOf(InstrumentedCache.class));
+		assertThat(((InstrumentedCache) cache).getTarget(),
+				sameInstance(this.targetCacheManager.getCache("foo")));
+		assertThat(this.cacheManager.getCache("foo"), sameInstance(cache));
+	}
+
+	@Test
+	public void proxyKeepsCacheManagerType() {
+		CacheManager proxy = InstrumentedCacheManager.createProxy(this.targetCacheManager);
+		assertThat(proxy, instanceOf(ConcurrentMapCacheManager.class));
+		assertThat(proxy.getCacheNames(), contains("foo"));
+		Cache cache = proxy.getCache("foo");
+		assertThat(cache, instanceOf(InstrumentedCache.class));
+		assertThat(proxy.getCache("foo"), sameInstance(cache));
+		assertThat(proxy.getCache("bar"), nullValue());
+	}
+
+	@Test
+	public void proxyExposesInstrumentedTarget() {
+		CacheManager proxy = InstrumentedCacheManager.createProxy(this.targetCacheManager);
+		assertThat(InstrumentedCacheManager.getInstrumentedTarget(proxy),
+				sameInstance((CacheManager) this.targetCacheManager));
+		assertThat(InstrumentedCacheManager.getInstrumentedTarget(this.cacheManager),
+				sameInstance((CacheManager) this.targetCacheManager));
+		assertThat(
+				InstrumentedCacheManager.getInstrumentedTarget(this.targetCacheManager),
+				nullValue());
+	}
+
+	@Test
+	public void recreatedCacheReplacesInstrumentedCache() {
+		Cache cache = this.cacheManager.getCache("foo");
+		this.targetCacheManager.setCacheNames(Collections.singleton("foo"));
+		Cache recreated = this.cacheManager.getCache("foo");
+		assertThat(recreated, not(sameInstance(cache)));
+		assertThat(((InstrumentedCache) recreated).getTarget(),
+				sameInstance(this.targetCacheManager.getCache("foo")));
+		Map<?, ?> caches = (Map<?, ?>) ReflectionTestUtils.getField(this.cacheManager,
+				"caches");
+		assertThat(caches.size(), equalTo(1));
+	}
+
+	@Test
+	public void unknownCache() {
+		assertThat(this.cacheManager.getCache("bar"), nullValue());
+	}
+
+	@Test
+	public void recordStatistics() {
+		InstrumentedCache cache = (InstrumentedCache) this.cacheManager.getCache("foo");
+		assertThat(cache.get("a"), nullValue());
+		cache.put("a", "1");
+		assertThat(cache.get("a", String.class), equalTo("1"));
+		assertThat(cache.get("a").get(), equalTo((Object) "1"));
+		cache.evict("a");
+		Statistics statistics = cache.getStatistics();
+		assertThat(statistics.getHits(), equalTo(2L));
+		assertThat(statistics.getMisses(), equalTo(1L));
+		assertThat(statistics.getPuts(), equalTo(1L));
+		assertThat(statistics.getEvictions(), equalTo(1L));
+		assertThat(statistics.getGetTiming().getCount(), equalTo(3L));
+		assertThat(statistics.getPutTiming().getCount(), equalTo(1L));
+		assertThat(statistics.getGetTiming().getMax(), greaterThanOrEqualTo(statistics
+				.getGetTiming().getMean()));
+	}
+
+	@Test
+	public void latencyPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 0; i < 99; i++) {
+			histogram.record(100);
+		}
+		histogram.record(100000);
+		LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+		assertThat(snapshot.getCount(), equalTo(100L));
+		assertThat(snapshot.getMax(), equalTo(100000L));
+		assertThat(snapshot.getPercentile(0.5), equalTo(127L));
+		assertThat(snapshot.getPercentile(0.99), equalTo(127L));
+		assertThat(snapshot.getPercentile(1.0), equalTo(100000L));
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.boot.cache.NearCacheManager.InvalidationPublisher;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link NearCacheManager}.
+ *
+ * @author Agent
+ */
+public class NearCacheManagerTests {
+
+	private final ConcurrentMapCacheManager localCacheManager = new ConcurrentMapCacheManager();
+
+	private final ConcurrentMapCacheManager remoteCacheManager = new ConcurrentMapCacheManager();
+
+	private final NearCacheManager cacheManager = new NearCacheManager(
+			this.localCacheManager, this.remoteCacheManager);
+
+	@Test
+	public void readThroughToRemote() {
+		this.remoteCacheManager.getCache("foo").put("key", "value");
+		Cache cache = this.cacheManager.getCache("foo");
+		assertThat(cache, instanceOf(NearCache.class));
+		assertThat(cache.get("key", String.class), equalTo("value"));
+		assertThat(this.localCacheManager.getCache("foo").get("key").get(),
+				equalTo((Object) "value"));
+	}
+
+	@Test
+	public void servedFromLocal() {
+		Cache cache = this.cacheManager.getCache("foo");
+		cache.put("key", "value");
+		this.remoteCacheManager.getCache("foo").evict("key");
+		assertThat(cache.get("key").get(), equalTo((Object) "value"));
+	}
+
+	@Test
+	public void writeToBoth() {
+		Cache cache = this.cacheManager.getCache("foo");
+		cache.put("key", "value");
+		assertThat(this.localCacheManager.getCache("foo").get("key").get(),
+				equalTo((Object) "value"));
+		assertThat(this.remoteCacheManager.getCache("foo").get("key").get(),
+				equalTo((Object) "value"));
+		cache.evict("key");
+		assertThat(this.localCacheManager.getCache("foo").get("key"), nullValue());
+		assertThat(this.remoteCacheManager.getCache("foo").get("key"), nullValue());
+	}
+
+	@Test
+	public void evictLocal() {
+		Cache cache = this.cacheManager.getCache("foo");
+		cache.put("key", "value");
+		this.cacheManager.evictLocal("foo", "key");
+		assertThat(this.localCacheManager.getCache("foo").get("key"), nullValue());
+		assertThat(cache.get("key").get(), equalTo((Object) "value"));
+	}
+
+	@Test
+	public void publishInvalidations() {
+		final List<Object> keys = new ArrayList<Object>();
+		this.cacheManager.setInvalidationPublisher(new InvalidationPublisher() {
+
+			@Override
+			public void publish(String cacheName, Object key) {
+				keys.add(cacheName + ":" + key);
+			}
+
+		});
+		Cache cache = this.cacheManager.getCache("foo");
+		cache.put("key", "value");
+		cache.get("key");
+		cache.evict("key");
+		cache.clear();
+		assertThat(keys.size(), equalTo(3));
+		assertThat(keys.get(0), equalTo((Object) "foo:key"));
+		assertThat(keys.get(2), equalTo((Object) "foo:null"));
+	}
+
+}
@@ -19,8 +19,12 @@ package org.springframework.boot.context.embedded.undertow;
 import io.undertow.Undertow.Builder;
 import io.undertow.servlet.api.DeploymentInfo;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 
 import org.junit.Test;
 import org.mockito.InOrder;
@@ -30,6 +34,7 @@ import org.springframework.boot.context.embedded.ErrorPage;
 import org.springframework.boot.context.embedded.ExampleServlet;
 import org.springframework.boot.context.embedded.ServletRegistrationBean;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertEquals;
@@ -64,6 +69,51 @@ public class UndertowEmbeddedServletContainerFactoryTests extends
 		assertThat(getResponse(getLocalUrl("/not-found")), equalTo("Hello World"));
 	}
 
+	@Test
+	public void jarDocumentRoot() throws Exception {
+		File jar = this.temporaryFolder.newFile("root.war");
+		JarOutputStream output = new JarOutputStream(new FileOutputStream(jar));
+		try {
+			output.putNextEntry(new JarEntry("static/"));
+			output.closeEntry();
+			output.putNextEntry(new JarEntry("static/test.txt"));
+			output.write("test".getBytes());
+			output.closeEntry();
+		}
+		finally {
+			output.close();
+		}
+		AbstractEmbeddedServletContainerFactory factory = getFactory();
+		factory.setDocumentRoot(jar);
+		this.container = factory.getEmbeddedServletContainer();
+		this.container.start();
+		assertThat(getResponse(getLocalUrl("/static/test.txt")), equalTo("test"));
+		assertThat(getResponse(getLocalUrl("/static/test.txt")), equalTo("test"));
+		ClientHttpResponse response = getClientResponse(getLocalUrl(
+				"/static/missing.txt"));
+		assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+		response.close();
+	}
+
+	@Test
+	public void jarDocumentRootWelcomeFile() throws Exception {
+		File jar = this.temporaryFolder.newFile("root.war");
+		JarOutputStream output = new JarOutputStream(new FileOutputStream(jar));
+		try {
+			output.putNextEntry(new JarEntry("index.html"));
+			output.write("welcome".getBytes());
+			output.closeEntry();
+		}
+		finally {
+			output.close();
+		}
+		AbstractEmbeddedServletContainerFactory factory = getFactory();
+		factory.setDocumentRoot(jar);
+		this.container = factory.getEmbeddedServletContainer();
+		this.container.start();
+		assertThat(getResponse(getLocalUrl("/")), equalTo("welcome"));
+	}
+
 	@Test
 	public void setNullBuilderCustomizersThrows() {
 		UndertowEmbeddedServletContainerFactory factory = getFactory();
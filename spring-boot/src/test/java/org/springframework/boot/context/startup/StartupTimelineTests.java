@@ -0,0 +1,132 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.startup;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.boot.context.startup.StartupTimeline.Step;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link StartupTimeline}.
+ *
+ * @author Agent
+ */
+public class StartupTimelineTests {
+
+	private StartupTimeline timeline;
+
+	@After
+	public void deactivate() {
+		StartupTimeline.deactivate(this.timeline);
+	}
+
+	@Test
+	public void startWhenInactiveReturnsNoOpStep() {
+		Step step = StartupTimeline.start("test");
+		assertThat(StartupTimeline.start("other"), sameInstance(step));
+		step.tag("key", "value").end();
+		assertFalse(step.isEnded());
+	}
+
+	@Test
+	public void recordsNestedSteps() {
+		this.timeline = StartupTimeline.activate();
+		Step outer = StartupTimeline.start("outer");
+		Step inner = StartupTimeline.start("inner").tag("key", "value");
+		inner.end();
+		Step sibling = StartupTimeline.start("sibling");
+		sibling.end();
+		outer.end();
+		Step next = StartupTimeline.start("next");
+		next.end();
+		List<Step> steps = this.timeline.getSteps();
+		assertThat(steps, hasSize(4));
+		assertThat(inner.getParentId(), equalTo(outer.getId()));
+		assertThat(sibling.getParentId(), equalTo(outer.getId()));
+		assertThat(next.getParentId(), equalTo(0));
+		assertThat(inner.getTags().get("key"), equalTo("value"));
+		assertTrue(outer.isEnded());
+		assertThat(outer.getDuration(), greaterThanOrEqualTo(inner.getDuration()));
+	}
+
+	@Test
+	public void endingParentAbandonsOpenChildren() {
+		this.timeline = StartupTimeline.activate();
+		Step outer = StartupTimeline.start("outer");
+		Step inner = StartupTimeline.start("inner");
+		outer.end();
+		Step next = StartupTimeline.start("next");
+		assertFalse(inner.isEnded());
+		assertThat(next.getParentId(), equalTo(0));
+	}
+
+	@Test
+	public void deactivateStopsRecording() {
+		this.timeline = StartupTimeline.activate();
+		StartupTimeline.deactivate(this.timeline);
+		StartupTimeline.start("test").end();
+		assertThat(this.timeline.getSteps(), hasSize(0));
+	}
+
+	@Test
+	public void otherThreadsDoNotRecord() throws Exception {
+		this.timeline = StartupTimeline.activate();
+		Thread thread = new Thread() {
+
+			@Override
+			public void run() {
+				StartupTimeline.start("other").end();
+			}
+
+		};
+		thread.start();
+		thread.join();
+		assertThat(this.timeline.getSteps(), hasSize(0));
+	}
+
+	@Test
+	public void deactivateRestoresPreviousTimeline() {
+		this.timeline = StartupTimeline.activate();
+		StartupTimeline nested = StartupTimeline.activate();
+		StartupTimeline.start("nested").end();
+		StartupTimeline.deactivate(nested);
+		StartupTimeline.start("outer").end();
+		assertThat(nested.getSteps(), hasSize(1));
+		assertThat(this.timeline.getSteps(), hasSize(1));
+		assertThat(this.timeline.getSteps().get(0).getName(), equalTo("outer"));
+	}
+
+	@Test
+	public void toJson() {
+		this.timeline = StartupTimeline.activate();
+		StartupTimeline.start("a\"b").tag("k", "v").end();
+		String json = this.timeline.toJson();
+		assertTrue(json.startsWith("[{\"id\":1,\"parentId\":0,\"name\":\"a\\\"b\","
+				+ "\"tags\":{\"k\":\"v\"},\"startTime\":"));
+	}
+
+}
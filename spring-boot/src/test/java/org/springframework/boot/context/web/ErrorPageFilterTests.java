@@ -322,6 +322,82 @@ public class ErrorPageFilterTests {
 		assertTrue(this.response.isCommitted());
 	}
 
+	@Test
+	public void subClassExceptionErrorAfterPagesChanged() throws Exception {
+		this.filter.addErrorPages(new ErrorPage("/error"));
+		this.chain = new MockFilterChain() {
+			@Override
+			public void doFilter(ServletRequest request, ServletResponse response)
+					throws IOException, ServletException {
+				super.doFilter(request, response);
+				throw new IllegalStateException("BAD");
+			}
+		};
+		this.filter.doFilter(this.request, this.response, this.chain);
+		assertThat(this.response.getForwardedUrl(), equalTo("/error"));
+		this.filter.addErrorPages(new ErrorPage(RuntimeException.class, "/500"));
+		this.request = new MockHttpServletRequest();
+		this.response = new MockHttpServletResponse();
+		this.chain.reset();
+		this.filter.doFilter(this.request, this.response, this.chain);
+		assertThat(this.response.getForwardedUrl(), equalTo("/500"));
+	}
+
+	@Test
+	public void notAnErrorWithoutFlushAndWithoutErrorPages() throws Exception {
+		this.filter.setFlushSuccessfulResponses(false);
+		this.filter.doFilter(this.request, this.response, this.chain);
+		assertThat(this.chain.getRequest(), equalTo((ServletRequest) this.request));
+		assertThat(this.chain.getResponse(), equalTo((ServletResponse) this.response));
+		assertFalse(this.response.isCommitted());
+	}
+
+	@Test
+	public void notAnErrorWithoutFlush() throws Exception {
+		this.filter.setFlushSuccessfulResponses(false);
+		this.filter.addErrorPages(new ErrorPage("/error"));
+		this.filter.doFilter(this.request, this.response, this.chain);
+		assertThat(((HttpServletResponseWrapper) this.chain.getResponse()).getResponse(),
+				equalTo((ServletResponse) this.response));
+		assertFalse(this.response.isCommitted());
+		assertThat(this.response.getForwardedUrl(), is(nullValue()));
+	}
+
+	@Test
+	public void globalErrorWithoutFlush() throws Exception {
+		this.filter.setFlushSuccessfulResponses(false);
+		this.filter.addErrorPages(new ErrorPage("/error"));
+		this.chain = new MockFilterChain() {
+			@Override
+			public void doFilter(ServletRequest request, ServletResponse response)
+					throws IOException, ServletException {
+				((HttpServletResponse) response).sendError(400, "BAD");
+				super.doFilter(request, response);
+			}
+		};
+		this.filter.doFilter(this.request, this.response, this.chain);
+		assertThat(this.response.getStatus(), equalTo(400));
+		assertThat(this.response.getForwardedUrl(), equalTo("/error"));
+	}
+
+	@Test
+	public void statusErrorWithoutFlush() throws Exception {
+		this.filter.setFlushSuccessfulResponses(false);
+		this.filter.addErrorPages(new ErrorPage(HttpStatus.BAD_REQUEST, "/400"));
+		this.chain = new MockFilterChain() {
+			@Override
+			public void doFilter(ServletRequest request, ServletResponse response)
+					throws IOException, ServletException {
+				((HttpServletResponse) response).sendError(400, "BAD");
+				super.doFilter(request, response);
+			}
+		};
+		this.filter.doFilter(this.request, this.response, this.chain);
+		assertThat(this.response.getStatus(), equalTo(400));
+		assertThat(this.response.getForwardedUrl(), equalTo("/400"));
+		assertTrue(this.response.isCommitted());
+	}
+
 	@Test
 	public void responseIsNotCommitedWhenRequestIsAsync() throws Exception {
 		this.request.setAsyncStarted(true);
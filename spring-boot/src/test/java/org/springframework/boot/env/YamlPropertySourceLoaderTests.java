@@ -27,6 +27,7 @@ import org.springframework.core.io.ByteArrayResource;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 
 /**
@@ -76,6 +77,26 @@ public class YamlPropertySourceLoaderTests {
 		assertEquals("wham", source.getProperty("foo.baz"));
 	}
 
+	@Test
+	public void loadProfilesFromSameResource() throws Exception {
+		StringBuilder yaml = new StringBuilder();
+		yaml.append("foo: default\nbar: default\n");
+		yaml.append("---\n");
+		yaml.append("spring.profiles: dev\nfoo: dev\n");
+		yaml.append("---\n");
+		yaml.append("spring.profiles: prod\nfoo: prod\n");
+		ByteArrayResource resource = new ByteArrayResource(yaml.toString().getBytes());
+		PropertySource<?> source = this.loader.load("resource", resource, null);
+		assertEquals("default", source.getProperty("foo"));
+		assertEquals("default", source.getProperty("bar"));
+		source = this.loader.load("resource", resource, "dev");
+		assertEquals("dev", source.getProperty("foo"));
+		assertNull(source.getProperty("bar"));
+		source = this.loader.load("resource", resource, "prod");
+		assertEquals("prod", source.getProperty("foo"));
+		assertNull(this.loader.load("resource", resource, "test"));
+	}
+
 	@Test
 	public void timestampLikeItemsDoNotBecomeDates() throws Exception {
 		ByteArrayResource resource = new ByteArrayResource("foo: 2015-01-28".getBytes());